@@ -0,0 +1,122 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A tournament's rising blinds: a list of levels, each played for a fixed
+ * number of rounds. Once the last level is reached it stays in force.
+ */
+public class BlindSchedule {
+
+    private final List<Level> levels;
+    private final int roundsPerLevel;
+
+    /**
+     * Constructs a schedule from explicit levels.
+     *
+     * @param levels         the levels in order, at least one
+     * @param roundsPerLevel the number of rounds played at each level
+     */
+    public BlindSchedule(List<Level> levels, int roundsPerLevel) {
+        if (levels.isEmpty() || roundsPerLevel < 1) {
+            throw new IllegalArgumentException("A blind schedule needs levels and at least one round per level");
+        }
+        this.levels = List.copyOf(levels);
+        this.roundsPerLevel = roundsPerLevel;
+    }
+
+    /**
+     * Builds a standard schedule that starts with a big blind of 1/100 of the
+     * starting stack and raises the blinds by half at every level, adding an
+     * ante of an eighth of the big blind from the fourth level on.
+     *
+     * @param startingStack  the chips each entrant starts with
+     * @param roundsPerLevel the number of rounds played at each level
+     * @return the schedule
+     */
+    public static BlindSchedule standard(int startingStack, int roundsPerLevel) {
+        List<Level> levels = new ArrayList<>();
+        int bigBlind = Math.max(2, startingStack / 100);
+        for (int level = 0; level < 30 && bigBlind <= startingStack * 4; level++) {
+            int ante = level >= 3 ? bigBlind / 8 : 0;
+            levels.add(new Level(bigBlind / 2, bigBlind, ante));
+            bigBlind = bigBlind * 3 / 2;
+        }
+        return new BlindSchedule(levels, roundsPerLevel);
+    }
+
+    /**
+     * Returns the level in force for a round.
+     *
+     * @param round the number of rounds played so far
+     * @return the blind level
+     */
+    public Level levelAt(int round) {
+        return levels.get(Math.min(round / roundsPerLevel, levels.size() - 1));
+    }
+
+    /**
+     * Returns the position of the level in force for a round, starting at 1.
+     *
+     * @param round the number of rounds played so far
+     * @return the level number
+     */
+    public int levelNumberAt(int round) {
+        return Math.min(round / roundsPerLevel, levels.size() - 1) + 1;
+    }
+
+    /**
+     * The forced bets of one blind level.
+     */
+    public static final class Level {
+        private final int smallBlind;
+        private final int bigBlind;
+        private final int ante;
+
+        /**
+         * Constructs a blind level.
+         *
+         * @param smallBlind the small blind
+         * @param bigBlind   the big blind
+         * @param ante       the ante paid by every player, or 0
+         */
+        public Level(int smallBlind, int bigBlind, int ante) {
+            this.smallBlind = smallBlind;
+            this.bigBlind = bigBlind;
+            this.ante = ante;
+        }
+
+        /**
+         * Returns the small blind.
+         *
+         * @return the small blind
+         */
+        public int getSmallBlind() {
+            return smallBlind;
+        }
+
+        /**
+         * Returns the big blind.
+         *
+         * @return the big blind
+         */
+        public int getBigBlind() {
+            return bigBlind;
+        }
+
+        /**
+         * Returns the ante paid by every player.
+         *
+         * @return the ante
+         */
+        public int getAnte() {
+            return ante;
+        }
+
+        @Override
+        public String toString() {
+            return smallBlind + "/" + bigBlind + (ante > 0 ? " ante " + ante : "");
+        }
+    }
+}
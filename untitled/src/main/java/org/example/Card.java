@@ -1,11 +1,20 @@
 package org.example;
 
+import java.util.List;
+
 /**
  * Represents a single playing card with a suit and a rank.
  */
 public class Card {
+    private static final String SUITS = "♥♣♦♠";
+    private static final String SUIT_LETTERS = "HCDS";
+    private static final List<String> RANKS = List.of(
+            "2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A");
+
     private char suit;
     private String rank;
+    private final int rankIndex;
+    private final int suitIndex;
 
     /**
      * Constructs a new card with the specified suit and rank.
@@ -17,6 +26,9 @@ public class Card {
     public Card(char suit, String rank) {
         this.suit = suit;
         this.rank = rank;
+        this.rankIndex = RANKS.indexOf(rank);
+        int symbolIndex = SUITS.indexOf(suit);
+        this.suitIndex = symbolIndex >= 0 ? symbolIndex : SUIT_LETTERS.indexOf(suit);
     }
 
     /**
@@ -36,4 +48,55 @@ public class Card {
     public String getRank() {
         return rank;
     }
+
+    /**
+     * Retrieves the position of the card's rank, from 0 for a two up to 12 for
+     * an ace.
+     *
+     * @return the rank index, or -1 if the rank is not recognised
+     */
+    public int getRankIndex() {
+        return rankIndex;
+    }
+
+    /**
+     * Retrieves the position of the card's suit in the order hearts, clubs,
+     * diamonds, spades. Both the symbol and the letter form are accepted.
+     *
+     * @return the suit index, or -1 if the suit is not recognised
+     */
+    public int getSuitIndex() {
+        return suitIndex;
+    }
+
+    /**
+     * Retrieves a compact number between 0 and 51 that identifies the card,
+     * following the order in which a fresh deck is built.
+     *
+     * @return the card index
+     */
+    public int getIndex() {
+        return suitIndex * 13 + rankIndex;
+    }
+
+    /**
+     * Retrieves the card as a single bit of a 64-bit hand mask, with each suit
+     * in its own 16-bit field and the rank as the bit position inside the field.
+     * A hand's mask is the OR of its cards' masks, see {@link HandEvaluator}.
+     *
+     * @return the card's mask bit
+     */
+    public long getMask() {
+        return 1L << (suitIndex * 16 + rankIndex);
+    }
+
+    /**
+     * Creates the card identified by a compact card index.
+     *
+     * @param index a number between 0 and 51
+     * @return the matching card
+     */
+    public static Card fromIndex(int index) {
+        return new Card(SUITS.charAt(index / 13), RANKS.get(index % 13));
+    }
 }
@@ -0,0 +1,82 @@
+package org.example;
+
+import java.io.InputStream;
+import java.util.Scanner;
+
+/**
+ * A {@link PlayerInput} that reads amounts typed on the console. A daemon
+ * reader thread owns the {@link Scanner} and feeds the queue, so the table
+ * thread only ever waits on the queue and can give up when a timeout expires.
+ */
+public class ConsoleInput extends QueuedPlayerInput {
+
+    private static ConsoleInput systemInput;
+
+    private final InputStream source;
+    private Thread reader;
+
+    /**
+     * Constructs a console input reading from the given stream.
+     *
+     * @param source the stream the player types into
+     */
+    public ConsoleInput(InputStream source) {
+        this.source = source;
+    }
+
+    /**
+     * Returns the shared input reading from {@code System.in}, creating it if it
+     * does not already exist.
+     *
+     * @return the console input for standard input
+     */
+    public static synchronized ConsoleInput system() {
+        if (systemInput == null) {
+            systemInput = new ConsoleInput(System.in);
+        }
+        return systemInput;
+    }
+
+    /**
+     * Prints the instructions and starts the reader thread the first time the
+     * player is asked to act.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand
+     * @param message      the instructions to show to the player
+     */
+    @Override
+    public void prompt(Player player, int amountToCall, String message) {
+        super.prompt(player, amountToCall, message);
+        System.out.println(message);
+        startReader();
+    }
+
+    /**
+     * Starts the thread that reads tokens from the console, if it is not
+     * already running.
+     */
+    private synchronized void startReader() {
+        if (reader != null) {
+            return;
+        }
+        reader = new Thread(this::readLoop, "console-input");
+        reader.setDaemon(true);
+        reader.start();
+    }
+
+    /**
+     * Reads tokens until the stream ends, queueing every valid integer.
+     */
+    private void readLoop() {
+        Scanner scanner = new Scanner(source);
+        while (scanner.hasNext()) {
+            if (scanner.hasNextInt()) {
+                submit(scanner.nextInt());
+            } else {
+                String input = scanner.next();
+                System.out.println(input + " is not a valid integer. Please enter a number.");
+            }
+        }
+    }
+}
@@ -8,8 +8,10 @@ import java.util.*;
  * collected into a discard pile, and the entire deck to be shuffled.
  */
 public class Deck {
+    private final Card[] cards;
     private List<Card> deck;
     private List<Card> discards;
+    private SplitMix64 random;
 
     /**
      * Constructs a new deck with a predefined list of cards.
@@ -17,9 +19,10 @@ public class Deck {
      * @param cards the initial list of cards to be included in the deck
      */
     public Deck(List<Card> cards) {
+        this.cards = cards.toArray(new Card[0]);
         this.deck = new ArrayList<>(cards);
         this.discards = new ArrayList<>();
-
+        this.random = RandomService.getInstance().nextStream();
     }
 
     /**
@@ -42,7 +45,27 @@ public class Deck {
     public void shuffleDeck() {
         deck.addAll(discards);
         discards.clear();
-        Collections.shuffle(deck);
+        for (int i = deck.size() - 1; i > 0; i--) {
+            Collections.swap(deck, i, random.nextInt(i + 1));
+        }
+    }
+
+    /**
+     * Puts every card the deck was built with back in its original order,
+     * reseeds the shuffle and shuffles, so a deck can be reused for a new game
+     * without building new cards. Two decks reset with the same seed deal the
+     * same cards.
+     *
+     * @param seed the seed for the deck's random generator
+     */
+    public void reset(long seed) {
+        deck.clear();
+        discards.clear();
+        for (Card card : cards) {
+            deck.add(card);
+        }
+        random.setState(seed);
+        shuffleDeck();
     }
 
     /**
@@ -53,4 +76,23 @@ public class Deck {
     public List<Card> getDeck() {
         return deck;
     }
+
+    /**
+     * Retrieves the cards that have been dealt since the last shuffle.
+     *
+     * @return a list of discarded cards
+     */
+    public List<Card> getDiscards() {
+        return discards;
+    }
+
+    /**
+     * Retrieves the random generator used for shuffling. Its state can be saved
+     * and restored to replay the same shuffles.
+     *
+     * @return the deck's random generator
+     */
+    public SplitMix64 getRandom() {
+        return random;
+    }
 }
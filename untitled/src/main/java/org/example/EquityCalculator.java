@@ -0,0 +1,146 @@
+package org.example;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Estimates by Monte Carlo how often a hand wins against a number of random
+ * opponent hands. Trials are dealt in blocks: the hero's and each opponent's
+ * hands for a whole block are written to parallel mask arrays, evaluated with
+ * {@link HandEvaluator#evaluateBatch(long[], int[], int)}, and only then
+ * compared. A calculator reuses its arrays between calls, so it should not be
+ * shared between threads.
+ */
+public class EquityCalculator {
+
+    /** The number of trials dealt and evaluated together. */
+    public static final int BLOCK_SIZE = 1024;
+
+    private final RandomGenerator random;
+    private final HandCache cache;
+    private final long[] heroHands = new long[BLOCK_SIZE];
+    private final int[] heroStrengths = new int[BLOCK_SIZE];
+    private final int[] opponentStrengths = new int[BLOCK_SIZE];
+    private final int[] bestOpponent = new int[BLOCK_SIZE];
+    private final int[] tiedOpponents = new int[BLOCK_SIZE];
+    private final long[][] opponentHands = new long[9][BLOCK_SIZE];
+    private final int[] deck = new int[52];
+
+    /**
+     * Constructs a calculator drawing its trials from the given generator.
+     *
+     * @param random the generator used to deal trials
+     */
+    public EquityCalculator(RandomGenerator random) {
+        this(random, null);
+    }
+
+    /**
+     * Constructs a calculator that evaluates hands through a cache. This pays
+     * off when the same boards come up again, such as repeated queries on the
+     * river; random preflop runouts rarely repeat.
+     *
+     * @param random the generator used to deal trials
+     * @param cache  the cache to evaluate through, or null to evaluate directly
+     */
+    public EquityCalculator(RandomGenerator random, HandCache cache) {
+        this.random = random;
+        this.cache = cache;
+    }
+
+    /**
+     * Estimates the share of the pot a hand wins against random hands, with
+     * split pots counting as the hero's share of the split.
+     *
+     * @param holeCards the hero's hole cards
+     * @param board     the community cards dealt so far, up to five
+     * @param opponents the number of opponents, from 1 to 9
+     * @param trials    the number of deals to simulate
+     * @return the equity between 0 and 1
+     */
+    public double equity(List<Card> holeCards, List<Card> board, int opponents, int trials) {
+        if (opponents < 1 || opponents > 9) {
+            throw new IllegalArgumentException("Opponents must be between 1 and 9");
+        }
+        long holeMask = HandEvaluator.mask(holeCards);
+        long boardMask = HandEvaluator.mask(board);
+        int missing = 5 - board.size();
+        int deckSize = 0;
+        for (int card = 0; card < 52; card++) {
+            if ((HandEvaluator.cardMask(card) & (holeMask | boardMask)) == 0) {
+                deck[deckSize++] = card;
+            }
+        }
+
+        double won = 0;
+        for (int done = 0; done < trials; done += BLOCK_SIZE) {
+            int block = Math.min(BLOCK_SIZE, trials - done);
+            for (int t = 0; t < block; t++) {
+                int drawn = 0;
+                long runout = boardMask;
+                for (int i = 0; i < missing; i++) {
+                    runout |= HandEvaluator.cardMask(draw(drawn++, deckSize));
+                }
+                heroHands[t] = holeMask | runout;
+                for (int o = 0; o < opponents; o++) {
+                    long hole = HandEvaluator.cardMask(draw(drawn++, deckSize))
+                            | HandEvaluator.cardMask(draw(drawn++, deckSize));
+                    opponentHands[o][t] = hole | runout;
+                }
+                bestOpponent[t] = -1;
+                tiedOpponents[t] = 0;
+            }
+            evaluateBlock(heroHands, heroStrengths, block);
+            for (int o = 0; o < opponents; o++) {
+                evaluateBlock(opponentHands[o], opponentStrengths, block);
+                for (int t = 0; t < block; t++) {
+                    int strength = opponentStrengths[t];
+                    if (strength > bestOpponent[t]) {
+                        bestOpponent[t] = strength;
+                        tiedOpponents[t] = 1;
+                    } else if (strength == bestOpponent[t]) {
+                        tiedOpponents[t]++;
+                    }
+                }
+            }
+            for (int t = 0; t < block; t++) {
+                if (heroStrengths[t] > bestOpponent[t]) {
+                    won += 1;
+                } else if (heroStrengths[t] == bestOpponent[t]) {
+                    won += 1.0 / (tiedOpponents[t] + 1);
+                }
+            }
+        }
+        return trials == 0 ? 0 : won / trials;
+    }
+
+    /**
+     * Evaluates a block of hands, through the cache if there is one.
+     *
+     * @param hands     the hand masks
+     * @param strengths receives the strengths
+     * @param count     the number of hands
+     */
+    private void evaluateBlock(long[] hands, int[] strengths, int count) {
+        if (cache == null) {
+            HandEvaluator.evaluateBatch(hands, strengths, count);
+        } else {
+            cache.evaluateBatch(hands, strengths, count);
+        }
+    }
+
+    /**
+     * Draws the next card of a trial by a partial Fisher-Yates shuffle.
+     *
+     * @param position the number of cards already drawn in this trial
+     * @param deckSize the number of unknown cards
+     * @return the index of the drawn card
+     */
+    private int draw(int position, int deckSize) {
+        int pick = position + random.nextInt(deckSize - position);
+        int card = deck[pick];
+        deck[pick] = deck[position];
+        deck[position] = card;
+        return card;
+    }
+}
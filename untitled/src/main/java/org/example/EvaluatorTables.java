@@ -0,0 +1,191 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+/**
+ * The lookup tables behind {@link HandEvaluator} and
+ * {@link ShortDeckEvaluator}, each indexed by a 13-bit set of ranks: the
+ * highest straight in the set, with the ace low below the two or, for Short
+ * Deck, below the six, and the highest one to five ranks of the set, which
+ * pick a flush's cards and a hand's kickers.
+ * <p>
+ * The build writes the tables into the {@value #RESOURCE} resource with
+ * {@link #main(String[])}, so starting up costs one bulk read of a small file
+ * instead of filling the tables rank set by rank set. If the resource is
+ * missing or does not pass its checks, for example when running from an IDE
+ * that skips the generation step, the tables are computed instead.
+ */
+public final class EvaluatorTables {
+
+    /** The classpath resource the build writes the tables to. */
+    public static final String RESOURCE = "/evaluator-tables.bin";
+
+    private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+    private static final int MAGIC = 0x48455654;
+    private static final int VERSION = 1;
+    private static final int SIZE = 1 << 13;
+    private static final int TABLES = 7;
+    private static final int HEADER_BYTES = 20;
+
+    /** The highest straight in each rank set, as its top rank's bit, or 0. */
+    static final char[] STRAIGHT_HIGH;
+    /** The same with A-6-7-8-9 as the lowest straight. */
+    static final char[] SHORT_DECK_STRAIGHT_HIGH;
+    /** {@code TOP_RANKS[n][ranks]} keeps the highest {@code n} ranks, for n from 1 to 5. */
+    static final char[][] TOP_RANKS;
+
+    static {
+        char[][] tables = load();
+        STRAIGHT_HIGH = tables[0];
+        SHORT_DECK_STRAIGHT_HIGH = tables[1];
+        TOP_RANKS = new char[6][];
+        for (int count = 1; count <= 5; count++) {
+            TOP_RANKS[count] = tables[count + 1];
+        }
+    }
+
+    private EvaluatorTables() {
+    }
+
+    /**
+     * Writes the tables to a file. The build runs this to generate the
+     * resource.
+     *
+     * @param args the path of the file to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            System.err.println("usage: EvaluatorTables <output file>");
+            System.exit(2);
+        }
+        Path file = Path.of(args[0]);
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(encode(compute()));
+        }
+    }
+
+    /**
+     * Reads the tables from the resource, or computes them if it cannot be
+     * used.
+     *
+     * @return the tables in the order they are stored
+     */
+    private static char[][] load() {
+        try (InputStream in = EvaluatorTables.class.getResourceAsStream(RESOURCE)) {
+            if (in != null) {
+                char[][] tables = decode(in.readAllBytes());
+                if (tables != null) {
+                    return tables;
+                }
+                logger.warn("Ignoring the damaged {} resource", RESOURCE);
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read {}: {}", RESOURCE, e.getMessage());
+        }
+        logger.debug("Computing the evaluator tables");
+        return compute();
+    }
+
+    /**
+     * Computes the tables.
+     *
+     * @return the tables in the order they are stored
+     */
+    static char[][] compute() {
+        char[][] tables = new char[TABLES][SIZE];
+        for (int ranks = 0; ranks < SIZE; ranks++) {
+            tables[0][ranks] = (char) straightHigh(ranks << 1 | (ranks >>> 12 & 1), 1);
+            tables[1][ranks] = (char) straightHigh(ranks | (ranks >>> 12 & 1) << (ShortDeckEvaluator.LOWEST_RANK - 1), 0);
+            for (int count = 1; count <= 5; count++) {
+                int kept = ranks;
+                while (Integer.bitCount(kept) > count) {
+                    kept &= kept - 1;
+                }
+                tables[count + 1][ranks] = (char) kept;
+            }
+        }
+        return tables;
+    }
+
+    /**
+     * Packs the tables behind a header holding a magic number, the format
+     * version, the table count and size, and a CRC-32 of the tables.
+     *
+     * @param tables the tables
+     * @return the encoded bytes
+     */
+    static byte[] encode(char[][] tables) {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_BYTES + TABLES * SIZE * Character.BYTES);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(TABLES).putInt(SIZE).putInt(0);
+        CharBuffer chars = buffer.asCharBuffer();
+        for (char[] table : tables) {
+            chars.put(table);
+        }
+        buffer.putInt(HEADER_BYTES - Integer.BYTES, checksum(buffer.array()));
+        return buffer.array();
+    }
+
+    /**
+     * Unpacks tables written by {@link #encode(char[][])}.
+     *
+     * @param bytes the encoded bytes
+     * @return the tables, or null if the header or checksum does not match
+     */
+    static char[][] decode(byte[] bytes) {
+        if (bytes.length != HEADER_BYTES + TABLES * SIZE * Character.BYTES) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getInt() != TABLES
+                || buffer.getInt() != SIZE || buffer.getInt() != checksum(bytes)) {
+            return null;
+        }
+        CharBuffer chars = buffer.asCharBuffer();
+        char[][] tables = new char[TABLES][SIZE];
+        for (char[] table : tables) {
+            chars.get(table);
+        }
+        return tables;
+    }
+
+    /**
+     * Computes the CRC-32 of the tables following the header.
+     *
+     * @param bytes the encoded bytes
+     * @return the checksum
+     */
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, HEADER_BYTES, bytes.length - HEADER_BYTES);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * Finds the highest run of five ranks.
+     *
+     * @param ranks the ranks as bits, with the low ace already added
+     * @param shift how far the ranks were moved up to make room for the ace
+     * @return the bit of the straight's highest rank, or 0 if there is none
+     */
+    private static int straightHigh(int ranks, int shift) {
+        int runs = ranks & ranks >>> 1 & ranks >>> 2 & ranks >>> 3 & ranks >>> 4;
+        if (runs == 0) {
+            return 0;
+        }
+        return 1 << (31 - Integer.numberOfLeadingZeros(runs) + 4 - shift);
+    }
+}
@@ -1,29 +1,33 @@
 package org.example;
 
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 /**
  * A singleton EventBus for managing and dispatching events to registered
  * observers.
  * This class handles the registration of observers for specific event types and
  * broadcasts messages to all registered observers when an event is posted.
+ * <p>
+ * A subscription names the event types it wants as a bit mask (see
+ * {@link EventType#mask()}) and may narrow them down to one table, one seat or
+ * a minimum amount. Whenever the subscriptions change they are compiled into
+ * one dispatch array per event type, copied on write, so posting an event
+ * reads one array and visits only the observers subscribed to its type;
+ * posting a type nobody wants does no work at all, and posting is safe from
+ * any thread.
  */
 public class EventBus {
     private static EventBus instance;
-    private final Map<EventType, List<org.example.IObserver>> observersMap;
+    private static final int TYPES = EventType.values().length;
+
+    private final List<Subscription> subscriptions = new ArrayList<>();
+    private volatile Subscription[][] dispatch = new Subscription[TYPES][0];
 
     /**
-     * Private constructor to create a new EventBus and initialize an observers map
-     * for all event types.
+     * Private constructor to create a new EventBus with no subscriptions.
      */
     private EventBus() {
-        observersMap = new HashMap<>();
-        for (EventType eventType : EventType.values()) {
-            observersMap.put(eventType, new ArrayList<>());
-        }
     }
 
     /**
@@ -42,16 +46,51 @@ public class EventBus {
     /**
      * Attaches an observer to a specific event type. Observers attached this way
      * will be notified when the event type they are registered for is posted to the
-     * EventBus.
+     * EventBus. Attaching to {@link EventType#All} receives every event.
      *
      * @param observer  the observer to register
      * @param eventType the type of event to observe
      */
     public void attach(IObserver observer, EventType eventType) {
-        List<IObserver> observers = observersMap.get(eventType);
-        if (observers != null) {
-            observers.add(observer);
+        subscribe(observer, eventType.mask());
+    }
+
+    /**
+     * Subscribes an observer to several event types at once.
+     *
+     * @param observer the observer to register
+     * @param types    the types of event to observe
+     * @return the subscription, which can be narrowed or cancelled
+     */
+    public Subscription subscribe(IObserver observer, EventType... types) {
+        return subscribe(observer, EventType.maskOf(types));
+    }
+
+    /**
+     * Subscribes an observer to the event types in a mask.
+     *
+     * @param observer the observer to register
+     * @param typeMask the types of event to observe, see {@link EventType#mask()}
+     * @return the subscription, which can be narrowed or cancelled
+     */
+    public Subscription subscribe(IObserver observer, long typeMask) {
+        Subscription subscription = new Subscription(observer, typeMask);
+        synchronized (this) {
+            subscriptions.add(subscription);
+            compile();
         }
+        return subscription;
+    }
+
+    /**
+     * Returns whether any observer is subscribed to an event type, so callers
+     * can skip building events no one will read.
+     *
+     * @param eventType the type of event
+     * @return true if posting the type would reach at least one subscription
+     */
+    public boolean hasSubscribers(EventType eventType) {
+        return dispatch[eventType.ordinal()].length > 0;
     }
 
     /**
@@ -62,11 +101,115 @@ public class EventBus {
      * @param eventDescription the description or data associated with the event
      */
     public void postMessage(EventType eventType, String eventDescription) {
-        List<IObserver> observers = observersMap.get(eventType);
-        if (observers != null) {
-            for (IObserver observer : observers) {
-                observer.update(eventDescription);
+        if (hasSubscribers(eventType)) {
+            post(new GameEvent(eventType, eventDescription));
+        }
+    }
+
+    /**
+     * Posts an event to the observers subscribed to its type whose filters it
+     * passes.
+     *
+     * @param event the event
+     */
+    public void post(GameEvent event) {
+        for (Subscription subscription : dispatch[event.getType().ordinal()]) {
+            if (subscription.accepts(event)) {
+                subscription.observer.onEvent(event);
             }
         }
     }
+
+    /**
+     * Rebuilds the per-type dispatch arrays from the subscriptions. Callers
+     * hold the bus's lock.
+     */
+    private void compile() {
+        Subscription[][] compiled = new Subscription[TYPES][];
+        List<Subscription> matching = new ArrayList<>();
+        for (int type = 0; type < TYPES; type++) {
+            matching.clear();
+            for (Subscription subscription : subscriptions) {
+                if ((subscription.typeMask & 1L << type) != 0) {
+                    matching.add(subscription);
+                }
+            }
+            compiled[type] = matching.toArray(new Subscription[0]);
+        }
+        dispatch = compiled;
+    }
+
+    /**
+     * One observer's registration: the event types it wants and the filters
+     * an event has to pass. Narrowing a subscription takes effect for events
+     * posted afterwards.
+     */
+    public final class Subscription {
+        private final IObserver observer;
+        private final long typeMask;
+        private volatile int tableId = GameEvent.NO_TABLE;
+        private volatile int seat = GameEvent.NO_SEAT;
+        private volatile int minimumAmount = Integer.MIN_VALUE;
+
+        private Subscription(IObserver observer, long typeMask) {
+            this.observer = observer;
+            this.typeMask = typeMask;
+        }
+
+        /**
+         * Limits the subscription to events at one table.
+         *
+         * @param tableId the table's id
+         * @return this subscription
+         */
+        public Subscription onlyTable(int tableId) {
+            this.tableId = tableId;
+            return this;
+        }
+
+        /**
+         * Limits the subscription to events that concern one seat.
+         *
+         * @param seat the seat
+         * @return this subscription
+         */
+        public Subscription onlySeat(int seat) {
+            this.seat = seat;
+            return this;
+        }
+
+        /**
+         * Limits the subscription to events involving at least an amount.
+         *
+         * @param amount the smallest amount
+         * @return this subscription
+         */
+        public Subscription minimumAmount(int amount) {
+            this.minimumAmount = amount;
+            return this;
+        }
+
+        /**
+         * Removes the subscription from the bus.
+         */
+        public void cancel() {
+            synchronized (EventBus.this) {
+                if (subscriptions.remove(this)) {
+                    compile();
+                }
+            }
+        }
+
+        /**
+         * Checks an event against the filters.
+         *
+         * @param event the event
+         * @return true if the observer should receive it
+         */
+        private boolean accepts(GameEvent event) {
+            return (tableId == GameEvent.NO_TABLE || tableId == event.getTableId())
+                    && (seat == GameEvent.NO_SEAT || seat == event.getSeat())
+                    && event.getAmount() >= minimumAmount;
+        }
+    }
 }
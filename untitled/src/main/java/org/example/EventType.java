@@ -18,5 +18,29 @@ public enum EventType {
     /** Represents the event when a game starts. */
     GameStart,
     /** Represents the event when a new hand is dealt. */
-    NewHand
+    NewHand;
+
+    /**
+     * Returns this type's bit in a subscription mask. {@link #All} stands for
+     * every type.
+     *
+     * @return the mask
+     */
+    public long mask() {
+        return this == All ? (1L << values().length) - 1 : 1L << ordinal();
+    }
+
+    /**
+     * Combines several types into one subscription mask.
+     *
+     * @param types the types
+     * @return the mask with the bits of all the types
+     */
+    public static long maskOf(EventType... types) {
+        long mask = 0;
+        for (EventType type : types) {
+            mask |= type.mask();
+        }
+        return mask;
+    }
 }
@@ -1,6 +1,7 @@
 package org.example;
 
 import java.util.*;
+import java.util.function.Consumer;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -14,11 +15,18 @@ import org.slf4j.LoggerFactory;
 public class Game implements IObservable {
 
     private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+    private static final Street[] BETTING_STREETS = { Street.PREFLOP, Street.FLOP, Street.TURN, Street.RIVER };
     private final EventBus eventBus;
+    private final PhaseTimer timer = new PhaseTimer(Metrics.getInstance());
 
     private Table table;
     private Boolean gameOver;
-    private Integer hand;
+    private int hand;
+    private Street street;
+    private int checkpointInterval;
+    private Consumer<byte[]> checkpointSink;
+    private BlindSchedule.Level blinds;
+    private Consumer<Player> eliminationListener;
 
     /**
      * Constructs a new Game initializing the game over flag, event bus, and
@@ -28,6 +36,7 @@ public class Game implements IObservable {
         this.gameOver = false;
         this.eventBus = EventBus.getInstance();
         this.hand = 1;
+        this.street = Street.PREFLOP;
     }
 
     /**
@@ -39,6 +48,116 @@ public class Game implements IObservable {
         this.table = tableToPlay;
     }
 
+    /**
+     * Returns the table the game is played on.
+     *
+     * @return the table of this game
+     */
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Returns the number of the hand being played, starting at 1.
+     *
+     * @return the current hand number
+     */
+    public Integer getHand() {
+        return hand;
+    }
+
+    /**
+     * Returns the betting round the current hand has reached.
+     *
+     * @return the current street
+     */
+    public Street getStreet() {
+        return street;
+    }
+
+    /**
+     * Readies the game to play again from the first hand, as a new game would.
+     * The settings are kept, so a simulation can reuse one game together with
+     * a table re-armed through {@link Table#reuse(Table)}.
+     */
+    public void reset() {
+        hand = 1;
+        gameOver = false;
+        street = Street.PREFLOP;
+    }
+
+    /**
+     * Restores the game's progress counters from a checkpoint.
+     *
+     * @param hand     the hand number
+     * @param gameOver whether the game has finished
+     * @param street   the street the hand had reached
+     */
+    void restoreProgress(int hand, boolean gameOver, Street street) {
+        this.hand = hand;
+        this.gameOver = gameOver;
+        this.street = street;
+    }
+
+    /**
+     * Takes a checkpoint every given number of hands and hands it to a sink,
+     * for example one that writes it to disk.
+     *
+     * @param everyHands the number of hands between checkpoints, or 0 to stop
+     * @param sink       receives each encoded checkpoint
+     */
+    public void setCheckpointing(int everyHands, Consumer<byte[]> sink) {
+        this.checkpointInterval = everyHands;
+        this.checkpointSink = sink;
+    }
+
+    /**
+     * Sets the forced bets posted at the start of every hand from now on.
+     *
+     * @param blinds the blind level, or null to play without blinds
+     */
+    public void setBlinds(BlindSchedule.Level blinds) {
+        this.blinds = blinds;
+    }
+
+    /**
+     * Registers a listener told about every player who runs out of money and
+     * leaves the table.
+     *
+     * @param listener receives each eliminated player, or null to stop
+     */
+    public void setEliminationListener(Consumer<Player> listener) {
+        this.eliminationListener = listener;
+    }
+
+    /**
+     * Encodes the complete state of the game, see {@link GameCheckpoint}.
+     *
+     * @return the encoded checkpoint
+     */
+    public byte[] checkpoint() {
+        return GameCheckpoint.save(this);
+    }
+
+    /**
+     * Rebuilds a game from a checkpoint taken with {@link #checkpoint()}.
+     *
+     * @param checkpoint the encoded checkpoint
+     * @return a new game continuing from the checkpoint
+     */
+    public static Game restore(byte[] checkpoint) {
+        return GameCheckpoint.restore(checkpoint);
+    }
+
+    /**
+     * Returns whether only one player is left at the table.
+     *
+     * @return true if the game is over, false otherwise
+     */
+    public Boolean isGameOver() {
+        return gameOver;
+    }
+
     /**
      * Starts and manages the main game loop and event posting.
      * It also handles game start and end conditions, notifying observers of
@@ -52,12 +171,8 @@ public class Game implements IObservable {
                         EventType.NewHand),
                 2);
         registerObserver(audibleObserver);
-        eventBus.attach(audibleObserver, EventType.GameStart);
-        eventBus.attach(audibleObserver, EventType.Win);
-        eventBus.attach(audibleObserver, EventType.Lose);
-        eventBus.attach(audibleObserver, EventType.Fold);
-        eventBus.attach(audibleObserver, EventType.Bet);
-        eventBus.attach(audibleObserver, EventType.NewHand);
+        eventBus.subscribe(audibleObserver, EventType.GameStart, EventType.Win, EventType.Lose, EventType.Fold,
+                EventType.Bet, EventType.NewHand);
         eventBus.postMessage(EventType.GameStart, "The game has started! Good Luck!");
         System.out.print("Welcome to our Texas Hold Em Simulator! Be the last man Standing!\n");
 
@@ -68,7 +183,7 @@ public class Game implements IObservable {
         Player Winner = WinnerList.get(0);
 
         logger.info("Game Over! Thanks For Playing!");
-        if (Objects.equals(Winner.getName(), "You")) {
+        if (Winner.isHuman()) {
             eventBus.postMessage(EventType.Win, "Congradulations! You Won!");
         } else {
             eventBus.postMessage(EventType.Lose, "Player " + Winner.getName() + " won the poker game!");
@@ -84,70 +199,75 @@ public class Game implements IObservable {
      *
      * @throws InterruptedException if thread sleeping is interrupted
      */
-    private void playHand() throws InterruptedException {
+    public void playHand() throws InterruptedException {
 
-        logger.info("Starting hand " + hand + "... \n");
-        eventBus.postMessage(EventType.NewHand, "Starting hand " + hand);
-        table.resetTable();
-        table.setPlayers(table.organizeBettingQueue());
-
-        table.dealPlayers();
-        table.evaluateHands();
-
-        if (table.simulateBettingRound()) {
-            table.evaluateHands();
-            table.awardPotToWinner();
-            table.setNextDealer();
-            gameOver = checkGameOver();
-            hand += 1;
-            return;
+        long handStart = timer.handStarted();
+        if (logger.isInfoEnabled()) {
+            logger.info("Starting hand {}... \n", hand);
         }
-
-        table.dealFlop();
-        table.evaluateHands();
-
-        if (table.simulateBettingRound()) {
-            table.evaluateHands();
-            table.awardPotToWinner();
-            table.setNextDealer();
-            gameOver = checkGameOver();
-            hand += 1;
-            return;
+        if (eventBus.hasSubscribers(EventType.NewHand)) {
+            eventBus.postMessage(EventType.NewHand, "Starting hand " + hand);
         }
-
-        table.dealTurnOrRiver();
-        table.evaluateHands();
-
-        if (table.simulateBettingRound()) {
-            table.evaluateHands();
-            table.awardPotToWinner();
-            table.setNextDealer();
-            gameOver = checkGameOver();
-            hand += 1;
-            return;
+        street = Street.PREFLOP;
+        table.resetTable();
+        if (blinds != null) {
+            table.postBlinds(blinds.getSmallBlind(), blinds.getBigBlind(), blinds.getAnte());
         }
 
-        table.dealTurnOrRiver();
-        table.evaluateHands();
-
-        if (table.simulateBettingRound()) {
-            // print who won
-            table.evaluateHands();
-            table.awardPotToWinner();
-            table.setNextDealer();
-            gameOver = checkGameOver();
-            hand += 1;
-            return;
+        boolean handOver = false;
+        for (Street next : BETTING_STREETS) {
+            if (playStreet(next)) {
+                handOver = true;
+                break;
+            }
+        }
+        if (!handOver) {
+            street = Street.SHOWDOWN;
         }
 
-        table.evaluateHands();
-
+        timer.begin(HandPhase.AWARD);
         table.awardPotToWinner();
-
-        gameOver = checkGameOver();
+        timer.end(hand);
 
         table.setNextDealer();
+        gameOver = checkGameOver();
+        timer.handFinished(handStart);
         hand += 1;
+        takeScheduledCheckpoint();
+    }
+
+    /**
+     * Deals the cards of one street and runs its betting round. Hands are
+     * evaluated only when a decision or the showdown reads them.
+     *
+     * @param next the street to play
+     * @return true if the betting round ended the hand
+     * @throws InterruptedException if thread sleeping is interrupted
+     */
+    private boolean playStreet(Street next) throws InterruptedException {
+        timer.begin(HandPhase.DEAL);
+        switch (next) {
+            case PREFLOP -> table.dealPlayers();
+            case FLOP -> table.dealFlop();
+            default -> table.dealTurnOrRiver();
+        }
+        timer.end(hand);
+        street = next;
+
+        timer.begin(HandPhase.BETTING);
+        boolean handOver = table.simulateBettingRound();
+        timer.end(hand);
+        return handOver;
+    }
+
+    /**
+     * Hands a checkpoint to the sink if checkpointing is on and the hand that
+     * just finished is due for one.
+     */
+    private void takeScheduledCheckpoint() {
+        if (checkpointInterval > 0 && (hand - 1) % checkpointInterval == 0) {
+            checkpointSink.accept(checkpoint());
+        }
     }
 
     /**
@@ -157,13 +277,12 @@ public class Game implements IObservable {
      * @return true if the game is over, false otherwise
      */
     private Boolean checkGameOver() {
-        List<Player> players = table.getPlayers();
-        for (Player player : players) {
-            if (player.getMoney() == 0) {
-                table.removePlayer(player.getName());
+        for (Player player : table.removeBrokePlayers()) {
+            if (eliminationListener != null) {
+                eliminationListener.accept(player);
             }
         }
-        return table.getPlayers().size() == 1;
+        return table.getPlayers().size() <= 1;
     }
 
     // Registers an observer to this game
@@ -0,0 +1,202 @@
+package org.example;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Saves and restores the complete state of a {@link Game} in a compact binary
+ * form: the variant, the hand counter and street, the pot, the deck order, discard pile and
+ * shuffle generator state, the table cards, and every player's stack, bet,
+ * status and hole cards. Cards take one byte each (see {@link Card#getIndex()}),
+ * so a ten player checkpoint fits in a few hundred bytes.
+ */
+public final class GameCheckpoint {
+
+    private static final int MAGIC = 0x5448434B;
+    private static final byte FORMAT_VERSION = 2;
+    private static final int FLAG_IN_HAND = 1;
+    private static final int FLAG_DEALER = 2;
+    private static final int FLAG_HUMAN = 4;
+    private static final int MAX_PLAYERS = 10;
+    private static final int MAX_CARDS = 52;
+
+    private GameCheckpoint() {
+    }
+
+    /**
+     * Encodes a game.
+     *
+     * @param game the game to save
+     * @return the encoded checkpoint
+     */
+    public static byte[] save(Game game) {
+        Table table = game.getTable();
+        Deck deck = table.getDeck();
+        List<Player> players = table.getPlayers();
+        byte[][] names = new byte[players.size()][];
+
+        int size = 4 + 1 + 1 + 4 + 1 + 1 + 4 + 8;
+        size += cardsSize(deck.getDeck()) + cardsSize(deck.getDiscards()) + cardsSize(table.getTableCards());
+        size += 1;
+        for (int i = 0; i < players.size(); i++) {
+            names[i] = players.get(i).getName().getBytes(StandardCharsets.UTF_8);
+            size += 2 + names[i].length + 4 + 4 + 1 + 1 + cardsSize(players.get(i).getCards());
+        }
+
+        ByteBuffer out = ByteBuffer.allocate(size);
+        out.putInt(MAGIC).put(FORMAT_VERSION);
+        out.put((byte) table.getVariant().ordinal());
+        out.putInt(game.getHand());
+        out.put((byte) (game.isGameOver() ? 1 : 0));
+        out.put((byte) game.getStreet().ordinal());
+        out.putInt(table.getPot());
+        out.putLong(deck.getRandom().getState());
+        putCards(out, deck.getDeck());
+        putCards(out, deck.getDiscards());
+        putCards(out, table.getTableCards());
+        out.put((byte) players.size());
+        for (int i = 0; i < players.size(); i++) {
+            Player player = players.get(i);
+            int flags = (player.getInHand() ? FLAG_IN_HAND : 0) | (player.getDealer() ? FLAG_DEALER : 0)
+                    | (player.isHuman() ? FLAG_HUMAN : 0);
+            out.putShort((short) names[i].length).put(names[i]);
+            out.putInt(player.getMoney());
+            out.putInt(player.getCurrentBet());
+            out.put((byte) player.getPersonality());
+            out.put((byte) flags);
+            putCards(out, player.getCards());
+        }
+        return out.array();
+    }
+
+    /**
+     * Rebuilds a game from a checkpoint. The new game shares nothing with the
+     * game that was saved, so several copies can be played in parallel.
+     *
+     * @param checkpoint the encoded checkpoint
+     * @return the restored game
+     * @throws IllegalArgumentException if the data is not a valid checkpoint
+     */
+    public static Game restore(byte[] checkpoint) {
+        ByteBuffer in = ByteBuffer.wrap(checkpoint);
+        try {
+            if (in.getInt() != MAGIC || in.get() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Not a game checkpoint");
+            }
+            GameVariant variant = GameVariant.values()[in.get()];
+            int hand = in.getInt();
+            boolean gameOver = in.get() != 0;
+            Street street = Street.values()[in.get()];
+            int pot = in.getInt();
+            long randomState = in.getLong();
+
+            // A full deck, so resetting it later brings back the dealt cards too
+            Table table = Table.newBuilder().variant(variant).createDeck().build();
+            Deck deck = table.getDeck();
+            deck.getDeck().clear();
+            deck.getDeck().addAll(getCards(in));
+            deck.getDiscards().addAll(getCards(in));
+            deck.getRandom().setState(randomState);
+            table.getTableCards().addAll(getCards(in));
+            table.addToPot(pot);
+
+            int playerCount = checkRange(in.get(), MAX_PLAYERS, "player count");
+            List<Player> players = new ArrayList<>(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                byte[] name = new byte[checkRange(in.getShort(), Short.MAX_VALUE, "name length")];
+                in.get(name);
+                Player player = new Player(in.getInt(), new String(name, StandardCharsets.UTF_8));
+                player.setCurrentBet(in.getInt());
+                player.setPersonality(in.get());
+                int flags = in.get();
+                player.setInHand((flags & FLAG_IN_HAND) != 0);
+                player.setDealer((flags & FLAG_DEALER) != 0);
+                player.setHuman((flags & FLAG_HUMAN) != 0);
+                for (Card card : getCards(in)) {
+                    player.addCards(card);
+                }
+                players.add(player);
+            }
+            table.setPlayers(players);
+
+            Game game = new Game();
+            game.setTable(table);
+            game.restoreProgress(hand, gameOver, street);
+            return game;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Truncated or corrupt game checkpoint", e);
+        }
+    }
+
+    /**
+     * Restores a checkpoint with a different shuffle seed, giving a what-if
+     * continuation that diverges from the original at the next shuffle.
+     *
+     * @param checkpoint the encoded checkpoint
+     * @param seed       the new shuffle seed
+     * @return the restored game
+     */
+    public static Game fork(byte[] checkpoint, long seed) {
+        Game game = restore(checkpoint);
+        game.getTable().getDeck().getRandom().setState(seed);
+        return game;
+    }
+
+    /**
+     * Returns the number of bytes used to encode a list of cards.
+     *
+     * @param cards the cards
+     * @return the encoded size
+     */
+    private static int cardsSize(List<Card> cards) {
+        return 2 + cards.size();
+    }
+
+    /**
+     * Writes a list of cards as a count followed by one byte per card.
+     *
+     * @param out   the buffer to write to
+     * @param cards the cards to write
+     */
+    private static void putCards(ByteBuffer out, List<Card> cards) {
+        out.putShort((short) cards.size());
+        for (Card card : cards) {
+            out.put((byte) card.getIndex());
+        }
+    }
+
+    /**
+     * Reads a list of cards written by {@link #putCards(ByteBuffer, List)}.
+     *
+     * @param in the buffer to read from
+     * @return the cards
+     */
+    private static List<Card> getCards(ByteBuffer in) {
+        int count = checkRange(in.getShort(), MAX_CARDS, "card count");
+        List<Card> cards = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            cards.add(Card.fromIndex(checkRange(in.get(), MAX_CARDS - 1, "card index")));
+        }
+        return cards;
+    }
+
+    /**
+     * Checks a value read from a checkpoint before it is used as a size or an
+     * index.
+     *
+     * @param value the value read
+     * @param max   the largest valid value
+     * @param what  what the value is, for the error message
+     * @return the value
+     * @throws IllegalArgumentException if the value is negative or above max
+     */
+    private static int checkRange(int value, int max, String what) {
+        if (value < 0 || value > max) {
+            throw new IllegalArgumentException("Corrupt game checkpoint: " + what + " " + value);
+        }
+        return value;
+    }
+}
@@ -1,5 +1,17 @@
 package org.example;
 
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.DefaultParser;
+import org.apache.commons.cli.HelpFormatter;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
+import org.apache.commons.cli.ParseException;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.file.Path;
+import java.util.Objects;
 import java.util.Scanner;
 
 /**
@@ -13,12 +25,27 @@ public class GameConfigurator {
     /**
      * The main method that starts the setup of the Texas Hold Em Simulator.
      * It prompts the user to specify the number of players and initializes the game
-     * with the specified number of players.
+     * with the specified number of players. Started as {@code server [port]
+     * [seatsPerTable] [botsPerTable]} it hosts tables for remote players instead,
+     * and started as {@code batch [options]} it runs a headless simulation, see
+     * {@link #runBatch(String[], PrintStream)}.
      *
-     * @param args the command line arguments (not used in this application)
+     * @param args the command line arguments, empty for an interactive game
      * @throws InterruptedException if the game play is interrupted
+     * @throws IOException          if the server socket or output file cannot be
+     *                              opened
      */
-    public static void main(String[] args) throws InterruptedException {
+    public static void main(String[] args) throws InterruptedException, IOException {
+        if (args.length > 0 && Objects.equals(args[0], "server")) {
+            runServer(args);
+            return;
+        }
+        if (args.length > 0 && Objects.equals(args[0], "batch")) {
+            if (runBatch(args, System.out) == null) {
+                System.exit(2);
+            }
+            return;
+        }
         Scanner scanner = new Scanner(System.in);
         int userInput;
         System.out.print(
@@ -47,4 +74,185 @@ public class GameConfigurator {
 
     }
 
-}
\ No newline at end of file
+    /**
+     * Runs the game server until the process is stopped.
+     *
+     * @param args the command line arguments: "server", then optionally the port,
+     *             the number of remote seats and the number of bots per table
+     * @throws IOException if the server socket cannot be opened
+     */
+    private static void runServer(String[] args) throws IOException {
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+        int seatsPerTable = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+        int botsPerTable = args.length > 3 ? Integer.parseInt(args[3]) : 1;
+        Metrics.getInstance().registerMBean();
+        Integer metricsPort = Integer.getInteger("holdem.metrics.port");
+        if (metricsPort != null) {
+            Metrics.getInstance().setEnabled(true);
+            Metrics.getInstance().startHttpEndpoint(metricsPort);
+            System.out.println("Metrics available at http://localhost:" + metricsPort + "/metrics");
+        }
+        System.out.println("Texas Hold Em server listening on port " + port);
+        try (GameServer server = new GameServer(port, seatsPerTable, botsPerTable, 30_000)) {
+            server.run();
+        }
+    }
+
+    /**
+     * Lists the options of the batch command.
+     *
+     * @return the batch options
+     */
+    private static Options batchOptions() {
+        Options options = new Options();
+        options.addOption(Option.builder().longOpt("tables").hasArg().argName("count")
+                .desc("number of tables played at once (default 1000)").build());
+        options.addOption(Option.builder().longOpt("hands").hasArg().argName("count")
+                .desc("hands played at each table (default 1000)").build());
+        options.addOption(Option.builder().longOpt("players").hasArg().argName("count")
+                .desc("bots seated at each table, 2 to 10 (default 6)").build());
+        options.addOption(Option.builder().longOpt("threads").hasArg().argName("count")
+                .desc("worker threads (default: one per processor)").build());
+        options.addOption(Option.builder().longOpt("seed").hasArg().argName("seed")
+                .desc("master seed, for repeatable runs (default: random)").build());
+        options.addOption(Option.builder().longOpt("personalities").hasArg().argName("list")
+                .desc("comma-separated personalities 1-5 assigned to seats in turn (default 1,2,3,4,5)").build());
+        options.addOption(Option.builder().longOpt("stack").hasArg().argName("chips")
+                .desc("starting stack of every bot (default 1000)").build());
+        options.addOption(Option.builder().longOpt("variant").hasArg().argName("name")
+                .desc("holdem, shortdeck or omaha (default holdem)").build());
+        options.addOption(Option.builder().longOpt("output").hasArg().argName("file")
+                .desc("also write every hand's 16-byte result record to this file").build());
+        options.addOption(Option.builder("h").longOpt("help").desc("print this message").build());
+        return options;
+    }
+
+    /**
+     * Runs a headless batch simulation and prints its throughput, hand latency
+     * percentiles and a summary of the results. Every bot keeps its chips
+     * from hand to hand, and tables stop once one bot has them all.
+     *
+     * @param args the command line arguments, starting with "batch"
+     * @param out  where the report is printed
+     * @return the result summary, or null if the arguments were not valid
+     * @throws InterruptedException if the simulation is interrupted
+     * @throws IOException          if the output file cannot be written
+     */
+    static ResultSummary runBatch(String[] args, PrintStream out) throws InterruptedException, IOException {
+        Options options = batchOptions();
+        int tables;
+        int hands;
+        int players;
+        int threads;
+        int stack;
+        long seed;
+        int[] personalities;
+        GameVariant variant;
+        String output;
+        try {
+            CommandLine line = new DefaultParser().parse(options, args);
+            if (line.hasOption("help")) {
+                printUsage(options, out);
+                return new ResultSummary();
+            }
+            tables = Integer.parseInt(line.getOptionValue("tables", "1000"));
+            hands = Integer.parseInt(line.getOptionValue("hands", "1000"));
+            players = Integer.parseInt(line.getOptionValue("players", "6"));
+            threads = Integer.parseInt(line.getOptionValue("threads",
+                    String.valueOf(Runtime.getRuntime().availableProcessors())));
+            stack = Integer.parseInt(line.getOptionValue("stack", "1000"));
+            seed = line.hasOption("seed") ? Long.parseLong(line.getOptionValue("seed"))
+                    : new SplitMix64().nextLong();
+            String[] names = line.getOptionValue("personalities", "1,2,3,4,5").split(",");
+            personalities = new int[names.length];
+            for (int i = 0; i < names.length; i++) {
+                personalities[i] = Integer.parseInt(names[i].trim());
+                if (personalities[i] < 1 || personalities[i] > 5) {
+                    throw new ParseException("Personalities run from 1 to 5: " + names[i]);
+                }
+            }
+            if (tables < 1 || hands < 1 || threads < 1 || players < 2 || players > 10) {
+                throw new ParseException("Tables, hands and threads must be positive and players 2 to 10");
+            }
+            variant = GameVariant.fromName(line.getOptionValue("variant", "holdem"));
+            output = line.getOptionValue("output");
+        } catch (ParseException | IllegalArgumentException e) {
+            out.println(e.getMessage());
+            printUsage(options, out);
+            return null;
+        }
+
+        RandomService.reseed(seed);
+        TableBatch batch = new TableBatch(tables, players, seed, variant);
+        for (int table = 0; table < tables; table++) {
+            for (int seat = 0; seat < players; seat++) {
+                batch.seat(table, seat, stack, personalities[(table * players + seat) % personalities.length]);
+            }
+        }
+        Metrics metrics = Metrics.getInstance();
+        metrics.setEnabled(true);
+        metrics.reset();
+        out.println("Playing " + hands + " hands of " + variant.getDisplayName() + " at " + tables + " tables of "
+                + players + " on " + threads + " threads, seed " + seed);
+
+        ResultSummary summary;
+        long played;
+        long start = System.nanoTime();
+        try (ResultSink sink = output == null ? new ResultSink(1 << 20)
+                : new ResultSink(1 << 20, Path.of(output))) {
+            played = batch.playAll(hands, threads, sink);
+            summary = sink.summarize(threads);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        LatencyHistogram latency = metrics.histogram("hand_nanos");
+        out.printf("%d hands in %.2f s: %.0f hands/sec%n", played, seconds, played / seconds);
+        out.printf("Hand latency (us): p50 %.1f  p90 %.1f  p99 %.1f  p99.9 %.1f  max %.1f%n",
+                latency.getValueAtPercentile(50) / 1e3, latency.getValueAtPercentile(90) / 1e3,
+                latency.getValueAtPercentile(99) / 1e3, latency.getValueAtPercentile(99.9) / 1e3,
+                latency.getMax() / 1e3);
+        out.print(summary);
+        out.println("  wins by seat:");
+        for (int seat = 0; seat < players; seat++) {
+            out.printf("    seat %d: %.2f%%%n", seat + 1, percent(summary.getSeatWins(seat), summary.getHands()));
+        }
+        out.println("  wins by personality against the main loser:");
+        for (int winner = 1; winner <= 5; winner++) {
+            StringBuilder row = new StringBuilder("    " + winner + ":");
+            for (int loser = 1; loser <= 5; loser++) {
+                row.append(String.format(" %7.2f%%", percent(summary.getMatchupWins(winner, loser), summary.getHands())));
+            }
+            out.println(row);
+        }
+        if (output != null) {
+            out.println("Result records written to " + output);
+        }
+        return summary;
+    }
+
+    /**
+     * Prints the usage of the batch command.
+     *
+     * @param options the batch options
+     * @param out     where the usage is printed
+     */
+    private static void printUsage(Options options, PrintStream out) {
+        HelpFormatter formatter = new HelpFormatter();
+        PrintWriter writer = new PrintWriter(out);
+        formatter.printHelp(writer, formatter.getWidth(), "holdem batch", null, options, formatter.getLeftPadding(),
+                formatter.getDescPadding(), null);
+        writer.flush();
+    }
+
+    /**
+     * Returns a count as a percentage of a total.
+     *
+     * @param count the count
+     * @param total the total
+     * @return the percentage, or 0 for an empty total
+     */
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : 100.0 * count / total;
+    }
+
+}
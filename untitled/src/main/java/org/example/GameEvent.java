@@ -0,0 +1,97 @@
+package org.example;
+
+/**
+ * One event posted to the {@link EventBus}: its type and description, and the
+ * table, seat and amount it concerns, so subscribers can be matched on those
+ * fields without parsing the description.
+ */
+public final class GameEvent {
+
+    /** The table id of events that do not belong to a table. */
+    public static final int NO_TABLE = -1;
+    /** The seat of events that do not concern one seat. */
+    public static final int NO_SEAT = -1;
+
+    private final EventType type;
+    private final String description;
+    private final int tableId;
+    private final int seat;
+    private final int amount;
+
+    /**
+     * Constructs an event that concerns no particular table or seat.
+     *
+     * @param type        the type of event
+     * @param description the description of the event
+     */
+    public GameEvent(EventType type, String description) {
+        this(type, description, NO_TABLE, NO_SEAT, 0);
+    }
+
+    /**
+     * Constructs an event.
+     *
+     * @param type        the type of event
+     * @param description the description of the event
+     * @param tableId     the table it happened at, or {@link #NO_TABLE}
+     * @param seat        the seat it concerns, or {@link #NO_SEAT}
+     * @param amount      the chips involved, or 0
+     */
+    public GameEvent(EventType type, String description, int tableId, int seat, int amount) {
+        this.type = type;
+        this.description = description;
+        this.tableId = tableId;
+        this.seat = seat;
+        this.amount = amount;
+    }
+
+    /**
+     * Returns the type of event.
+     *
+     * @return the type
+     */
+    public EventType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the description of the event.
+     *
+     * @return the description
+     */
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the table the event happened at.
+     *
+     * @return the table id, or {@link #NO_TABLE}
+     */
+    public int getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Returns the seat the event concerns.
+     *
+     * @return the seat, or {@link #NO_SEAT}
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Returns the chips involved in the event.
+     *
+     * @return the amount, or 0
+     */
+    public int getAmount() {
+        return amount;
+    }
+
+    @Override
+    public String toString() {
+        return type + ": " + description;
+    }
+}
@@ -0,0 +1,432 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Hosts many tables for remote players over TCP. A single selector thread
+ * accepts connections, reads their actions and writes the frames produced by
+ * the tables; each table plays its hands on a worker thread and talks to its
+ * remote seats through {@link PlayerInput}s. Frames follow
+ * {@link WireProtocol}.
+ */
+public class GameServer implements Runnable, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+    private static final int READ_BUFFER_BYTES = 64;
+
+    private final int seatsPerTable;
+    private final int botsPerTable;
+    private final long actionTimeoutMillis;
+    private final Selector selector;
+    private final ServerSocketChannel serverChannel;
+    private final ExecutorService tableRunners;
+    private final Queue<Connection> pendingWrites = new ConcurrentLinkedQueue<>();
+    private final List<Connection> waiting = new ArrayList<>();
+    private final AtomicInteger activeTables = new AtomicInteger();
+    private int nextTableId = 1;
+    private volatile boolean running = true;
+
+    /**
+     * Opens the server socket. Clients are seated in the order they connect,
+     * and a table starts as soon as it has enough remote players.
+     *
+     * @param port                the port to listen on, or 0 for any free port
+     * @param seatsPerTable       the number of remote players per table
+     * @param botsPerTable        the number of bots added to every table
+     * @param actionTimeoutMillis the time a remote player has to act, or 0 to
+     *                            wait indefinitely
+     * @throws IOException if the server socket cannot be opened
+     */
+    public GameServer(int port, int seatsPerTable, int botsPerTable, long actionTimeoutMillis) throws IOException {
+        if (seatsPerTable < 1 || seatsPerTable + botsPerTable < 2) {
+            throw new IllegalArgumentException("A table needs at least one remote player and two players in total");
+        }
+        this.seatsPerTable = seatsPerTable;
+        this.botsPerTable = botsPerTable;
+        this.actionTimeoutMillis = actionTimeoutMillis;
+        this.selector = Selector.open();
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.configureBlocking(false);
+        serverChannel.bind(new InetSocketAddress(port), 1024);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        this.tableRunners = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "table-runner");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     *
+     * @return the local port
+     * @throws IOException if the port cannot be read
+     */
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    /**
+     * Returns the number of tables that started and have not finished yet.
+     *
+     * @return the active table count
+     */
+    public int getActiveTables() {
+        return activeTables.get();
+    }
+
+    /**
+     * Runs the selector loop until the server is closed.
+     */
+    @Override
+    public void run() {
+        logger.info("Game server listening with " + seatsPerTable + " remote seats per table");
+        try {
+            while (running) {
+                selector.select();
+                Connection connection;
+                while ((connection = pendingWrites.poll()) != null) {
+                    if (connection.key.isValid()) {
+                        connection.key.interestOps(connection.key.interestOps() | SelectionKey.OP_WRITE);
+                    }
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                        continue;
+                    }
+                    Connection owner = (Connection) key.attachment();
+                    try {
+                        if (key.isReadable()) {
+                            owner.read();
+                        }
+                        if (key.isValid() && key.isWritable()) {
+                            owner.write();
+                        }
+                    } catch (IOException | RuntimeException e) {
+                        // a failing client only takes down its own connection
+                        if (e instanceof RuntimeException) {
+                            logger.warn("Closing connection after error: " + e);
+                        }
+                        owner.close();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.error("Game server stopped: " + e.getMessage());
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    /**
+     * Stops the selector loop and closes every connection.
+     */
+    @Override
+    public void close() {
+        running = false;
+        selector.wakeup();
+        tableRunners.shutdownNow();
+    }
+
+    /**
+     * Accepts a pending connection and seats it once enough players wait.
+     *
+     * @throws IOException if the connection cannot be set up
+     */
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel == null) {
+            return;
+        }
+        channel.configureBlocking(false);
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        Connection connection = new Connection(channel);
+        connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+        waiting.add(connection);
+        if (waiting.size() == seatsPerTable) {
+            startTable(new ArrayList<>(waiting));
+            waiting.clear();
+        }
+    }
+
+    /**
+     * Builds a table for the given connections plus the configured bots and
+     * starts playing it on a worker thread.
+     *
+     * @param connections the remote players to seat
+     */
+    private void startTable(List<Connection> connections) {
+        int tableId = nextTableId++;
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < connections.size(); i++) {
+            players.add(new Player(500, "Seat " + (i + 1)));
+        }
+        for (int i = 0; i < botsPerTable; i++) {
+            players.add(new Player(500, "Bot " + (i + 1)));
+        }
+        players.get(0).setDealer(true);
+
+        Table table = Table.newBuilder().createDeck().build();
+        table.setPlayers(players);
+        table.setHeadless(true);
+        table.setActionTimeout(actionTimeoutMillis);
+        List<Player> seating = new ArrayList<>(players);
+        for (int i = 0; i < connections.size(); i++) {
+            Connection connection = connections.get(i);
+            table.setPlayerInput(players.get(i), new RemoteInput(connection, table));
+            connection.send(WireProtocol.seated(tableId, i, players.size()));
+            table.getStatePublisher().subscribe(connection);
+        }
+
+        Game game = new Game();
+        game.setTable(table);
+        activeTables.incrementAndGet();
+        tableRunners.execute(() -> runTable(tableId, game, seating, connections));
+    }
+
+    /**
+     * Plays a table until one player is left, then tells its clients who won.
+     * Between hands the seats of clients that disconnected are forfeited and
+     * taken off the table, and the table stops once no client is left to
+     * play it.
+     *
+     * @param tableId     the id of the table
+     * @param game        the game played at the table
+     * @param seating     the players in their original seat order
+     * @param connections the remote players at the table
+     */
+    private void runTable(int tableId, Game game, List<Player> seating, List<Connection> connections) {
+        int winnerSeat = -1;
+        Table table = game.getTable();
+        try {
+            boolean connected = true;
+            while (!game.isGameOver() && connected) {
+                game.playHand();
+                connected = removeDisconnected(table, seating, connections);
+            }
+            if (table.getPlayers().size() == 1) {
+                winnerSeat = seating.indexOf(table.getPlayers().get(0));
+                logger.info("Table " + tableId + " finished, seat " + winnerSeat + " won");
+            } else {
+                logger.info("Table " + tableId + " closed, no remote players left");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            logger.error("Table " + tableId + " stopped: " + e);
+        }
+        for (Connection connection : connections) {
+            // Set first, so a write that drains the frame right away also closes
+            connection.closeAfterFlush = true;
+            connection.send(WireProtocol.gameOver(winnerSeat));
+        }
+        activeTables.decrementAndGet();
+    }
+
+    /**
+     * Takes the seats of disconnected clients off a table, forfeiting their
+     * chips. Called between hands on the table's thread.
+     *
+     * @param table       the table
+     * @param seating     the players in their original seat order, remote
+     *                    players first
+     * @param connections the remote players at the table
+     * @return true if at least one remote player is still connected
+     */
+    private boolean removeDisconnected(Table table, List<Player> seating, List<Connection> connections) {
+        boolean connected = false;
+        for (int i = 0; i < connections.size(); i++) {
+            if (connections.get(i).closed) {
+                table.getStatePublisher().unsubscribe(connections.get(i));
+                table.removePlayer(seating.get(i));
+            } else if (seating.get(i).getSeat() >= 0) {
+                connected = true;
+            }
+        }
+        return connected;
+    }
+
+    /**
+     * Closes the selector, the server socket and every client channel.
+     */
+    private void closeQuietly() {
+        try {
+            for (SelectionKey key : selector.keys()) {
+                key.channel().close();
+            }
+            selector.close();
+        } catch (IOException e) {
+            logger.error("Error closing game server: " + e.getMessage());
+        }
+    }
+
+    /**
+     * One client connection. Reads happen on the selector thread; frames can be
+     * queued for sending from any thread. As an observer of its table's state
+     * it forwards every change to the client.
+     */
+    private class Connection implements TableStateObserver {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(READ_BUFFER_BYTES);
+        private final Queue<ByteBuffer> outbox = new ConcurrentLinkedQueue<>();
+        private SelectionKey key;
+        private volatile RemoteInput input;
+        private volatile boolean closed;
+        private volatile boolean closeAfterFlush;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Queues a frame and asks the selector thread to write it.
+         *
+         * @param frame the frame to send
+         */
+        void send(ByteBuffer frame) {
+            if (closed) {
+                return;
+            }
+            outbox.add(frame);
+            pendingWrites.add(this);
+            selector.wakeup();
+        }
+
+        /**
+         * Sends a change to the table's public state.
+         *
+         * @param frame the encoded keyframe or delta
+         */
+        @Override
+        public void onFrame(ByteBuffer frame) {
+            send(WireProtocol.tableUpdate(frame));
+        }
+
+        /**
+         * Reads available bytes and handles every complete frame.
+         *
+         * @throws IOException if the channel fails
+         */
+        void read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                close();
+                return;
+            }
+            readBuffer.flip();
+            int length;
+            while ((length = WireProtocol.completeFrameLength(readBuffer)) != -1) {
+                if (length < WireProtocol.HEADER_BYTES) {
+                    // A frame without a type byte is never valid
+                    close();
+                    return;
+                }
+                int start = readBuffer.position();
+                byte type = readBuffer.get(start + 2);
+                if (type == WireProtocol.ACTION && length == WireProtocol.HEADER_BYTES + 4 && input != null) {
+                    input.submit(readBuffer.getInt(start + WireProtocol.HEADER_BYTES));
+                }
+                readBuffer.position(start + length);
+            }
+            readBuffer.compact();
+            if (!readBuffer.hasRemaining()) {
+                // A frame larger than the buffer is never valid from a client
+                close();
+            }
+        }
+
+        /**
+         * Writes queued frames until the socket would block.
+         *
+         * @throws IOException if the channel fails
+         */
+        void write() throws IOException {
+            ByteBuffer frame;
+            while ((frame = outbox.peek()) != null) {
+                channel.write(frame);
+                if (frame.hasRemaining()) {
+                    return;
+                }
+                outbox.poll();
+            }
+            key.interestOps(key.interestOps() & ~SelectionKey.OP_WRITE);
+            if (closeAfterFlush) {
+                close();
+            }
+        }
+
+        /**
+         * Closes the channel. A seated player left behind folds for the rest
+         * of the hand and is taken off the table once it ends.
+         */
+        void close() {
+            closed = true;
+            waiting.remove(this);
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                logger.error("Error closing connection: " + e.getMessage());
+            }
+            RemoteInput seatInput = input;
+            if (seatInput != null) {
+                seatInput.submit(-1);
+            }
+        }
+    }
+
+    /**
+     * Connects a remote player's seat to the table. Prompts are sent to the
+     * client as a state frame followed by an action request.
+     */
+    private static class RemoteInput extends QueuedPlayerInput {
+        private final Connection connection;
+        private final Table table;
+
+        RemoteInput(Connection connection, Table table) {
+            this.connection = connection;
+            this.table = table;
+            connection.input = this;
+        }
+
+        @Override
+        public void prompt(Player player, int amountToCall, String message) {
+            super.prompt(player, amountToCall, message);
+            connection.send(WireProtocol.state(table, player, player));
+            connection.send(WireProtocol.actionRequest(amountToCall));
+        }
+
+        @Override
+        public Integer nextAmount(long timeoutMillis) throws InterruptedException {
+            if (connection.closed) {
+                return -1;
+            }
+            return super.nextAmount(timeoutMillis);
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package org.example;
+
+import java.util.Locale;
+
+/**
+ * Enumerates the poker variants the engine can deal. A variant fixes the deck,
+ * the number of hole cards and how a hand is made from the hole cards and the
+ * board; each has its own evaluator working on card masks, so every variant
+ * is dealt and scored at the same speed as Texas Hold'em. Strengths returned
+ * by {@link #evaluate(long, long)} compare as plain integers within a variant.
+ */
+public enum GameVariant {
+    /** Texas Hold'em: a full deck, two hole cards, any five of seven. */
+    HOLDEM("Texas Hold'em", 2, 0),
+    /** Short Deck Hold'em: sixes to aces, two hole cards, see {@link ShortDeckEvaluator}. */
+    SHORT_DECK("Short Deck Hold'em", 2, ShortDeckEvaluator.LOWEST_RANK),
+    /** Omaha: a full deck, four hole cards, exactly two of them with three of the board. */
+    OMAHA("Omaha", 4, 0);
+
+    private final String displayName;
+    private final int holeCards;
+    private final int lowestRank;
+    private final long[] cardMasks;
+    private final long deckMask;
+
+    GameVariant(String displayName, int holeCards, int lowestRank) {
+        this.displayName = displayName;
+        this.holeCards = holeCards;
+        this.lowestRank = lowestRank;
+        int ranks = 13 - lowestRank;
+        this.cardMasks = new long[4 * ranks];
+        long mask = 0;
+        for (int suit = 0; suit < 4; suit++) {
+            for (int rank = lowestRank; rank < 13; rank++) {
+                cardMasks[suit * ranks + rank - lowestRank] = HandEvaluator.cardMask(suit * 13 + rank);
+                mask |= cardMasks[suit * ranks + rank - lowestRank];
+            }
+        }
+        this.deckMask = mask;
+    }
+
+    /**
+     * Finds a variant by name, ignoring case, spaces, dashes and underscores,
+     * so "holdem", "short-deck" and "Omaha" are all accepted.
+     *
+     * @param name the variant's name
+     * @return the variant
+     * @throws IllegalArgumentException if no variant has the name
+     */
+    public static GameVariant fromName(String name) {
+        String key = name.replaceAll("[\\s_'-]", "").toLowerCase(Locale.ROOT);
+        for (GameVariant variant : values()) {
+            if (variant.name().replace("_", "").toLowerCase(Locale.ROOT).equals(key)
+                    || variant.displayName.replaceAll("[\\s_'-]", "").toLowerCase(Locale.ROOT).equals(key)) {
+                return variant;
+            }
+        }
+        throw new IllegalArgumentException("Unknown variant " + name + ", expected holdem, shortdeck or omaha");
+    }
+
+    /**
+     * Returns the variant's name for display.
+     *
+     * @return the display name
+     */
+    public String getDisplayName() {
+        return displayName;
+    }
+
+    /**
+     * Returns the number of cards dealt to each player.
+     *
+     * @return the hole card count
+     */
+    public int getHoleCards() {
+        return holeCards;
+    }
+
+    /**
+     * Returns the lowest rank in the deck.
+     *
+     * @return the rank index, from 0 for a two
+     */
+    public int getLowestRank() {
+        return lowestRank;
+    }
+
+    /**
+     * Returns the number of cards in the deck.
+     *
+     * @return the deck size
+     */
+    public int getDeckSize() {
+        return cardMasks.length;
+    }
+
+    /**
+     * Returns every card of the deck as one mask.
+     *
+     * @return the deck's mask
+     */
+    public long getDeckMask() {
+        return deckMask;
+    }
+
+    /**
+     * Returns the mask bit of the card at a position in the deck, in suit then
+     * rank order, so a random position draws a random card of the deck.
+     *
+     * @param position a number from 0 to {@link #getDeckSize()} - 1
+     * @return the card's mask bit
+     */
+    public long cardMask(int position) {
+        return cardMasks[position];
+    }
+
+    /**
+     * Returns whether a hand must use exactly two hole cards.
+     *
+     * @return true for Omaha
+     */
+    public boolean usesExactlyTwo() {
+        return this == OMAHA;
+    }
+
+    /**
+     * Evaluates a player's hand under the variant's rules.
+     *
+     * @param hole  the hole cards as a mask, see {@link HandEvaluator#mask}
+     * @param board the board as a mask
+     * @return the strength; higher is better
+     */
+    public int evaluate(long hole, long board) {
+        return switch (this) {
+            case HOLDEM -> HandEvaluator.evaluate(hole | board);
+            case SHORT_DECK -> ShortDeckEvaluator.evaluate(hole | board);
+            case OMAHA -> OmahaEvaluator.evaluate(hole, board);
+        };
+    }
+
+    /**
+     * Extracts the category of a strength returned by
+     * {@link #evaluate(long, long)}.
+     *
+     * @param strength a hand strength
+     * @return the category, from {@link HandEvaluator#HIGH_CARD} to
+     *         {@link HandEvaluator#STRAIGHT_FLUSH}
+     */
+    public int category(int strength) {
+        return this == SHORT_DECK ? ShortDeckEvaluator.category(strength) : HandEvaluator.category(strength);
+    }
+}
@@ -0,0 +1,284 @@
+package org.example;
+
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A bounded, thread-safe cache of hand strengths in front of
+ * {@link HandEvaluator}. Hands are stored by their canonical mask: the four
+ * suit fields are sorted, so hands that differ only by a renaming of suits
+ * share one entry. Entries live in primitive arrays split into small
+ * set-associative buckets; a full bucket evicts with the clock algorithm,
+ * giving every recently read entry a second chance. The arrays are divided
+ * into segments, each guarded by a {@link StampedLock} so lookups normally run
+ * without taking a lock.
+ */
+public class HandCache {
+
+    /** The number of entries in one bucket. */
+    public static final int WAYS = 8;
+    /** The memory used per entry: an 8-byte key, a 4-byte strength and a reference byte. */
+    public static final int BYTES_PER_ENTRY = 13;
+
+    private static final long DEFAULT_MAX_BYTES = 16L << 20;
+    private static final int SEGMENTS = 64;
+    private static HandCache shared;
+
+    private final long[] keys;
+    private final int[] strengths;
+    private final byte[] referenced;
+    private final byte[] clockHands;
+    private final int bucketMask;
+    private final StampedLock[] locks = new StampedLock[SEGMENTS];
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Constructs a cache that uses at most the given amount of memory for its
+     * entries.
+     *
+     * @param maxBytes the memory cap in bytes; at least one bucket is always
+     *                 allocated
+     */
+    public HandCache(long maxBytes) {
+        long maxBuckets = Math.max(1, maxBytes / (WAYS * BYTES_PER_ENTRY));
+        int buckets = Integer.highestOneBit((int) Math.min(maxBuckets, 1 << 26));
+        this.bucketMask = buckets - 1;
+        this.keys = new long[buckets * WAYS];
+        this.strengths = new int[buckets * WAYS];
+        this.referenced = new byte[buckets * WAYS];
+        this.clockHands = new byte[buckets];
+        for (int i = 0; i < SEGMENTS; i++) {
+            locks[i] = new StampedLock();
+        }
+    }
+
+    /**
+     * Returns the cache shared by all tables in this process. Its size is read
+     * once from the {@code holdem.handcache.bytes} system property and
+     * defaults to 16 MB.
+     *
+     * @return the shared cache
+     */
+    public static synchronized HandCache shared() {
+        if (shared == null) {
+            shared = new HandCache(Long.getLong("holdem.handcache.bytes", DEFAULT_MAX_BYTES));
+        }
+        return shared;
+    }
+
+    /**
+     * Rewrites a hand mask so that all suit-isomorphic hands map to the same
+     * value, by sorting its four suit fields in descending order.
+     *
+     * @param mask a hand mask
+     * @return the canonical mask
+     */
+    public static long canonicalize(long mask) {
+        long a = mask & 0xFFFF;
+        long b = mask >>> 16 & 0xFFFF;
+        long c = mask >>> 32 & 0xFFFF;
+        long d = mask >>> 48;
+        long t;
+        if (a < b) { t = a; a = b; b = t; }
+        if (c < d) { t = c; c = d; d = t; }
+        if (a < c) { t = a; a = c; c = t; }
+        if (b < d) { t = b; b = d; d = t; }
+        if (b < c) { t = b; b = c; c = t; }
+        return a | b << 16 | c << 32 | d << 48;
+    }
+
+    /**
+     * Returns the strength of a hand, evaluating and storing it if it is not
+     * cached yet.
+     *
+     * @param mask a hand mask
+     * @return the strength, as {@link HandEvaluator#evaluate(long)} returns it
+     */
+    public int evaluate(long mask) {
+        long key = canonicalize(mask);
+        if (key == 0) {
+            return HandEvaluator.evaluate(0);
+        }
+        int bucket = bucketOf(key);
+        int base = bucket * WAYS;
+        StampedLock lock = locks[bucket & (SEGMENTS - 1)];
+
+        long stamp = lock.tryOptimisticRead();
+        int found = find(key, base);
+        int strength = found >= 0 ? strengths[found] : 0;
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                found = find(key, base);
+                strength = found >= 0 ? strengths[found] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        if (found >= 0) {
+            referenced[found] = 1;
+            hits.increment();
+            return strength;
+        }
+
+        misses.increment();
+        strength = HandEvaluator.evaluate(key);
+        stamp = lock.writeLock();
+        try {
+            if (find(key, base) < 0) {
+                int slot = victim(bucket, base);
+                keys[slot] = key;
+                strengths[slot] = strength;
+                referenced[slot] = 0;
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return strength;
+    }
+
+    /**
+     * Evaluates a block of hands through the cache.
+     *
+     * @param handMasks   the hand masks
+     * @param outStrength receives the strength of each hand, same positions
+     * @param count       the number of hands to evaluate
+     */
+    public void evaluateBatch(long[] handMasks, int[] outStrength, int count) {
+        for (int i = 0; i < count; i++) {
+            outStrength[i] = evaluate(handMasks[i]);
+        }
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to evaluate the hand.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of entries evicted to make room.
+     *
+     * @return the eviction count
+     */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Returns the share of lookups answered from the cache.
+     *
+     * @return the hit rate between 0 and 1
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    /**
+     * Returns the number of entries the cache can hold.
+     *
+     * @return the capacity
+     */
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the memory used by the entry arrays.
+     *
+     * @return the size in bytes
+     */
+    public long getMemoryBytes() {
+        return (long) keys.length * BYTES_PER_ENTRY + clockHands.length;
+    }
+
+    /**
+     * Removes every entry and resets the counters.
+     */
+    public void clear() {
+        for (int segment = 0; segment < SEGMENTS; segment++) {
+            long stamp = locks[segment].writeLock();
+            try {
+                for (int bucket = segment; bucket <= bucketMask; bucket += SEGMENTS) {
+                    for (int slot = bucket * WAYS; slot < (bucket + 1) * WAYS; slot++) {
+                        keys[slot] = 0;
+                        referenced[slot] = 0;
+                    }
+                }
+            } finally {
+                locks[segment].unlockWrite(stamp);
+            }
+        }
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    /**
+     * Hashes a canonical key to a bucket.
+     *
+     * @param key the canonical mask
+     * @return the bucket index
+     */
+    private int bucketOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash >>> 32) & bucketMask;
+    }
+
+    /**
+     * Looks for a key in a bucket.
+     *
+     * @param key  the canonical mask
+     * @param base the first slot of the bucket
+     * @return the slot holding the key, or -1
+     */
+    private int find(long key, int base) {
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Picks the slot to fill in a bucket: an empty slot if there is one,
+     * otherwise the first entry the clock hand finds without its reference
+     * bit, clearing reference bits as it passes. Called under the write lock.
+     *
+     * @param bucket the bucket index
+     * @param base   the first slot of the bucket
+     * @return the slot to overwrite
+     */
+    private int victim(int bucket, int base) {
+        for (int slot = base; slot < base + WAYS; slot++) {
+            if (keys[slot] == 0) {
+                return slot;
+            }
+        }
+        int hand = clockHands[bucket];
+        while (referenced[base + hand] != 0) {
+            referenced[base + hand] = 0;
+            hand = (hand + 1) % WAYS;
+        }
+        clockHands[bucket] = (byte) ((hand + 1) % WAYS);
+        evictions.increment();
+        return base + hand;
+    }
+}
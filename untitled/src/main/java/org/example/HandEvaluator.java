@@ -0,0 +1,189 @@
+package org.example;
+
+import java.util.List;
+
+/**
+ * Evaluates poker hands of up to seven cards held as 64-bit masks (see
+ * {@link Card#getMask()}). The result is a strength where a higher number is a
+ * better hand: the category sits in the top bits and the ranks that break
+ * ties below it, so two hands are compared with a plain integer comparison.
+ * Evaluation uses bit operations on the four suit fields and lookups in
+ * {@link EvaluatorTables} for straights and kickers, and allocates nothing.
+ */
+public final class HandEvaluator {
+
+    /** Category of a hand with nothing better than its highest card. */
+    public static final int HIGH_CARD = 0;
+    /** Category of a hand with one pair. */
+    public static final int PAIR = 1;
+    /** Category of a hand with two pairs. */
+    public static final int TWO_PAIR = 2;
+    /** Category of a hand with three of a kind. */
+    public static final int THREE_OF_A_KIND = 3;
+    /** Category of a hand with five ranks in a row. */
+    public static final int STRAIGHT = 4;
+    /** Category of a hand with five cards of one suit. */
+    public static final int FLUSH = 5;
+    /** Category of a hand with three of a kind and a pair. */
+    public static final int FULL_HOUSE = 6;
+    /** Category of a hand with four of a kind. */
+    public static final int FOUR_OF_A_KIND = 7;
+    /** Category of a straight in one suit. */
+    public static final int STRAIGHT_FLUSH = 8;
+
+    private static final int RANK_BITS = 0x1FFF;
+    static final int CATEGORY_SHIFT = 26;
+    private static final int PRIMARY_SHIFT = 13;
+    private static final long[] CARD_MASKS = new long[52];
+    private static final char[] STRAIGHT_HIGH = EvaluatorTables.STRAIGHT_HIGH;
+    private static final char[][] TOP_RANKS = EvaluatorTables.TOP_RANKS;
+
+    static {
+        for (int index = 0; index < 52; index++) {
+            CARD_MASKS[index] = 1L << (index / 13 * 16 + index % 13);
+        }
+    }
+
+    private HandEvaluator() {
+    }
+
+    /**
+     * Combines cards into a hand mask.
+     *
+     * @param cards the cards
+     * @return the OR of the cards' masks
+     */
+    public static long mask(List<Card> cards) {
+        long mask = 0;
+        for (Card card : cards) {
+            mask |= card.getMask();
+        }
+        return mask;
+    }
+
+    /**
+     * Returns the mask bit of a card given by its index, without creating the
+     * card.
+     *
+     * @param cardIndex a card index, see {@link Card#getIndex()}
+     * @return the card's mask bit
+     */
+    public static long cardMask(int cardIndex) {
+        return CARD_MASKS[cardIndex];
+    }
+
+    /**
+     * Evaluates a hand.
+     *
+     * @param mask a hand mask of up to seven cards
+     * @return the strength of the best five-card hand; higher is better
+     */
+    public static int evaluate(long mask) {
+        int hearts = (int) mask & RANK_BITS;
+        int clubs = (int) (mask >>> 16) & RANK_BITS;
+        int diamonds = (int) (mask >>> 32) & RANK_BITS;
+        int spades = (int) (mask >>> 48) & RANK_BITS;
+        int ranks = hearts | clubs | diamonds | spades;
+
+        int flushSuit = Integer.bitCount(hearts) >= 5 ? hearts
+                : Integer.bitCount(clubs) >= 5 ? clubs
+                : Integer.bitCount(diamonds) >= 5 ? diamonds
+                : Integer.bitCount(spades) >= 5 ? spades : 0;
+        if (flushSuit != 0) {
+            int straightFlush = STRAIGHT_HIGH[flushSuit];
+            if (straightFlush != 0) {
+                return strength(STRAIGHT_FLUSH, straightFlush, 0);
+            }
+        }
+
+        int quads = hearts & clubs & diamonds & spades;
+        int threeOrMore = (hearts & clubs & diamonds) | (hearts & clubs & spades)
+                | (hearts & diamonds & spades) | (clubs & diamonds & spades);
+        int twoOrMore = (hearts & clubs) | (hearts & diamonds) | (hearts & spades)
+                | (clubs & diamonds) | (clubs & spades) | (diamonds & spades);
+        int trips = threeOrMore & ~quads;
+        int pairs = twoOrMore & ~threeOrMore;
+
+        if (quads != 0) {
+            int quad = Integer.highestOneBit(quads);
+            return strength(FOUR_OF_A_KIND, quad, Integer.highestOneBit(ranks & ~quad));
+        }
+        if (trips != 0) {
+            int trip = Integer.highestOneBit(trips);
+            int pairedWith = (trips & ~trip) | pairs;
+            if (pairedWith != 0) {
+                return strength(FULL_HOUSE, trip, Integer.highestOneBit(pairedWith));
+            }
+        }
+        if (flushSuit != 0) {
+            return strength(FLUSH, TOP_RANKS[5][flushSuit], 0);
+        }
+        int straight = STRAIGHT_HIGH[ranks];
+        if (straight != 0) {
+            return strength(STRAIGHT, straight, 0);
+        }
+        if (trips != 0) {
+            int trip = Integer.highestOneBit(trips);
+            return strength(THREE_OF_A_KIND, trip, TOP_RANKS[2][ranks & ~trip]);
+        }
+        if (Integer.bitCount(pairs) >= 2) {
+            int twoPairs = TOP_RANKS[2][pairs];
+            return strength(TWO_PAIR, twoPairs, Integer.highestOneBit(ranks & ~twoPairs));
+        }
+        if (pairs != 0) {
+            return strength(PAIR, pairs, TOP_RANKS[3][ranks & ~pairs]);
+        }
+        return strength(HIGH_CARD, TOP_RANKS[5][ranks], 0);
+    }
+
+    /**
+     * Evaluates many hands in one call. The masks and results are plain
+     * parallel arrays, so callers can fill a block of hands, evaluate it, and
+     * compare the results without any per-hand objects or calls through
+     * {@link Player}.
+     *
+     * @param handMasks   the hand masks
+     * @param outStrength receives the strength of each hand, same positions
+     */
+    public static void evaluateBatch(long[] handMasks, int[] outStrength) {
+        evaluateBatch(handMasks, outStrength, handMasks.length);
+    }
+
+    /**
+     * Evaluates the first {@code count} hands of a block.
+     *
+     * @param handMasks   the hand masks
+     * @param outStrength receives the strength of each hand, same positions
+     * @param count       the number of hands to evaluate
+     */
+    public static void evaluateBatch(long[] handMasks, int[] outStrength, int count) {
+        if (count > handMasks.length || count > outStrength.length) {
+            throw new IllegalArgumentException("Batch of " + count + " does not fit the arrays");
+        }
+        for (int i = 0; i < count; i++) {
+            outStrength[i] = evaluate(handMasks[i]);
+        }
+    }
+
+    /**
+     * Extracts the category of a strength returned by {@link #evaluate(long)}.
+     *
+     * @param strength a hand strength
+     * @return the category, from {@link #HIGH_CARD} to {@link #STRAIGHT_FLUSH}
+     */
+    public static int category(int strength) {
+        return strength >>> CATEGORY_SHIFT;
+    }
+
+    /**
+     * Packs a category and its tie-breaking ranks into a strength.
+     *
+     * @param category  the hand category
+     * @param primary   the ranks that make the category
+     * @param secondary the kickers
+     * @return the strength
+     */
+    static int strength(int category, int primary, int secondary) {
+        return category << CATEGORY_SHIFT | primary << PRIMARY_SHIFT | secondary;
+    }
+}
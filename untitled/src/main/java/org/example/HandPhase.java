@@ -0,0 +1,13 @@
+package org.example;
+
+/**
+ * Enumerates the timed phases of a hand, used to label instrumentation.
+ */
+public enum HandPhase {
+    /** Dealing hole cards or table cards. */
+    DEAL,
+    /** Running a betting round. */
+    BETTING,
+    /** Awarding the pot to the winner. */
+    AWARD
+}
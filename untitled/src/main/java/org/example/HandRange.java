@@ -0,0 +1,384 @@
+package org.example;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * A weighted set of the 1326 two-card starting hands a player might hold.
+ * Each combo is identified by the pair of its card indices (see
+ * {@link Card#getIndex()}), and its weight is how likely the player is to hold
+ * it, from 0 to 1. Ranges can be written in the usual shorthand, for example
+ * {@code "QQ+, AKs, A5s-A2s, KQo:0.5"}.
+ */
+public class HandRange {
+
+    /** The number of distinct two-card combos. */
+    public static final int COMBOS = 1326;
+
+    private static final String RANK_CHARS = "23456789TJQKA";
+    private static final String SUIT_CHARS = "hcds";
+    private static final int[] FIRST_CARD = new int[COMBOS];
+    private static final int[] SECOND_CARD = new int[COMBOS];
+    private static final long[] COMBO_MASKS = new long[COMBOS];
+
+    static {
+        for (int second = 1; second < 52; second++) {
+            for (int first = 0; first < second; first++) {
+                int combo = comboIndex(first, second);
+                FIRST_CARD[combo] = first;
+                SECOND_CARD[combo] = second;
+                COMBO_MASKS[combo] = HandEvaluator.cardMask(first) | HandEvaluator.cardMask(second);
+            }
+        }
+    }
+
+    private final double[] weights = new double[COMBOS];
+
+    /**
+     * Parses a range written in shorthand. Entries are separated by commas and
+     * may be pairs ({@code "TT"}, {@code "TT+"}, {@code "TT-77"}), suited or
+     * offsuit hands ({@code "AKs"}, {@code "AJo+"}, {@code "A5s-A2s"}), both
+     * ({@code "KQ"}), or exact combos ({@code "AsKh"}). An entry may end in
+     * {@code ":weight"} to include it only partly.
+     *
+     * @param notation the range
+     * @return the parsed range
+     * @throws IllegalArgumentException if an entry cannot be read
+     */
+    public static HandRange parse(String notation) {
+        HandRange range = new HandRange();
+        for (String entry : notation.split(",")) {
+            String token = entry.trim();
+            if (!token.isEmpty()) {
+                range.addEntry(token);
+            }
+        }
+        return range;
+    }
+
+    /**
+     * Returns the combo index of two cards.
+     *
+     * @param card1 the index of one card
+     * @param card2 the index of the other card
+     * @return a number between 0 and 1325
+     */
+    public static int comboIndex(int card1, int card2) {
+        int low = Math.min(card1, card2);
+        int high = Math.max(card1, card2);
+        return high * (high - 1) / 2 + low;
+    }
+
+    /**
+     * Returns the hand mask of a combo, see {@link HandEvaluator}.
+     *
+     * @param combo the combo index
+     * @return the mask of the combo's two cards
+     */
+    public static long comboMask(int combo) {
+        return COMBO_MASKS[combo];
+    }
+
+    /**
+     * Returns the cards of a combo.
+     *
+     * @param combo the combo index
+     * @return the two cards
+     */
+    public static List<Card> comboCards(int combo) {
+        return List.of(Card.fromIndex(FIRST_CARD[combo]), Card.fromIndex(SECOND_CARD[combo]));
+    }
+
+    /**
+     * Returns the weight of a combo.
+     *
+     * @param combo the combo index
+     * @return the weight between 0 and 1
+     */
+    public double getWeight(int combo) {
+        return weights[combo];
+    }
+
+    /**
+     * Sets the weight of a combo.
+     *
+     * @param combo  the combo index
+     * @param weight the weight between 0 and 1
+     */
+    public void setWeight(int combo, double weight) {
+        weights[combo] = weight;
+    }
+
+    /**
+     * Returns the number of combos in the range, counting partial combos by
+     * their weight.
+     *
+     * @return the weighted combo count
+     */
+    public double comboCount() {
+        double count = 0;
+        for (double weight : weights) {
+            count += weight;
+        }
+        return count;
+    }
+
+    /**
+     * Computes how often a hand from this range beats a hand from another range
+     * on the given board, with ties counting as half. Combos that share a card
+     * with the board or with each other are never matched. On the turn and
+     * river every runout is enumerated; earlier, runouts are sampled.
+     *
+     * @param villain  the opposing range
+     * @param board    the community cards dealt so far, up to five
+     * @param runouts  the number of runouts to sample before the turn
+     * @param random   the generator used to sample runouts
+     * @return the equity of this range between 0 and 1
+     * @throws IllegalArgumentException if no combos of the two ranges can meet
+     */
+    public double equityAgainst(HandRange villain, List<Card> board, int runouts, RandomGenerator random) {
+        long boardMask = HandEvaluator.mask(board);
+        int missing = 5 - board.size();
+        int[] deck = new int[52 - board.size()];
+        int deckSize = 0;
+        for (int card = 0; card < 52; card++) {
+            if ((HandEvaluator.cardMask(card) & boardMask) == 0) {
+                deck[deckSize++] = card;
+            }
+        }
+
+        LiveCombos hero = new LiveCombos(this, boardMask);
+        LiveCombos opponent = new LiveCombos(villain, boardMask);
+        double[] totals = new double[2];
+        if (missing == 0) {
+            showdown(hero, opponent, boardMask, totals);
+        } else if (missing == 1) {
+            for (int i = 0; i < deckSize; i++) {
+                showdown(hero, opponent, boardMask | HandEvaluator.cardMask(deck[i]), totals);
+            }
+        } else {
+            for (int run = 0; run < runouts; run++) {
+                long runout = boardMask;
+                for (int i = 0; i < missing; i++) {
+                    int pick = i + random.nextInt(deckSize - i);
+                    int card = deck[pick];
+                    deck[pick] = deck[i];
+                    deck[i] = card;
+                    runout |= HandEvaluator.cardMask(card);
+                }
+                showdown(hero, opponent, runout, totals);
+            }
+        }
+        if (totals[1] == 0) {
+            throw new IllegalArgumentException("The ranges have no combos that can meet on this board");
+        }
+        return totals[0] / totals[1];
+    }
+
+    /**
+     * Evaluates every live combo of both ranges on one complete board and adds
+     * the weighted wins and matchups to the totals.
+     *
+     * @param hero     the live combos of this range
+     * @param opponent the live combos of the opposing range
+     * @param board    the mask of the five board cards
+     * @param totals   the equity won so far and the weight of all matchups
+     */
+    private static void showdown(LiveCombos hero, LiveCombos opponent, long board, double[] totals) {
+        hero.evaluate(board);
+        opponent.evaluate(board);
+        long[] opponentMasks = opponent.masks;
+        double[] opponentWeights = opponent.weights;
+        int[] opponentStrengths = opponent.strengths;
+        double won = 0;
+        double matched = 0;
+        for (int i = 0; i < hero.size; i++) {
+            int heroStrength = hero.strengths[i];
+            if (heroStrength < 0) {
+                continue;
+            }
+            long heroMask = hero.masks[i];
+            double heroWeight = hero.weights[i];
+            for (int j = 0; j < opponent.size; j++) {
+                if ((heroMask & opponentMasks[j]) != 0 || opponentStrengths[j] < 0) {
+                    continue;
+                }
+                double weight = heroWeight * opponentWeights[j];
+                matched += weight;
+                if (heroStrength > opponentStrengths[j]) {
+                    won += weight;
+                } else if (heroStrength == opponentStrengths[j]) {
+                    won += weight / 2;
+                }
+            }
+        }
+        totals[0] += won;
+        totals[1] += matched;
+    }
+
+    /**
+     * Adds one shorthand entry to the range.
+     *
+     * @param token the entry, optionally followed by a weight
+     */
+    private void addEntry(String token) {
+        double weight = 1;
+        int colon = token.indexOf(':');
+        if (colon >= 0) {
+            weight = Double.parseDouble(token.substring(colon + 1).trim());
+            token = token.substring(0, colon).trim();
+        }
+        if (token.length() == 4 && SUIT_CHARS.indexOf(token.charAt(1)) >= 0) {
+            int first = cardIndex(token.charAt(0), token.charAt(1));
+            int second = cardIndex(token.charAt(2), token.charAt(3));
+            if (first == second) {
+                throw new IllegalArgumentException("Invalid range entry: " + token);
+            }
+            weights[comboIndex(first, second)] = weight;
+            return;
+        }
+
+        int dash = token.indexOf('-');
+        String start = dash >= 0 ? token.substring(0, dash) : token;
+        boolean plus = start.endsWith("+");
+        if (plus) {
+            start = start.substring(0, start.length() - 1);
+        }
+        int high = rankOf(start, 0, token);
+        int low = rankOf(start, 1, token);
+        char kind = start.length() > 2 ? start.charAt(2) : ' ';
+        if (start.length() > 3 || (kind != ' ' && kind != 's' && kind != 'o') || (high == low && kind != ' ')) {
+            throw new IllegalArgumentException("Invalid range entry: " + token);
+        }
+
+        if (high == low) {
+            int top = plus ? 12 : high;
+            int bottom = high;
+            if (dash >= 0) {
+                String end = token.substring(dash + 1);
+                int other = rankOf(end, 0, token);
+                if (end.length() != 2 || rankOf(end, 1, token) != other) {
+                    throw new IllegalArgumentException("Invalid range entry: " + token);
+                }
+                top = Math.max(high, other);
+                bottom = Math.min(high, other);
+            }
+            for (int rank = bottom; rank <= top; rank++) {
+                addHands(rank, rank, ' ', weight);
+            }
+            return;
+        }
+
+        if (high < low) {
+            int swap = high;
+            high = low;
+            low = swap;
+        }
+        int top = plus ? high - 1 : low;
+        int bottom = low;
+        if (dash >= 0) {
+            String end = token.substring(dash + 1);
+            if (rankOf(end, 0, token) != high || !end.substring(2).equals(start.substring(2))) {
+                throw new IllegalArgumentException("Invalid range entry: " + token);
+            }
+            int other = rankOf(end, 1, token);
+            top = Math.max(low, other);
+            bottom = Math.min(low, other);
+        }
+        for (int kicker = bottom; kicker <= top; kicker++) {
+            addHands(high, kicker, kind, weight);
+        }
+    }
+
+    /**
+     * Sets the weight of every combo of a starting hand.
+     *
+     * @param high   the rank index of the higher card
+     * @param low    the rank index of the lower card
+     * @param kind   's' for suited, 'o' for offsuit, or ' ' for both
+     * @param weight the weight to set
+     */
+    private void addHands(int high, int low, char kind, double weight) {
+        for (int suit1 = 0; suit1 < 4; suit1++) {
+            for (int suit2 = 0; suit2 < 4; suit2++) {
+                boolean suited = suit1 == suit2;
+                if ((high == low && suit2 <= suit1) || (kind == 's' && !suited) || (kind == 'o' && suited)) {
+                    continue;
+                }
+                weights[comboIndex(suit1 * 13 + high, suit2 * 13 + low)] = weight;
+            }
+        }
+    }
+
+    /**
+     * Reads a rank character from a range entry.
+     *
+     * @param text     the text holding the rank
+     * @param position the position of the rank character
+     * @param token    the whole entry, for the error message
+     * @return the rank index
+     */
+    private static int rankOf(String text, int position, String token) {
+        int rank = position < text.length() ? RANK_CHARS.indexOf(Character.toUpperCase(text.charAt(position))) : -1;
+        if (rank < 0) {
+            throw new IllegalArgumentException("Invalid range entry: " + token);
+        }
+        return rank;
+    }
+
+    /**
+     * Reads a card written as a rank and a suit letter, such as {@code "Ks"}.
+     *
+     * @param rank the rank character
+     * @param suit the suit character
+     * @return the card index
+     */
+    private static int cardIndex(char rank, char suit) {
+        int rankIndex = RANK_CHARS.indexOf(Character.toUpperCase(rank));
+        int suitIndex = SUIT_CHARS.indexOf(suit);
+        if (rankIndex < 0 || suitIndex < 0) {
+            throw new IllegalArgumentException("Invalid card: " + rank + suit);
+        }
+        return suitIndex * 13 + rankIndex;
+    }
+
+    /**
+     * The combos of a range that do not touch the known board, packed into
+     * parallel arrays so the showdown loop only reads primitives.
+     */
+    private static class LiveCombos {
+        private final long[] masks = new long[COMBOS];
+        private final double[] weights = new double[COMBOS];
+        private final long[] hands = new long[COMBOS];
+        private final int[] strengths = new int[COMBOS];
+        private int size;
+
+        LiveCombos(HandRange range, long boardMask) {
+            for (int combo = 0; combo < COMBOS; combo++) {
+                if (range.weights[combo] > 0 && (COMBO_MASKS[combo] & boardMask) == 0) {
+                    masks[size] = COMBO_MASKS[combo];
+                    weights[size] = range.weights[combo];
+                    size++;
+                }
+            }
+        }
+
+        /**
+         * Evaluates each combo on a complete board; combos blocked by the board
+         * get a strength of -1.
+         *
+         * @param board the mask of the five board cards
+         */
+        void evaluate(long board) {
+            for (int i = 0; i < size; i++) {
+                hands[i] = masks[i] | board;
+            }
+            HandEvaluator.evaluateBatch(hands, strengths, size);
+            for (int i = 0; i < size; i++) {
+                if ((masks[i] & board) != 0) {
+                    strengths[i] = -1;
+                }
+            }
+        }
+    }
+}
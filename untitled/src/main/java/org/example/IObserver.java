@@ -12,4 +12,14 @@ public interface IObserver {
      * @param eventDescription a description of the event or change
      */
     void update(String eventDescription);
+
+    /**
+     * Called by the {@link EventBus} with the whole event. Observers that only
+     * want the description can leave this as it is.
+     *
+     * @param event the event
+     */
+    default void onEvent(GameEvent event) {
+        update(event.getDescription());
+    }
 }
\ No newline at end of file
@@ -0,0 +1,343 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.random.RandomGenerator;
+
+/**
+ * Turns tournament stacks into expected prize money with the Independent Chip
+ * Model: a player finishes first with probability stack / total chips, and
+ * each later place is handed out the same way among the players left
+ * (the Malmuth-Harville model).
+ * <p>
+ * Up to {@link #EXACT_PLAYERS} players the equities are exact. The recursion
+ * is memoized over the set of players already placed: one pass over the
+ * subsets, in increasing bit order, carries the probability that exactly
+ * those players took the top places, so ten players cost about ten thousand
+ * multiplications. Larger fields are sampled: giving each player an
+ * exponential clock with their stack as its rate and placing players in the
+ * order the clocks ring draws finishing orders with exactly the model's
+ * probabilities, and sampling stops once three standard errors fall within
+ * the tolerance.
+ * <p>
+ * Results are cached by the stack vector. Stacks are sorted first, so seats
+ * holding the same stacks in a different order share one entry.
+ */
+public class IcmCalculator {
+
+    /** The largest field solved exactly. */
+    public static final int EXACT_PLAYERS = 16;
+
+    private static final int DEFAULT_CACHE_ENTRIES = 1 << 16;
+    private static final int BATCH = 1024;
+
+    private final double[] prizes;
+    private final double tolerance;
+    private final int maxSamples;
+    private final int cacheEntries;
+    private final Map<StackKey, Result> cache = new ConcurrentHashMap<>();
+    private final ThreadLocal<double[]> subsets = ThreadLocal.withInitial(() -> new double[1 << EXACT_PLAYERS]);
+    private final ThreadLocal<long[]> subsetChips = ThreadLocal.withInitial(() -> new long[1 << EXACT_PLAYERS]);
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Constructs a calculator that samples large fields to within 0.1% of the
+     * first prize.
+     *
+     * @param prizes the prize for each place, first place first
+     */
+    public IcmCalculator(double[] prizes) {
+        this(prizes, prizes.length > 0 ? prizes[0] / 1000 : 0, 1_000_000, DEFAULT_CACHE_ENTRIES);
+    }
+
+    /**
+     * Constructs a calculator.
+     *
+     * @param prizes       the prize for each place, first place first
+     * @param tolerance    the error bound large fields are sampled to, in
+     *                     prize units
+     * @param maxSamples   the most finishing orders sampled for one result
+     * @param cacheEntries the most results kept; the cache is emptied when it
+     *                     fills up
+     */
+    public IcmCalculator(double[] prizes, double tolerance, int maxSamples, int cacheEntries) {
+        this.prizes = prizes.clone();
+        this.tolerance = tolerance;
+        this.maxSamples = Math.max(BATCH, maxSamples);
+        this.cacheEntries = cacheEntries;
+    }
+
+    /**
+     * Computes the prize equity of every player from their current stacks.
+     *
+     * @param players the players still in the tournament
+     * @return the equities, in the order of the list
+     */
+    public Result equities(List<Player> players) {
+        int[] stacks = new int[players.size()];
+        for (int i = 0; i < stacks.length; i++) {
+            stacks[i] = players.get(i).getMoney();
+        }
+        return equities(stacks);
+    }
+
+    /**
+     * Computes the prize equity of every stack. Players without chips are
+     * treated as already out and get nothing.
+     *
+     * @param stacks the chip counts
+     * @return the equities, in the order of the stacks
+     */
+    public Result equities(int[] stacks) {
+        int[] sorted = stacks.clone();
+        Arrays.sort(sorted);
+        StackKey key = new StackKey(sorted);
+        Result result = cache.get(key);
+        if (result != null) {
+            hits.increment();
+        } else {
+            misses.increment();
+            int live = 0;
+            while (live < sorted.length && sorted[sorted.length - 1 - live] > 0) {
+                live++;
+            }
+            int[] chips = Arrays.copyOfRange(sorted, sorted.length - live, sorted.length);
+            double[] equities = new double[sorted.length];
+            double bound = 0;
+            if (live <= EXACT_PLAYERS) {
+                exact(chips, equities, sorted.length - live);
+            } else {
+                bound = sample(chips, equities, sorted.length - live);
+            }
+            result = new Result(equities, bound);
+            if (cache.size() >= cacheEntries) {
+                cache.clear();
+            }
+            cache.put(key, result);
+        }
+        return result.arrangedAs(stacks, sorted);
+    }
+
+    /**
+     * Returns the number of lookups answered from the cache.
+     *
+     * @return the hit count
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of lookups that had to be computed.
+     *
+     * @return the miss count
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Walks the subsets of placed players in increasing bit order; every
+     * subset is complete by the time it is reached, since adding a player
+     * only sets a higher bit.
+     *
+     * @param chips    the live stacks
+     * @param equities receives the equities
+     * @param offset   the index in the equities of the first live stack
+     */
+    private void exact(int[] chips, double[] equities, int offset) {
+        int players = chips.length;
+        int places = Math.min(prizes.length, players);
+        if (places == 0) {
+            return;
+        }
+        long total = 0;
+        for (int chip : chips) {
+            total += chip;
+        }
+        double[] probability = subsets.get();
+        int subsetCount = 1 << players;
+        Arrays.fill(probability, 0, subsetCount, 0);
+        probability[0] = 1;
+        // Every reachable subset gets its chips from the subset before it
+        long[] placedChips = subsetChips.get();
+        placedChips[0] = 0;
+        for (int placed = 0; placed < subsetCount; placed++) {
+            double reach = probability[placed];
+            int place = Integer.bitCount(placed);
+            if (reach == 0 || place >= places) {
+                continue;
+            }
+            double remaining = total - placedChips[placed];
+            double prize = prizes[place];
+            for (int player = 0; player < players; player++) {
+                int bit = 1 << player;
+                if ((placed & bit) != 0) {
+                    continue;
+                }
+                double next = reach * chips[player] / remaining;
+                equities[offset + player] += next * prize;
+                probability[placed | bit] += next;
+                placedChips[placed | bit] = placedChips[placed] + chips[player];
+            }
+        }
+    }
+
+    /**
+     * Samples finishing orders until the error bound is within the tolerance
+     * or the sample limit is reached. Equal stacks are interchangeable in the model,
+     * so their samples are pooled.
+     *
+     * @param chips    the live stacks
+     * @param equities receives the equities
+     * @param offset   the index in the equities of the first live stack
+     * @return three standard errors of the least certain equity
+     */
+    private double sample(int[] chips, double[] equities, int offset) {
+        int players = chips.length;
+        int places = Math.min(prizes.length, players);
+        if (places == 0) {
+            return 0;
+        }
+        double[] sums = new double[players];
+        double[] squares = new double[players];
+        double[] clocks = new double[players];
+        PriorityQueue<Integer> first = new PriorityQueue<>(places + 1,
+                (a, b) -> Double.compare(clocks[b], clocks[a]));
+        RandomGenerator random = RandomService.getInstance().current();
+        int samples = 0;
+        double bound = Double.POSITIVE_INFINITY;
+        while (samples < maxSamples && bound > tolerance) {
+            for (int run = 0; run < BATCH; run++) {
+                first.clear();
+                for (int player = 0; player < players; player++) {
+                    clocks[player] = -Math.log(1 - random.nextDouble()) / chips[player];
+                    if (first.size() < places) {
+                        first.add(player);
+                    } else if (clocks[player] < clocks[first.peek()]) {
+                        first.poll();
+                        first.add(player);
+                    }
+                }
+                for (int place = places - 1; place >= 0; place--) {
+                    int player = first.poll();
+                    sums[player] += prizes[place];
+                    squares[player] += prizes[place] * prizes[place];
+                }
+            }
+            samples += BATCH;
+            double worst = 0;
+            for (int player = 0; player < players; player++) {
+                double mean = sums[player] / samples;
+                worst = Math.max(worst, (squares[player] / samples - mean * mean) / samples);
+            }
+            bound = 3 * Math.sqrt(worst);
+        }
+        for (int start = 0, end; start < players; start = end) {
+            double sum = 0;
+            for (end = start; end < players && chips[end] == chips[start]; end++) {
+                sum += sums[end];
+            }
+            for (int player = start; player < end; player++) {
+                equities[offset + player] = sum / (end - start) / samples;
+            }
+        }
+        return bound;
+    }
+
+    /**
+     * The prize equities for one set of stacks.
+     */
+    public static final class Result {
+        private final double[] equities;
+        private final double errorBound;
+
+        private Result(double[] equities, double errorBound) {
+            this.equities = equities;
+            this.errorBound = errorBound;
+        }
+
+        /**
+         * Returns a player's expected prize.
+         *
+         * @param player the player's index in the stacks asked about
+         * @return the equity in prize units
+         */
+        public double equity(int player) {
+            return equities[player];
+        }
+
+        /**
+         * Returns every player's expected prize.
+         *
+         * @return a copy of the equities
+         */
+        public double[] toArray() {
+            return equities.clone();
+        }
+
+        /**
+         * Returns how far any equity may be off: 0 when it was computed
+         * exactly, otherwise three standard errors of the sampling.
+         *
+         * @return the error bound in prize units
+         */
+        public double getErrorBound() {
+            return errorBound;
+        }
+
+        /**
+         * Returns whether the equities were computed exactly.
+         *
+         * @return true for an exact result
+         */
+        public boolean isExact() {
+            return errorBound == 0;
+        }
+
+        /**
+         * Maps equities computed for the sorted stacks back to the order the
+         * stacks were asked about in. Equal stacks have equal equities, so
+         * any of their entries will do.
+         *
+         * @param stacks the stacks as asked about
+         * @param sorted the same stacks in ascending order
+         * @return the equities in the order of the stacks
+         */
+        private Result arrangedAs(int[] stacks, int[] sorted) {
+            double[] arranged = new double[stacks.length];
+            for (int i = 0; i < stacks.length; i++) {
+                arranged[i] = equities[Arrays.binarySearch(sorted, stacks[i])];
+            }
+            return new Result(arranged, errorBound);
+        }
+    }
+
+    /**
+     * A sorted stack vector used as a cache key.
+     */
+    private static final class StackKey {
+        private final int[] stacks;
+        private final int hash;
+
+        StackKey(int[] stacks) {
+            this.stacks = stacks;
+            this.hash = Arrays.hashCode(stacks);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof StackKey && Arrays.equals(stacks, ((StackKey) other).stacks);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package org.example;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+
+/**
+ * A load-generating client for {@link GameServer}. It opens many connections
+ * from a single selector thread and plays every seat by calling whatever it is
+ * asked to call, printing the frame and action rates once per second.
+ */
+public class LoadGenerator {
+
+    private final Selector selector;
+    private int openConnections;
+    private long framesReceived;
+    private long actionsSent;
+    private long gamesFinished;
+
+    /**
+     * Opens the requested number of connections to the server.
+     *
+     * @param host        the server host
+     * @param port        the server port
+     * @param connections the number of clients to simulate
+     * @throws IOException if a connection cannot be opened
+     */
+    public LoadGenerator(String host, int port, int connections) throws IOException {
+        this.selector = Selector.open();
+        InetSocketAddress address = new InetSocketAddress(host, port);
+        for (int i = 0; i < connections; i++) {
+            SocketChannel channel = SocketChannel.open(address);
+            channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new Client(channel));
+            openConnections++;
+        }
+    }
+
+    /**
+     * Starts the load generator.
+     *
+     * @param args the host, the port and the number of connections (defaults:
+     *             localhost, 7777, 600)
+     * @throws IOException if the connections fail
+     */
+    public static void main(String[] args) throws IOException {
+        String host = args.length > 0 ? args[0] : "localhost";
+        int port = args.length > 1 ? Integer.parseInt(args[1]) : 7777;
+        int connections = args.length > 2 ? Integer.parseInt(args[2]) : 600;
+        new LoadGenerator(host, port, connections).run();
+    }
+
+    /**
+     * Plays every connection until the server has closed them all.
+     *
+     * @throws IOException if a channel fails
+     */
+    public void run() throws IOException {
+        long started = System.nanoTime();
+        long nextReport = started + 1_000_000_000L;
+        while (openConnections > 0) {
+            selector.select(250);
+            Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+            while (keys.hasNext()) {
+                SelectionKey key = keys.next();
+                keys.remove();
+                Client client = (Client) key.attachment();
+                if (!client.read()) {
+                    key.cancel();
+                    client.channel.close();
+                    openConnections--;
+                }
+            }
+            long now = System.nanoTime();
+            if (now >= nextReport) {
+                report(now - started);
+                nextReport = now + 1_000_000_000L;
+            }
+        }
+        report(System.nanoTime() - started);
+        selector.close();
+    }
+
+    /**
+     * Prints the totals and rates so far.
+     *
+     * @param elapsedNanos the time since the run started
+     */
+    private void report(long elapsedNanos) {
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("%.1fs open=%d games=%d frames=%d (%.0f/s) actions=%d (%.0f/s)%n",
+                seconds, openConnections, gamesFinished, framesReceived, framesReceived / seconds,
+                actionsSent, actionsSent / seconds);
+    }
+
+    /**
+     * The state of one simulated client.
+     */
+    private class Client {
+        private final SocketChannel channel;
+        private final ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+        private int money;
+
+        Client(SocketChannel channel) {
+            this.channel = channel;
+        }
+
+        /**
+         * Reads and answers every complete frame.
+         *
+         * @return false once the server has closed the connection
+         * @throws IOException if the channel fails
+         */
+        boolean read() throws IOException {
+            if (channel.read(readBuffer) < 0) {
+                return false;
+            }
+            readBuffer.flip();
+            int length;
+            while ((length = WireProtocol.completeFrameLength(readBuffer)) > 0) {
+                int start = readBuffer.position();
+                handle(readBuffer.get(start + 2), start + WireProtocol.HEADER_BYTES);
+                readBuffer.position(start + length);
+                framesReceived++;
+            }
+            readBuffer.compact();
+            return true;
+        }
+
+        /**
+         * Handles one frame.
+         *
+         * @param type    the frame type
+         * @param payload the absolute position of the payload in the read buffer
+         * @throws IOException if the answer cannot be written
+         */
+        private void handle(byte type, int payload) throws IOException {
+            if (type == WireProtocol.STATE) {
+                money = moneyOfViewer(payload);
+            } else if (type == WireProtocol.ACTION_REQUEST) {
+                int amountToCall = readBuffer.getInt(payload);
+                ByteBuffer action = WireProtocol.action(Math.min(amountToCall, money));
+                while (action.hasRemaining()) {
+                    channel.write(action);
+                }
+                actionsSent++;
+            } else if (type == WireProtocol.GAME_OVER) {
+                gamesFinished++;
+            }
+        }
+
+        /**
+         * Reads the receiving seat's stack out of a STATE frame.
+         *
+         * @param payload the absolute position of the payload in the read buffer
+         * @return the stack of the viewing seat
+         */
+        private int moneyOfViewer(int payload) {
+            int position = payload + 4;
+            position += 1 + readBuffer.get(position);
+            int viewer = readBuffer.get(position + 1);
+            int players = readBuffer.get(position + 2);
+            position += 3;
+            for (int i = 0; i < players; i++) {
+                if (i == viewer) {
+                    return readBuffer.getInt(position);
+                }
+                position += 10 + readBuffer.get(position + 9);
+            }
+            return 0;
+        }
+    }
+}
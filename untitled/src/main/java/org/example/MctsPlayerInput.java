@@ -0,0 +1,380 @@
+package org.example;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.random.RandomGenerator;
+
+/**
+ * A {@link PlayerInput} that decides by Monte Carlo tree search instead of
+ * waiting for a person. When its seat has to act it copies the table into a
+ * {@link SearchState} of the table's variant and, until its time budget runs out, plays the hand out
+ * again and again with the opponents' cards dealt at random, growing a tree
+ * over its own fold, call and raise choices. Opponents and the bot's own
+ * later choices outside the tree follow {@link SearchState#defaultAction}.
+ * <p>
+ * Several workers search at once. Each grows its own tree below the root, and
+ * they share the statistics of the root's actions; a worker exploring a root
+ * action counts a few provisional losses against it (virtual loss), so the
+ * others spread out over the alternatives instead of all piling onto one.
+ */
+public class MctsPlayerInput implements PlayerInput, Closeable {
+
+    private static final double EXPLORATION = 1.4;
+    private static final int VIRTUAL_LOSS = 3;
+    private static final double VALUE_SCALE = 1e6;
+
+    private final Table table;
+    private final long budgetMillis;
+    private final Worker[] workers;
+    private final ExecutorService executor;
+    private Player player;
+    private int amountToCall;
+    private boolean canRaise;
+    private long lastIterations;
+
+    /**
+     * Constructs a search bot for a seat at the given table.
+     *
+     * @param table        the table the seat is at
+     * @param threads      the number of search workers
+     * @param budgetMillis the thinking time per decision in milliseconds
+     */
+    public MctsPlayerInput(Table table, int threads, long budgetMillis) {
+        this.table = table;
+        this.budgetMillis = budgetMillis;
+        this.workers = new Worker[Math.max(1, threads)];
+        for (int i = 0; i < workers.length; i++) {
+            workers[i] = new Worker();
+        }
+        this.executor = workers.length == 1 ? null : Executors.newFixedThreadPool(workers.length, runnable -> {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Records whose turn it is, with raising open.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand
+     * @param message      the instructions, ignored
+     */
+    @Override
+    public void prompt(Player player, int amountToCall, String message) {
+        prompt(player, amountToCall, true, message);
+    }
+
+    /**
+     * Records whose turn it is and whether the search may consider a raise.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand
+     * @param canRaise     whether the table accepts a raise
+     * @param message      the instructions, ignored
+     */
+    @Override
+    public void prompt(Player player, int amountToCall, boolean canRaise, String message) {
+        this.player = player;
+        this.amountToCall = amountToCall;
+        this.canRaise = canRaise;
+    }
+
+    /**
+     * Searches for the best action within the time budget, or the timeout if
+     * it is shorter.
+     *
+     * @param timeoutMillis the maximum time to take, or 0 or less for no limit
+     * @return the amount to bet, or -1 to fold
+     * @throws InterruptedException if the search is interrupted
+     */
+    @Override
+    public Integer nextAmount(long timeoutMillis) throws InterruptedException {
+        int call = Math.min(amountToCall, player.getMoney());
+        long millis = timeoutMillis > 0 ? Math.min(budgetMillis, timeoutMillis * 3 / 4) : budgetMillis;
+        SearchState root = rootState();
+        int action = search(root, System.nanoTime() + millis * 1_000_000);
+        if (action == SearchState.FOLD) {
+            return -1;
+        }
+        if (action == SearchState.RAISE) {
+            return Math.min(root.raiseTarget(), player.getMoney());
+        }
+        return call;
+    }
+
+    /**
+     * Returns the number of playouts run for the last decision.
+     *
+     * @return the playout count
+     */
+    public long getLastIterations() {
+        return lastIterations;
+    }
+
+    /**
+     * Stops the search workers.
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Copies the table into a search state, in acting order from the seat
+     * after the button. Players after this seat have yet to act on this
+     * street; the others only have to act again if they are short of the bet.
+     * If the table does not accept a raise, the street's raising is closed.
+     *
+     * @return the state at this decision
+     */
+    private SearchState rootState() {
+        List<Player> players = new ArrayList<>(table.getPlayers());
+        int button = 0;
+        for (int i = 0; i < players.size(); i++) {
+            if (players.get(i).getDealer()) {
+                button = i;
+            }
+        }
+        int count = players.size();
+        SearchState state = new SearchState(count, table.getVariant());
+        int hero = 0;
+        long waiting = 0;
+        int biggestStack = 0;
+        for (int position = 0; position < count; position++) {
+            Player seated = players.get((button + 1 + position) % count);
+            boolean self = seated == player;
+            if (self) {
+                hero = position;
+            }
+            int bet = self ? 0 : Math.min(seated.getCurrentBet(), amountToCall);
+            state.setPlayer(position, seated.getMoney(), bet, self ? HandEvaluator.mask(seated.getCards()) : 0,
+                    seated.getInHand());
+            if (bet < amountToCall) {
+                waiting |= 1L << position;
+            }
+            biggestStack = Math.max(biggestStack, seated.getMoney());
+        }
+        waiting |= -1L << hero;
+        if (count < 64) {
+            waiting &= (1L << count) - 1;
+        }
+        state.setBetting(HandEvaluator.mask(table.getTableCards()), table.getPot(), amountToCall,
+                Math.max(amountToCall, biggestStack / 50), hero, waiting);
+        if (!canRaise) {
+            state.closeRaising();
+        }
+        return state;
+    }
+
+    /**
+     * Runs the workers until the deadline and picks the root action that was
+     * tried the most.
+     *
+     * @param root     the state at the decision
+     * @param deadline the {@link System#nanoTime()} to stop at
+     * @return the chosen action
+     * @throws InterruptedException if the search is interrupted
+     */
+    private int search(SearchState root, long deadline) throws InterruptedException {
+        AtomicLongArray shared = new AtomicLongArray(SearchState.ACTIONS * 2);
+        int legal = root.legalActions();
+        long iterations = 0;
+        if (executor == null) {
+            iterations = workers[0].run(root, deadline, shared);
+        } else {
+            List<Callable<Long>> tasks = new ArrayList<>(workers.length);
+            for (Worker worker : workers) {
+                tasks.add(() -> worker.run(root, deadline, shared));
+            }
+            try {
+                for (Future<Long> result : executor.invokeAll(tasks)) {
+                    iterations += result.get();
+                }
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A search worker failed", e.getCause());
+            }
+        }
+        lastIterations = iterations;
+
+        int best = SearchState.CALL;
+        for (int action = 0; action < SearchState.ACTIONS; action++) {
+            if ((legal & 1 << action) != 0 && shared.get(action) > shared.get(best)) {
+                best = action;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * One search thread's tree and scratch state, kept between decisions so
+     * a search allocates nothing once it is warm.
+     */
+    private static final class Worker {
+        private static final int MAX_NODES = 1 << 15;
+        private static final int MAX_DEPTH = 64;
+
+        private final int[] children = new int[MAX_NODES * SearchState.ACTIONS];
+        private final int[] visits = new int[MAX_NODES * SearchState.ACTIONS];
+        private final double[] values = new double[MAX_NODES * SearchState.ACTIONS];
+        private final int[] path = new int[MAX_DEPTH];
+        private SearchState scratch;
+        private int nodeCount;
+
+        /**
+         * Plays out the hand from the root until the deadline.
+         *
+         * @param root     the state at the decision
+         * @param deadline the {@link System#nanoTime()} to stop at
+         * @param shared   visits then scaled values of the root actions, shared
+         *                 by all workers
+         * @return the number of playouts
+         */
+        long run(SearchState root, long deadline, AtomicLongArray shared) {
+            RandomGenerator random = RandomService.getInstance().current();
+            if (scratch == null || scratch.playerCount() != root.playerCount() || scratch.variant() != root.variant()) {
+                scratch = new SearchState(root.playerCount(), root.variant());
+            }
+            int hero = root.toAct();
+            int start = root.stack(hero);
+            double scale = Math.max(1, start + root.pot());
+            nodeCount = 0;
+            newNode();
+
+            long iterations = 0;
+            while ((iterations & 15) != 0 || System.nanoTime() < deadline) {
+                scratch.copyFrom(root);
+                scratch.dealHidden(random);
+                int depth = 0;
+                int node = 0;
+                int rootAction = -1;
+                boolean inTree = true;
+                while (!scratch.isTerminal()) {
+                    int action;
+                    if (scratch.toAct() == hero && inTree && depth < MAX_DEPTH) {
+                        int legal = scratch.legalActions();
+                        if (rootAction < 0) {
+                            action = selectShared(shared, legal);
+                            rootAction = action;
+                        } else {
+                            action = select(node, legal);
+                        }
+                        int edge = node * SearchState.ACTIONS + action;
+                        path[depth++] = edge;
+                        if (children[edge] == 0) {
+                            if (nodeCount < MAX_NODES) {
+                                children[edge] = newNode();
+                            }
+                            inTree = false;
+                        } else {
+                            node = children[edge];
+                        }
+                    } else {
+                        action = scratch.defaultAction(random);
+                    }
+                    scratch.act(action, random);
+                }
+
+                double reward = (scratch.result(hero) - start) / scale;
+                for (int i = 0; i < depth; i++) {
+                    visits[path[i]]++;
+                    values[path[i]] += reward;
+                }
+                if (rootAction >= 0) {
+                    shared.addAndGet(rootAction, 1 - VIRTUAL_LOSS);
+                    shared.addAndGet(SearchState.ACTIONS + rootAction,
+                            (long) ((reward + VIRTUAL_LOSS) * VALUE_SCALE));
+                }
+                iterations++;
+            }
+            return iterations;
+        }
+
+        /**
+         * Adds an empty node to the tree.
+         *
+         * @return the node's index
+         */
+        private int newNode() {
+            int base = nodeCount * SearchState.ACTIONS;
+            for (int i = 0; i < SearchState.ACTIONS; i++) {
+                children[base + i] = 0;
+                visits[base + i] = 0;
+                values[base + i] = 0;
+            }
+            return nodeCount++;
+        }
+
+        /**
+         * Picks a root action by UCT over the shared statistics and charges it
+         * a virtual loss until the playout finishes.
+         *
+         * @param shared the shared root statistics
+         * @param legal  the legal actions as bits
+         * @return the action
+         */
+        private static int selectShared(AtomicLongArray shared, int legal) {
+            long total = 0;
+            for (int action = 0; action < SearchState.ACTIONS; action++) {
+                total += shared.get(action);
+            }
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < SearchState.ACTIONS; action++) {
+                if ((legal & 1 << action) == 0) {
+                    continue;
+                }
+                long tries = shared.get(action);
+                double score = tries <= 0 ? Double.POSITIVE_INFINITY
+                        : shared.get(SearchState.ACTIONS + action) / VALUE_SCALE / tries
+                                + EXPLORATION * Math.sqrt(Math.log(total) / tries);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            shared.addAndGet(best, VIRTUAL_LOSS);
+            shared.addAndGet(SearchState.ACTIONS + best, (long) (-VIRTUAL_LOSS * VALUE_SCALE));
+            return best;
+        }
+
+        /**
+         * Picks an action at a node of this worker's tree by UCT.
+         *
+         * @param node  the node
+         * @param legal the legal actions as bits
+         * @return the action
+         */
+        private int select(int node, int legal) {
+            int base = node * SearchState.ACTIONS;
+            int total = 0;
+            for (int action = 0; action < SearchState.ACTIONS; action++) {
+                total += visits[base + action];
+            }
+            int best = -1;
+            double bestScore = Double.NEGATIVE_INFINITY;
+            for (int action = 0; action < SearchState.ACTIONS; action++) {
+                if ((legal & 1 << action) == 0) {
+                    continue;
+                }
+                int tries = visits[base + action];
+                double score = tries == 0 ? Double.POSITIVE_INFINITY
+                        : values[base + action] / tries + EXPLORATION * Math.sqrt(Math.log(total) / tries);
+                if (score > bestScore) {
+                    bestScore = score;
+                    best = action;
+                }
+            }
+            return best;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example;
+
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A singleton registry of latency histograms and counters for the game engine.
+ * Recording is off unless the {@code holdem.metrics} system property is set or
+ * it is turned on through {@link #setEnabled(boolean)} or JMX; while off, the
+ * instrumented code only reads one flag. The metrics can be read as text from
+ * {@link #render()}, over JMX, or from a small local HTTP endpoint.
+ */
+public class Metrics implements MetricsMXBean {
+
+    private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+    private static Metrics instance;
+
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final LatencyHistogram handLatency = histogram("hand_nanos");
+    private final LongAdder handsPlayed = counter("hands_played");
+    private volatile boolean enabled = Boolean.getBoolean("holdem.metrics");
+    private volatile long startNanos = System.nanoTime();
+
+    /**
+     * Private constructor to enforce the singleton.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Provides the global access point for the registry and creates it if it
+     * does not already exist.
+     *
+     * @return the single, shared registry
+     */
+    public static synchronized Metrics getInstance() {
+        if (instance == null) {
+            instance = new Metrics();
+        }
+        return instance;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Returns the histogram with the given name, creating it on first use.
+     *
+     * @param name the metric name
+     * @return the histogram
+     */
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, key -> new LatencyHistogram());
+    }
+
+    /**
+     * Returns the counter with the given name, creating it on first use.
+     *
+     * @param name the metric name
+     * @return the counter
+     */
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    /**
+     * Records a finished hand and how long it took.
+     *
+     * @param nanos the duration of the hand in nanoseconds
+     */
+    public void recordHand(long nanos) {
+        handsPlayed.increment();
+        handLatency.record(nanos);
+    }
+
+    @Override
+    public long getHandsPlayed() {
+        return handsPlayed.sum();
+    }
+
+    @Override
+    public double getHandsPerSecond() {
+        double seconds = (System.nanoTime() - startNanos) / 1e9;
+        return seconds <= 0 ? 0 : handsPlayed.sum() / seconds;
+    }
+
+    @Override
+    public String getReport() {
+        return render();
+    }
+
+    /**
+     * Writes every metric as text, one value per line, in a format that
+     * Prometheus-style scrapers understand.
+     *
+     * @return the metrics report
+     */
+    public String render() {
+        StringBuilder out = new StringBuilder();
+        out.append("hands_per_second ").append(String.format("%.1f", getHandsPerSecond())).append('\n');
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(counters).entrySet()) {
+            out.append(counter.getKey()).append(' ').append(counter.getValue().sum()).append('\n');
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : new TreeMap<>(histograms).entrySet()) {
+            String name = entry.getKey();
+            LatencyHistogram histogram = entry.getValue();
+            out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+            out.append(name).append("_mean ").append(String.format("%.0f", histogram.getMean())).append('\n');
+            for (double quantile : new double[] { 50, 90, 99, 99.9 }) {
+                out.append(name).append("{quantile=\"").append(quantile / 100).append("\"} ")
+                        .append(histogram.getValueAtPercentile(quantile)).append('\n');
+            }
+            out.append(name).append("_max ").append(histogram.getMax()).append('\n');
+        }
+        return out.toString();
+    }
+
+    @Override
+    public void reset() {
+        histograms.values().forEach(LatencyHistogram::reset);
+        counters.values().forEach(LongAdder::reset);
+        startNanos = System.nanoTime();
+    }
+
+    /**
+     * Publishes the registry on the platform MBean server under
+     * {@code org.example:type=Metrics}. Calling it again has no effect.
+     */
+    public synchronized void registerMBean() {
+        try {
+            ObjectName name = new ObjectName("org.example:type=Metrics");
+            if (!ManagementFactory.getPlatformMBeanServer().isRegistered(name)) {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            }
+        } catch (JMException e) {
+            logger.error("Could not register metrics MBean: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Starts a local HTTP endpoint that serves {@link #render()} at
+     * {@code /metrics}.
+     *
+     * @param port the port to listen on, or 0 for any free port
+     * @return the running server, so the caller can read its port or stop it
+     * @throws IOException if the port cannot be opened
+     */
+    public HttpServer startHttpEndpoint(int port) throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext("/metrics", exchange -> {
+            byte[] body = render().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "text/plain; charset=utf-8");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        return server;
+    }
+}
@@ -0,0 +1,47 @@
+package org.example;
+
+/**
+ * The management interface through which {@link Metrics} is published over
+ * JMX, for example to JConsole.
+ */
+public interface MetricsMXBean {
+    /**
+     * Returns whether metrics are being recorded.
+     *
+     * @return true if recording is on
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns recording on or off.
+     *
+     * @param enabled true to record metrics
+     */
+    void setEnabled(boolean enabled);
+
+    /**
+     * Returns the number of hands played since the last reset.
+     *
+     * @return the hand count
+     */
+    long getHandsPlayed();
+
+    /**
+     * Returns the number of hands played per second since the last reset.
+     *
+     * @return the hand throughput
+     */
+    double getHandsPerSecond();
+
+    /**
+     * Returns every metric in the text format of {@link Metrics#render()}.
+     *
+     * @return the metrics report
+     */
+    String getReport();
+
+    /**
+     * Clears every metric.
+     */
+    void reset();
+}
@@ -0,0 +1,74 @@
+package org.example;
+
+/**
+ * Evaluates Omaha hands, where a player holds four cards and must make a hand
+ * from exactly two of them and exactly three cards of the board. A river
+ * hand has 6 pairs of hole cards and 10 board triples to try.
+ * <p>
+ * Many of the 60 combinations are pruned. For each pair of hole cards the
+ * best hand the pair could make with the whole board is evaluated first; it
+ * bounds every combination that uses the pair, so a pair whose bound is no
+ * better than the best hand found so far is skipped, and the pair's triples
+ * stop as soon as one reaches the bound. Combinations are walked straight
+ * off the bits of the masks, so nothing is allocated.
+ */
+public final class OmahaEvaluator {
+
+    private OmahaEvaluator() {
+    }
+
+    /**
+     * Evaluates a hand. Before the flop, with no three board cards to use,
+     * the hole cards are evaluated on their own.
+     *
+     * @param hole  the hole cards as a mask, see {@link HandEvaluator#mask}
+     * @param board the board as a mask
+     * @return the strength of the best hand using two hole cards and three
+     *         board cards, as {@link HandEvaluator#evaluate(long)} returns it
+     */
+    public static int evaluate(long hole, long board) {
+        if (Long.bitCount(board) < 3 || Long.bitCount(hole) < 2) {
+            return HandEvaluator.evaluate(hole | board);
+        }
+        int best = -1;
+        for (long first = hole; first != 0; first &= first - 1) {
+            for (long second = first & first - 1; second != 0; second &= second - 1) {
+                long pair = Long.lowestOneBit(first) | Long.lowestOneBit(second);
+                int bound = HandEvaluator.evaluate(pair | board);
+                if (bound > best) {
+                    best = Math.max(best, bestWithBoard(pair, board, bound));
+                }
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the best hand one pair of hole cards makes with three board cards.
+     *
+     * @param pair  the two hole cards
+     * @param board the board
+     * @param bound the strength of the pair with the whole board, which no
+     *              triple can beat
+     * @return the best strength
+     */
+    private static int bestWithBoard(long pair, long board, int bound) {
+        int best = -1;
+        for (long a = board; a != 0; a &= a - 1) {
+            long first = pair | Long.lowestOneBit(a);
+            for (long b = a & a - 1; b != 0; b &= b - 1) {
+                long second = first | Long.lowestOneBit(b);
+                for (long c = b & b - 1; c != 0; c &= c - 1) {
+                    int strength = HandEvaluator.evaluate(second | Long.lowestOneBit(c));
+                    if (strength > best) {
+                        best = strength;
+                        if (best == bound) {
+                            return best;
+                        }
+                    }
+                }
+            }
+        }
+        return best;
+    }
+}
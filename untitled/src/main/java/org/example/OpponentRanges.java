@@ -0,0 +1,244 @@
+package org.example;
+
+import java.util.Arrays;
+
+/**
+ * Tracks, for every seat at a table, a weight for each of the 1326 hole card
+ * combos the player could hold, narrowed down as the hand goes on. At the
+ * deal every combo has weight 1. Each board card removes the combos that
+ * contain it, and each check, call or raise multiplies the weights by how
+ * likely that action is with each combo, a Bayesian update with a fixed
+ * model of play: strong hands raise, medium hands call, weak hands check.
+ * <p>
+ * The ranges only use what every player at the table can see, so one tracker
+ * serves all the bots at a table; each bot removes the combos blocked by its
+ * own hole cards when it asks for its equity. Combos are grouped into four
+ * strength buckets once per street, and the per-combo likelihoods of each
+ * action are laid out in flat arrays at the same time, so observing an action
+ * is one pass of element-wise multiplication over 1326 doubles.
+ */
+public class OpponentRanges {
+
+    /** An action that put no money in. */
+    public static final int CHECK = 0;
+    /** An action that matched the bet. */
+    public static final int CALL = 1;
+    /** An action that raised the bet. */
+    public static final int RAISE = 2;
+
+    private static final int COMBOS = HandRange.COMBOS;
+    private static final double[][] LIKELIHOOD = {
+            // trash, weak or drawing, medium, strong
+            { 1.0, 1.0, 0.8, 0.5 },
+            { 0.25, 0.7, 1.0, 0.8 },
+            { 0.1, 0.3, 0.5, 1.0 },
+    };
+    private static final int[] PREFLOP_SCORES = new int[COMBOS];
+    private static final byte[] PREFLOP_BUCKETS = new byte[COMBOS];
+
+    static {
+        for (int combo = 0; combo < COMBOS; combo++) {
+            long cards = HandRange.comboMask(combo);
+            PREFLOP_SCORES[combo] = HandEvaluator.evaluate(cards);
+            PREFLOP_BUCKETS[combo] = (byte) (TableBatch.strongStart(cards) ? 3
+                    : TableBatch.playableStart(cards) ? 2
+                    : (cards & 0x1800180018001800L) != 0 ? 1 : 0);
+        }
+    }
+
+    private double[][] weights = new double[10][];
+    private long tracked;
+    private long board;
+    private final int[] scores = new int[COMBOS];
+    private final byte[] buckets = new byte[COMBOS];
+    private final double[][] factors = new double[LIKELIHOOD.length][COMBOS];
+    private long scoredBoard = -1;
+
+    /**
+     * Starts a new hand: every listed seat gets a full range and the board is
+     * cleared.
+     *
+     * @param seats the seats dealt into the hand, as bits
+     */
+    public void newHand(long seats) {
+        tracked = seats;
+        board = 0;
+        int highest = 63 - Long.numberOfLeadingZeros(seats);
+        if (highest >= weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(highest + 1, weights.length * 2));
+        }
+        for (long remaining = seats; remaining != 0; remaining &= remaining - 1) {
+            int seat = Long.numberOfTrailingZeros(remaining);
+            if (weights[seat] == null) {
+                weights[seat] = new double[COMBOS];
+            }
+            Arrays.fill(weights[seat], 1.0);
+        }
+    }
+
+    /**
+     * Removes the combos that use any newly dealt board card.
+     *
+     * @param boardMask the whole board so far, see {@link HandEvaluator#mask}
+     */
+    public void boardChanged(long boardMask) {
+        long added = boardMask & ~board;
+        board = boardMask;
+        if (added == 0) {
+            return;
+        }
+        for (long seats = tracked; seats != 0; seats &= seats - 1) {
+            double[] range = weights[Long.numberOfTrailingZeros(seats)];
+            for (int combo = 0; combo < COMBOS; combo++) {
+                if ((HandRange.comboMask(combo) & added) != 0) {
+                    range[combo] = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Updates a seat's range after an action.
+     *
+     * @param seat   the seat that acted
+     * @param action {@link #CHECK}, {@link #CALL} or {@link #RAISE}
+     */
+    public void observe(int seat, int action) {
+        if ((tracked & 1L << seat) == 0) {
+            return;
+        }
+        score();
+        double[] range = weights[seat];
+        double[] factor = factors[action];
+        for (int combo = 0; combo < COMBOS; combo++) {
+            range[combo] *= factor[combo];
+        }
+    }
+
+    /**
+     * Stops tracking a seat for the rest of the hand, after a fold.
+     *
+     * @param seat the seat
+     */
+    public void fold(int seat) {
+        tracked &= ~(1L << seat);
+    }
+
+    /**
+     * Returns a copy of a seat's range, for example to compute equity with
+     * {@link HandRange#equityAgainst}.
+     *
+     * @param seat the seat
+     * @return the range, scaled so the most likely combo has weight 1, or an
+     *         empty range if the seat is not tracked
+     */
+    public HandRange rangeOf(int seat) {
+        HandRange range = new HandRange();
+        if ((tracked & 1L << seat) == 0) {
+            return range;
+        }
+        double max = 0;
+        for (double weight : weights[seat]) {
+            max = Math.max(max, weight);
+        }
+        for (int combo = 0; combo < COMBOS && max > 0; combo++) {
+            range.setWeight(combo, weights[seat][combo] / max);
+        }
+        return range;
+    }
+
+    /**
+     * Estimates how often a hand is ahead of every other tracked seat right
+     * now, ties counting half. Made hands are compared on the current board,
+     * so draws are not credited. Combos that share a card with the hand are
+     * left out.
+     *
+     * @param seat the seat asking, which is not compared with itself
+     * @param hole the asking seat's two hole cards as a mask
+     * @return the chance of being ahead of all the opponents, between 0 and 1,
+     *         or 0 if no opponent is tracked
+     */
+    public double equity(int seat, long hole) {
+        long opponents = tracked & ~(1L << seat);
+        if (opponents == 0 || Long.bitCount(hole) != 2) {
+            return 0;
+        }
+        score();
+        int own = board == 0 ? PREFLOP_SCORES[comboOf(hole)] : HandEvaluator.evaluate(hole | board);
+        double equity = 1;
+        for (long seats = opponents; seats != 0; seats &= seats - 1) {
+            double[] range = weights[Long.numberOfTrailingZeros(seats)];
+            double ahead = 0;
+            double total = 0;
+            for (int combo = 0; combo < COMBOS; combo++) {
+                double weight = (HandRange.comboMask(combo) & hole) == 0 ? range[combo] : 0;
+                total += weight;
+                ahead += own > scores[combo] ? weight : own == scores[combo] ? weight / 2 : 0;
+            }
+            if (total > 0) {
+                equity *= ahead / total;
+            }
+        }
+        return equity;
+    }
+
+    /**
+     * Scores and buckets every combo against the current board, and lays out
+     * the per-combo likelihood of each action, unless that was already done
+     * for this board.
+     */
+    private void score() {
+        if (scoredBoard == board) {
+            return;
+        }
+        scoredBoard = board;
+        if (board == 0) {
+            System.arraycopy(PREFLOP_SCORES, 0, scores, 0, COMBOS);
+            System.arraycopy(PREFLOP_BUCKETS, 0, buckets, 0, COMBOS);
+        } else {
+            boolean drawsLeft = Long.bitCount(board) < 5;
+            for (int combo = 0; combo < COMBOS; combo++) {
+                long cards = HandRange.comboMask(combo) | board;
+                int strength = (HandRange.comboMask(combo) & board) != 0 ? 0 : HandEvaluator.evaluate(cards);
+                int category = HandEvaluator.category(strength);
+                scores[combo] = strength;
+                buckets[combo] = (byte) (category >= HandEvaluator.TWO_PAIR ? 3
+                        : category == HandEvaluator.PAIR ? 2
+                        : drawsLeft && hasFlushDraw(cards) ? 1 : 0);
+            }
+        }
+        for (int action = 0; action < LIKELIHOOD.length; action++) {
+            double[] factor = factors[action];
+            for (int combo = 0; combo < COMBOS; combo++) {
+                factor[combo] = LIKELIHOOD[action][buckets[combo]];
+            }
+        }
+    }
+
+    /**
+     * Checks whether a set of cards has four of one suit.
+     *
+     * @param cards the cards as a mask
+     * @return true if some suit has four or more cards
+     */
+    private static boolean hasFlushDraw(long cards) {
+        for (int suit = 0; suit < 4; suit++) {
+            if (Long.bitCount(cards >>> (suit * 16) & 0x1FFF) >= 4) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the combo index of a two-card mask.
+     *
+     * @param hole the two cards as a mask
+     * @return the combo index
+     */
+    private static int comboOf(long hole) {
+        int first = Long.numberOfTrailingZeros(hole);
+        int second = 63 - Long.numberOfLeadingZeros(hole);
+        return HandRange.comboIndex(first / 16 * 13 + first % 16, second / 16 * 13 + second % 16);
+    }
+}
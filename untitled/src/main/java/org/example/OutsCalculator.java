@@ -0,0 +1,263 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Counts a player's outs and draw odds from the flop on. For every card that
+ * could come next it finds the hand category the player would then hold, and
+ * on the flop it enumerates all turn and river pairs to give the chance of
+ * ending on each category by the river. Hands are scored on their card masks
+ * with {@link HandEvaluator}, so each candidate card costs a few bit
+ * operations instead of a pass through the player's flush and straight
+ * checks.
+ * <p>
+ * A calculator follows one player through a hand. The flop enumeration keeps,
+ * for every possible turn card, how the river cards would fall, so when the
+ * turn comes the turn's numbers are read off instead of counted again.
+ */
+public class OutsCalculator {
+
+    private static final int CATEGORIES = HandEvaluator.STRAIGHT_FLUSH + 1;
+    private static final String[] NAMES = { "high card", "pair", "two pair", "three of a kind", "straight",
+            "flush", "full house", "four of a kind", "straight flush" };
+
+    private long hole;
+    private long board;
+    private int category;
+    private int unseen;
+    private final int[] outs = new int[CATEGORIES];
+    private final double[] byRiver = new double[CATEGORIES];
+    private final int[][] riversByTurn = new int[52][CATEGORIES];
+    private long enumeratedFlop = -1;
+
+    /**
+     * Brings the counts up to date for a player's cards and the board.
+     *
+     * @param holeCards  the player's hole cards
+     * @param boardCards the community cards dealt so far
+     */
+    public void update(List<Card> holeCards, List<Card> boardCards) {
+        update(HandEvaluator.mask(holeCards), HandEvaluator.mask(boardCards));
+    }
+
+    /**
+     * Brings the counts up to date for a player's cards and the board. Calling
+     * it again with the same cards does nothing, and a turn dealt onto a flop
+     * this calculator has seen is read from the flop's enumeration.
+     *
+     * @param holeMask  the hole cards as a mask, see {@link HandEvaluator#mask}
+     * @param boardMask the board as a mask
+     */
+    public void update(long holeMask, long boardMask) {
+        if (holeMask == hole && boardMask == board && unseen != 0) {
+            return;
+        }
+        if (holeMask != hole) {
+            enumeratedFlop = -1;
+        }
+        hole = holeMask;
+        board = boardMask;
+        Arrays.fill(outs, 0);
+        Arrays.fill(byRiver, 0);
+        long known = holeMask | boardMask;
+        category = Long.bitCount(known) >= 5 ? HandEvaluator.category(HandEvaluator.evaluate(known))
+                : isPocketPair(holeMask) ? HandEvaluator.PAIR : HandEvaluator.HIGH_CARD;
+        unseen = 52 - Long.bitCount(known);
+        int boardCards = Long.bitCount(boardMask);
+        if (boardCards < 3 || boardCards >= 5) {
+            byRiver[category] = 1;
+            return;
+        }
+
+        int[] rivers = null;
+        if (boardCards == 4 && enumeratedFlop != -1 && Long.bitCount(boardMask & ~enumeratedFlop) == 1
+                && (boardMask & enumeratedFlop) == enumeratedFlop) {
+            rivers = riversByTurn[cardIndex(boardMask & ~enumeratedFlop)];
+        }
+        if (boardCards == 3) {
+            enumerateFlop(known);
+            for (int card = 0; card < 52; card++) {
+                long next = HandEvaluator.cardMask(card);
+                if ((known & next) == 0) {
+                    outs[HandEvaluator.category(HandEvaluator.evaluate(known | next))]++;
+                }
+            }
+        } else {
+            if (rivers == null) {
+                rivers = new int[CATEGORIES];
+                for (int card = 0; card < 52; card++) {
+                    long next = HandEvaluator.cardMask(card);
+                    if ((known & next) == 0) {
+                        rivers[HandEvaluator.category(HandEvaluator.evaluate(known | next))]++;
+                    }
+                }
+            }
+            for (int c = 0; c < CATEGORIES; c++) {
+                outs[c] = rivers[c];
+                byRiver[c] = (double) rivers[c] / unseen;
+            }
+        }
+        for (int c = 0; c <= category; c++) {
+            outs[c] = 0;
+        }
+    }
+
+    /**
+     * Returns the category the player holds now.
+     *
+     * @return the category, from {@link HandEvaluator#HIGH_CARD} to
+     *         {@link HandEvaluator#STRAIGHT_FLUSH}
+     */
+    public int getCategory() {
+        return category;
+    }
+
+    /**
+     * Returns the number of unseen cards, which the outs are drawn from.
+     *
+     * @return the unseen card count
+     */
+    public int getUnseenCards() {
+        return unseen;
+    }
+
+    /**
+     * Returns how many of the next possible cards give the player exactly the
+     * given category, if that is better than what the player holds.
+     *
+     * @param target the category
+     * @return the number of outs, 0 before the flop and on the river
+     */
+    public int getOuts(int target) {
+        return outs[target];
+    }
+
+    /**
+     * Returns how many of the next possible cards give the player the given
+     * category or better.
+     *
+     * @param minimum the weakest category that counts
+     * @return the number of outs
+     */
+    public int getOutsTo(int minimum) {
+        int count = 0;
+        for (int c = Math.max(minimum, category + 1); c < CATEGORIES; c++) {
+            count += outs[c];
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of next cards that improve the player's category.
+     *
+     * @return the number of outs
+     */
+    public int getTotalOuts() {
+        return getOutsTo(category + 1);
+    }
+
+    /**
+     * Returns the chance of holding exactly the given category once the river
+     * is dealt.
+     *
+     * @param target the category
+     * @return the probability between 0 and 1
+     */
+    public double getProbabilityByRiver(int target) {
+        return byRiver[target];
+    }
+
+    /**
+     * Returns the chance of ending the hand on a better category than the
+     * player holds now.
+     *
+     * @return the probability between 0 and 1
+     */
+    public double getImproveProbability() {
+        double improve = 0;
+        for (int c = category + 1; c < CATEGORIES; c++) {
+            improve += byRiver[c];
+        }
+        return improve;
+    }
+
+    /**
+     * Describes the player's outs in one line for the console.
+     *
+     * @return the description
+     */
+    public String describe() {
+        StringBuilder line = new StringBuilder("Holding " + NAMES[category]);
+        int total = getTotalOuts();
+        if (total > 0) {
+            line.append(", ").append(total).append(total == 1 ? " out: " : " outs: ");
+            String separator = "";
+            for (int c = CATEGORIES - 1; c > category; c--) {
+                if (outs[c] > 0) {
+                    line.append(separator).append(outs[c]).append(" to ").append(NAMES[c]);
+                    separator = ", ";
+                }
+            }
+            line.append(String.format(" (%.1f%% to improve by the river)", getImproveProbability() * 100));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Enumerates every turn and river pair on a flop, filling the chance of
+     * each final category and, for every turn card, the categories the river
+     * cards would give.
+     *
+     * @param known the hole cards and the flop as a mask
+     */
+    private void enumerateFlop(long known) {
+        for (int[] rivers : riversByTurn) {
+            Arrays.fill(rivers, 0);
+        }
+        int runouts = 0;
+        for (int turn = 0; turn < 52; turn++) {
+            long turnMask = HandEvaluator.cardMask(turn);
+            if ((known & turnMask) != 0) {
+                continue;
+            }
+            for (int river = turn + 1; river < 52; river++) {
+                long riverMask = HandEvaluator.cardMask(river);
+                if ((known & riverMask) != 0) {
+                    continue;
+                }
+                int c = HandEvaluator.category(HandEvaluator.evaluate(known | turnMask | riverMask));
+                riversByTurn[turn][c]++;
+                riversByTurn[river][c]++;
+                byRiver[c]++;
+                runouts++;
+            }
+        }
+        for (int c = 0; c < CATEGORIES; c++) {
+            byRiver[c] /= runouts;
+        }
+        enumeratedFlop = board;
+    }
+
+    /**
+     * Checks whether two hole cards share a rank.
+     *
+     * @param hole the hole cards as a mask
+     * @return true for a pocket pair
+     */
+    private static boolean isPocketPair(long hole) {
+        return Long.bitCount(hole) == 2
+                && Long.numberOfTrailingZeros(hole) % 16 == (63 - Long.numberOfLeadingZeros(hole)) % 16;
+    }
+
+    /**
+     * Returns the card index of a single-card mask.
+     *
+     * @param mask one card's mask bit
+     * @return the index, suit * 13 + rank
+     */
+    private static int cardIndex(long mask) {
+        int bit = Long.numberOfTrailingZeros(mask);
+        return bit / 16 * 13 + bit % 16;
+    }
+}
@@ -0,0 +1,26 @@
+package org.example;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Java Flight Recorder event covering one phase of a hand. The event is
+ * enabled in a recording with {@code -XX:StartFlightRecording} or from JDK
+ * Mission Control; when no recording asks for it, it costs next to nothing.
+ */
+@Name("org.example.HandPhase")
+@Label("Hand Phase")
+@Category({ "Texas Hold Em", "Game" })
+@Description("Time spent in one phase of a hand")
+public class PhaseEvent extends jdk.jfr.Event {
+
+    /** The phase being timed. */
+    @Label("Phase")
+    public String phase;
+
+    /** The number of the hand being played. */
+    @Label("Hand")
+    public int hand;
+}
@@ -0,0 +1,98 @@
+package org.example;
+
+import jdk.jfr.EventType;
+
+/**
+ * Times the phases of the hands played by one game. Each phase is recorded in
+ * a {@link Metrics} histogram and, while a flight recording asks for it, as a
+ * {@link PhaseEvent}. When neither is on, {@link #begin(HandPhase)} and
+ * {@link #end(int)} only check two flags. A timer belongs to one game and is
+ * not shared between threads.
+ */
+public class PhaseTimer {
+
+    private static final EventType PHASE_EVENT_TYPE = EventType.getEventType(PhaseEvent.class);
+
+    private final Metrics metrics;
+    private final LatencyHistogram[] histograms = new LatencyHistogram[HandPhase.values().length];
+    private HandPhase phase;
+    private long startNanos;
+    private PhaseEvent event;
+
+    /**
+     * Constructs a timer recording into the given registry.
+     *
+     * @param metrics the registry holding the phase histograms
+     */
+    public PhaseTimer(Metrics metrics) {
+        this.metrics = metrics;
+        for (HandPhase handPhase : HandPhase.values()) {
+            histograms[handPhase.ordinal()] = metrics.histogram(
+                    "phase_" + handPhase.name().toLowerCase() + "_nanos");
+        }
+    }
+
+    /**
+     * Starts timing a phase.
+     *
+     * @param handPhase the phase that starts
+     */
+    public void begin(HandPhase handPhase) {
+        boolean record = metrics.isEnabled();
+        boolean trace = PHASE_EVENT_TYPE.isEnabled();
+        if (!record && !trace) {
+            return;
+        }
+        phase = handPhase;
+        startNanos = System.nanoTime();
+        if (trace) {
+            event = new PhaseEvent();
+            event.begin();
+        }
+    }
+
+    /**
+     * Stops timing the phase started last.
+     *
+     * @param hand the number of the hand being played
+     */
+    public void end(int hand) {
+        if (phase == null) {
+            return;
+        }
+        if (metrics.isEnabled()) {
+            histograms[phase.ordinal()].record(System.nanoTime() - startNanos);
+        }
+        if (event != null) {
+            event.end();
+            if (event.shouldCommit()) {
+                event.phase = phase.name();
+                event.hand = hand;
+                event.commit();
+            }
+            event = null;
+        }
+        phase = null;
+    }
+
+    /**
+     * Notes the start of a hand.
+     *
+     * @return the start time to pass to {@link #handFinished(long)}, or 0 while
+     *         metrics are off
+     */
+    public long handStarted() {
+        return metrics.isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records a finished hand in the throughput counter and hand histogram.
+     *
+     * @param handStart the value returned by {@link #handStarted()}
+     */
+    public void handFinished(long handStart) {
+        if (handStart != 0) {
+            metrics.recordHand(System.nanoTime() - handStart);
+        }
+    }
+}
@@ -9,7 +9,7 @@ import java.util.*;
  */
 public class Player {
     private List<Card> cards;
-    private Integer money;
+    private int money;
     // Frequency of ranks and suits
     private Map<String, Integer> rankFrequency;
     private Map<Character, Integer> suitFrequency;
@@ -18,6 +18,8 @@ public class Player {
     private int personality;
     private Boolean isDealer;
     private int currentBet;
+    private int seat = -1;
+    private boolean human;
 
     /**
      * Constructs a player with a specified amount of money and a name.
@@ -33,7 +35,7 @@ public class Player {
         this.suitFrequency = new HashMap<>();
         this.name = name;
         this.currentBet = 0;
-        this.personality = new Random().nextInt(1, 6);
+        this.personality = RandomService.getInstance().current().nextInt(1, 6);
         this.isDealer = false;
     }
 
@@ -55,6 +57,43 @@ public class Player {
         return isDealer;
     }
 
+    /**
+     * Returns the seat the player occupies at their table.
+     *
+     * @return the seat number, or -1 if the player is not seated
+     */
+    public int getSeat() {
+        return seat;
+    }
+
+    /**
+     * Records the seat the player occupies. Set by the table when the player
+     * sits down or leaves.
+     *
+     * @param seat the seat number, or -1 if the player is not seated
+     */
+    void setSeat(int seat) {
+        this.seat = seat;
+    }
+
+    /**
+     * Returns whether this player is played by a person rather than a bot.
+     *
+     * @return true if the player is human
+     */
+    public boolean isHuman() {
+        return human;
+    }
+
+    /**
+     * Marks this player as played by a person rather than a bot.
+     *
+     * @param human true if the player is human
+     */
+    public void setHuman(boolean human) {
+        this.human = human;
+    }
+
     /**
      * Returns the current bet amount of the player.
      *
@@ -83,6 +122,16 @@ public class Player {
         return personality;
     }
 
+    /**
+     * Sets the personality index of the player.
+     *
+     * @param personality the personality index, from 1 (cautious) to 5 (very
+     *                    aggressive)
+     */
+    public void setPersonality(int personality) {
+        this.personality = personality;
+    }
+
     /**
      * Returns the amount of money the player currently has.
      *
@@ -119,6 +168,23 @@ public class Player {
         return cards;
     }
 
+    /**
+     * Readies the player for a new game with a fresh stack, as if just
+     * constructed: no cards, in the hand, no bet and not the dealer. The name
+     * and personality are kept, so simulations can reuse one set of players
+     * from game to game.
+     *
+     * @param money the starting amount of money
+     */
+    public void reset(int money) {
+        this.money = money;
+        cards.clear();
+        clearFrequencies();
+        inHand = true;
+        currentBet = 0;
+        isDealer = false;
+    }
+
     /**
      * Removes all cards from the player's hand and sets their in-hand status to
      * false.
@@ -0,0 +1,45 @@
+package org.example;
+
+/**
+ * Supplies betting decisions for a human-controlled seat. The table asks the
+ * input for an amount whenever the seat has to act, so the same betting loop
+ * can be driven by the console, a queue fed by another thread, or a network
+ * connection.
+ */
+public interface PlayerInput {
+    /**
+     * Tells the seat that it is its turn to act.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand, 0 if the player
+     *                     can check
+     * @param message      the instructions to show to the player
+     */
+    void prompt(Player player, int amountToCall, String message);
+
+    /**
+     * Tells the seat that it is its turn to act, and whether raising is open.
+     * When it is not, the table only accepts a call or a fold, as when a seat
+     * answers a re-raise. The default ignores the flag.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand, 0 if the player
+     *                     can check
+     * @param canRaise     whether the player may raise
+     * @param message      the instructions to show to the player
+     */
+    default void prompt(Player player, int amountToCall, boolean canRaise, String message) {
+        prompt(player, amountToCall, message);
+    }
+
+    /**
+     * Waits for the next amount entered by the player. An amount of -1 means the
+     * player folds.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds, or 0 or less
+     *                      to wait indefinitely
+     * @return the amount entered by the player, or null if the timeout expired
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    Integer nextAmount(long timeoutMillis) throws InterruptedException;
+}
@@ -0,0 +1,310 @@
+package org.example;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * Collects running statistics for players as they act: how often they put
+ * money in voluntarily (VPIP), raise before the flop (PFR), bet or raise
+ * compared to calling (aggression), and win when they reach showdown. The
+ * counters are {@link LongAdder}s, so a registry can be shared by many tables
+ * playing on different threads, and reading a {@link Snapshot} never blocks
+ * the tables.
+ */
+public class PlayerStatistics {
+
+    private final Map<Player, Counters> counters = new ConcurrentHashMap<>();
+
+    /**
+     * Records that a player was dealt into a hand.
+     *
+     * @param player the player
+     */
+    public void recordHandDealt(Player player) {
+        Counters stats = countersFor(player);
+        stats.hands.increment();
+        stats.currentHand++;
+    }
+
+    /**
+     * Records a call. Calls of nothing (checks) are ignored.
+     *
+     * @param player  the player who called
+     * @param amount  the amount called
+     * @param preflop true if the call happened before the flop
+     */
+    public void recordCall(Player player, int amount, boolean preflop) {
+        if (amount <= 0) {
+            return;
+        }
+        Counters stats = countersFor(player);
+        stats.calls.increment();
+        if (preflop) {
+            stats.markVoluntary();
+        }
+    }
+
+    /**
+     * Records a bet or raise.
+     *
+     * @param player  the player who raised
+     * @param preflop true if the raise happened before the flop
+     */
+    public void recordRaise(Player player, boolean preflop) {
+        Counters stats = countersFor(player);
+        stats.raises.increment();
+        if (preflop) {
+            stats.markVoluntary();
+            stats.markPreflopRaise();
+        }
+    }
+
+    /**
+     * Records a fold.
+     *
+     * @param player the player who folded
+     */
+    public void recordFold(Player player) {
+        countersFor(player).folds.increment();
+    }
+
+    /**
+     * Records that a player reached showdown.
+     *
+     * @param player the player
+     * @param won    true if the player won the pot
+     */
+    public void recordShowdown(Player player, boolean won) {
+        Counters stats = countersFor(player);
+        stats.showdowns.increment();
+        if (won) {
+            stats.showdownWins.increment();
+        }
+    }
+
+    /**
+     * Records a pot won, with or without showdown.
+     *
+     * @param player the winner
+     * @param amount the size of the pot
+     */
+    public void recordWin(Player player, int amount) {
+        Counters stats = countersFor(player);
+        stats.potsWon.increment();
+        stats.moneyWon.add(amount);
+    }
+
+    /**
+     * Reads the current statistics of a player.
+     *
+     * @param player the player
+     * @return a snapshot of the player's counters; all zero if the player has
+     *         not been seen
+     */
+    public Snapshot snapshot(Player player) {
+        Counters stats = counters.get(player);
+        return stats == null ? Snapshot.EMPTY : stats.snapshot();
+    }
+
+    /**
+     * Passes a snapshot of every player seen so far to the consumer.
+     *
+     * @param consumer receives each player and their snapshot
+     */
+    public void forEach(BiConsumer<Player, Snapshot> consumer) {
+        counters.forEach((player, stats) -> consumer.accept(player, stats.snapshot()));
+    }
+
+    /**
+     * Forgets a player, for example when they leave the table for good.
+     *
+     * @param player the player to forget
+     */
+    public void remove(Player player) {
+        counters.remove(player);
+    }
+
+    /**
+     * Returns the counters of a player, creating them on first use.
+     *
+     * @param player the player
+     * @return the player's counters
+     */
+    private Counters countersFor(Player player) {
+        Counters stats = counters.get(player);
+        if (stats == null) {
+            stats = counters.computeIfAbsent(player, key -> new Counters());
+        }
+        return stats;
+    }
+
+    /**
+     * The live counters of one player. A player acts on one table at a time, so
+     * the per-hand markers are only touched by that table's thread.
+     */
+    private static class Counters {
+        private final LongAdder hands = new LongAdder();
+        private final LongAdder voluntaryHands = new LongAdder();
+        private final LongAdder preflopRaiseHands = new LongAdder();
+        private final LongAdder raises = new LongAdder();
+        private final LongAdder calls = new LongAdder();
+        private final LongAdder folds = new LongAdder();
+        private final LongAdder showdowns = new LongAdder();
+        private final LongAdder showdownWins = new LongAdder();
+        private final LongAdder potsWon = new LongAdder();
+        private final LongAdder moneyWon = new LongAdder();
+        private long currentHand;
+        private long voluntaryHand = -1;
+        private long preflopRaiseHand = -1;
+
+        void markVoluntary() {
+            if (voluntaryHand != currentHand) {
+                voluntaryHand = currentHand;
+                voluntaryHands.increment();
+            }
+        }
+
+        void markPreflopRaise() {
+            if (preflopRaiseHand != currentHand) {
+                preflopRaiseHand = currentHand;
+                preflopRaiseHands.increment();
+            }
+        }
+
+        Snapshot snapshot() {
+            return new Snapshot(hands.sum(), voluntaryHands.sum(), preflopRaiseHands.sum(), raises.sum(),
+                    calls.sum(), folds.sum(), showdowns.sum(), showdownWins.sum(), potsWon.sum(),
+                    moneyWon.sum());
+        }
+    }
+
+    /**
+     * An immutable copy of one player's counters with the usual derived ratios.
+     */
+    public static final class Snapshot {
+        static final Snapshot EMPTY = new Snapshot(0, 0, 0, 0, 0, 0, 0, 0, 0, 0);
+
+        private final long hands;
+        private final long voluntaryHands;
+        private final long preflopRaiseHands;
+        private final long raises;
+        private final long calls;
+        private final long folds;
+        private final long showdowns;
+        private final long showdownWins;
+        private final long potsWon;
+        private final long moneyWon;
+
+        Snapshot(long hands, long voluntaryHands, long preflopRaiseHands, long raises, long calls, long folds,
+                long showdowns, long showdownWins, long potsWon, long moneyWon) {
+            this.hands = hands;
+            this.voluntaryHands = voluntaryHands;
+            this.preflopRaiseHands = preflopRaiseHands;
+            this.raises = raises;
+            this.calls = calls;
+            this.folds = folds;
+            this.showdowns = showdowns;
+            this.showdownWins = showdownWins;
+            this.potsWon = potsWon;
+            this.moneyWon = moneyWon;
+        }
+
+        /**
+         * Returns the number of hands dealt to the player.
+         *
+         * @return the number of hands dealt to the player
+         */
+        public long getHands() {
+            return hands;
+        }
+
+        /**
+         * Returns the number of bets and raises.
+         *
+         * @return the number of bets and raises
+         */
+        public long getRaises() {
+            return raises;
+        }
+
+        /**
+         * Returns the number of calls.
+         *
+         * @return the number of calls
+         */
+        public long getCalls() {
+            return calls;
+        }
+
+        /**
+         * Returns the number of folds.
+         *
+         * @return the number of folds
+         */
+        public long getFolds() {
+            return folds;
+        }
+
+        /**
+         * Returns the number of pots won.
+         *
+         * @return the number of pots won
+         */
+        public long getPotsWon() {
+            return potsWon;
+        }
+
+        /**
+         * Returns the total money won in pots.
+         *
+         * @return the total money won in pots
+         */
+        public long getMoneyWon() {
+            return moneyWon;
+        }
+
+        /**
+         * Returns the share of hands in which the player put money in before the
+         * flop without being forced to.
+         *
+         * @return VPIP between 0 and 1
+         */
+        public double getVpip() {
+            return ratio(voluntaryHands, hands);
+        }
+
+        /**
+         * Returns the share of hands in which the player raised before the flop.
+         *
+         * @return PFR between 0 and 1
+         */
+        public double getPfr() {
+            return ratio(preflopRaiseHands, hands);
+        }
+
+        /**
+         * Returns bets and raises divided by calls.
+         *
+         * @return the aggression factor, or the number of raises if the player
+         *         never called
+         */
+        public double getAggressionFactor() {
+            return calls == 0 ? raises : (double) raises / calls;
+        }
+
+        /**
+         * Returns the share of showdowns the player won.
+         *
+         * @return the showdown win rate between 0 and 1
+         */
+        public double getShowdownWinRate() {
+            return ratio(showdownWins, showdowns);
+        }
+
+        private static double ratio(long part, long whole) {
+            return whole == 0 ? 0 : (double) part / whole;
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntConsumer;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Solves short-stack preflop play where every player either moves all in or
+ * folds. The 1326 starting hands are grouped into 169 classes (pairs, suited
+ * and offsuit hands), and the all-in equity of every class against every other
+ * is estimated once by sampling runouts, in parallel, and kept in a 169x169
+ * matrix. Equilibrium charts are then found by fictitious play: each player
+ * in turn plays the best response to the average of the others' past
+ * strategies, and the averages converge to the push and call ranges of an
+ * equilibrium.
+ * <p>
+ * A chart is solved for a stack depth in whole big blinds and a number of
+ * players. Positions count from the first player to act, so the small blind
+ * is position {@code players - 2} and the big blind the last. With more than
+ * two players the model assumes the first caller of a push settles the hand
+ * heads up; overcalls are not modelled. The equity matrix and every solved
+ * chart are written to a cache directory, so later runs load them instead of
+ * solving again.
+ */
+public class PushFoldSolver {
+
+    /** The number of starting hand classes. */
+    public static final int CLASSES = 169;
+    /** The deepest stack, in big blinds, that charts are solved for. */
+    public static final int MAX_DEPTH = 20;
+    /** The most players a chart is solved for. */
+    public static final int MAX_PLAYERS = 10;
+
+    private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+    private static final String RANKS = "23456789TJQKA";
+    private static final int SUITED = 13;
+    private static final int OFFSUIT = SUITED + 78;
+    private static final int EQUITY_MAGIC = 0x50464551;
+    private static final int CHART_MAGIC = 0x50464348;
+    private static final long EQUITY_SEED = 0x169169L;
+    private static final long[][] CLASS_COMBOS = new long[CLASSES][];
+    private static final double[] PAIR_WEIGHTS = new double[CLASSES * CLASSES];
+    private static final double[] PAIR_TOTALS = new double[CLASSES];
+    private static PushFoldSolver shared;
+
+    static {
+        int[] counts = new int[CLASSES];
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            counts[handClass(HandRange.comboMask(combo))]++;
+        }
+        for (int cls = 0; cls < CLASSES; cls++) {
+            CLASS_COMBOS[cls] = new long[counts[cls]];
+            counts[cls] = 0;
+        }
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            long cards = HandRange.comboMask(combo);
+            int cls = handClass(cards);
+            CLASS_COMBOS[cls][counts[cls]++] = cards;
+        }
+        for (int first = 0; first < HandRange.COMBOS; first++) {
+            long cards = HandRange.comboMask(first);
+            int row = handClass(cards) * CLASSES;
+            for (int second = 0; second < HandRange.COMBOS; second++) {
+                long other = HandRange.comboMask(second);
+                if ((cards & other) == 0) {
+                    PAIR_WEIGHTS[row + handClass(other)]++;
+                }
+            }
+        }
+        for (int cls = 0; cls < CLASSES; cls++) {
+            for (int other = 0; other < CLASSES; other++) {
+                PAIR_TOTALS[cls] += PAIR_WEIGHTS[cls * CLASSES + other];
+            }
+        }
+    }
+
+    private final Path cacheDirectory;
+    private final int threads;
+    private final int samples;
+    private final int iterations;
+    private final Map<Integer, Chart> charts = new ConcurrentHashMap<>();
+    private volatile double[] equities;
+
+    /**
+     * Constructs a solver.
+     *
+     * @param cacheDirectory where the equity matrix and charts are kept, or
+     *                       null to keep them in memory only
+     * @param threads        the number of threads to solve with
+     * @param samples        the runouts sampled per pair of hand classes
+     * @param iterations     the rounds of fictitious play per chart
+     */
+    public PushFoldSolver(Path cacheDirectory, int threads, int samples, int iterations) {
+        this.cacheDirectory = cacheDirectory;
+        this.threads = Math.max(1, threads);
+        this.samples = Math.max(1, samples);
+        this.iterations = Math.max(1, iterations);
+    }
+
+    /**
+     * Provides a solver shared by the whole process and creates it if it does
+     * not already exist. Its cache directory comes from the
+     * {@code holdem.pushfold.dir} system property, or a folder in the temporary
+     * directory.
+     *
+     * @return the shared solver
+     */
+    public static synchronized PushFoldSolver shared() {
+        if (shared == null) {
+            String directory = System.getProperty("holdem.pushfold.dir");
+            Path path = directory != null ? Path.of(directory)
+                    : Path.of(System.getProperty("java.io.tmpdir"), "holdem-pushfold");
+            shared = new PushFoldSolver(path, Runtime.getRuntime().availableProcessors(), 3000, 400);
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the class of a starting hand: 0 to 12 for the pairs from deuces
+     * up, then the suited and the offsuit hands.
+     *
+     * @param hole the two hole cards as a mask, see {@link HandEvaluator#mask}
+     * @return the class, from 0 to {@link #CLASSES} - 1
+     */
+    public static int handClass(long hole) {
+        int first = Long.numberOfTrailingZeros(hole);
+        int second = 63 - Long.numberOfLeadingZeros(hole);
+        int high = Math.max(first & 15, second & 15);
+        int low = Math.min(first & 15, second & 15);
+        if (high == low) {
+            return high;
+        }
+        int index = high * (high - 1) / 2 + low;
+        return (first >>> 4 == second >>> 4 ? SUITED : OFFSUIT) + index;
+    }
+
+    /**
+     * Returns the usual name of a hand class, such as "AA", "AKs" or "72o".
+     *
+     * @param cls the class
+     * @return the name
+     */
+    public static String className(int cls) {
+        if (cls < SUITED) {
+            return "" + RANKS.charAt(cls) + RANKS.charAt(cls);
+        }
+        int index = cls < OFFSUIT ? cls - SUITED : cls - OFFSUIT;
+        int high = 1;
+        while ((high + 1) * high / 2 <= index) {
+            high++;
+        }
+        int low = index - high * (high - 1) / 2;
+        return "" + RANKS.charAt(high) + RANKS.charAt(low) + (cls < OFFSUIT ? 's' : 'o');
+    }
+
+    /**
+     * Returns the number of two-card combos in a hand class: 6 for a pair, 4
+     * suited, 12 offsuit.
+     *
+     * @param cls the class
+     * @return the combo count
+     */
+    public static int comboCount(int cls) {
+        return CLASS_COMBOS[cls].length;
+    }
+
+    /**
+     * Returns the all-in equity of one hand class against another, averaged
+     * over every pair of their combos that can be dealt together.
+     *
+     * @param hero    the class whose equity is returned
+     * @param villain the opposing class
+     * @return the equity between 0 and 1, ties counting half
+     */
+    public double equity(int hero, int villain) {
+        return equities()[hero * CLASSES + villain];
+    }
+
+    /**
+     * Returns the chart for a stack depth and a number of players, loading or
+     * solving it the first time it is asked for.
+     *
+     * @param stackBigBlinds the effective stack in big blinds, rounded to a
+     *                       whole number between 1 and {@link #MAX_DEPTH}
+     * @param players        the players dealt in, between 2 and
+     *                       {@link #MAX_PLAYERS}
+     * @return the chart
+     */
+    public Chart chart(double stackBigBlinds, int players) {
+        int depth = (int) Math.max(1, Math.min(MAX_DEPTH, Math.round(stackBigBlinds)));
+        int count = Math.max(2, Math.min(MAX_PLAYERS, players));
+        int key = count * (MAX_DEPTH + 1) + depth;
+        Chart chart = charts.get(key);
+        if (chart == null) {
+            synchronized (this) {
+                chart = charts.get(key);
+                if (chart == null) {
+                    chart = loadChart(depth, count);
+                    if (chart == null) {
+                        chart = solve(depth, count);
+                        save(chartFile(depth, count), chart::write);
+                    }
+                    charts.put(key, chart);
+                }
+            }
+        }
+        return chart;
+    }
+
+    /**
+     * Returns the equity matrix, loading or computing it on first use.
+     *
+     * @return the equities, row by hero class
+     */
+    private double[] equities() {
+        double[] matrix = equities;
+        if (matrix == null) {
+            synchronized (this) {
+                matrix = equities;
+                if (matrix == null) {
+                    matrix = loadEquities();
+                    if (matrix == null) {
+                        matrix = computeEquities();
+                        double[] computed = matrix;
+                        save(equityFile(), out -> {
+                            out.writeInt(EQUITY_MAGIC);
+                            out.writeInt(samples);
+                            for (double value : computed) {
+                                out.writeDouble(value);
+                            }
+                        });
+                    }
+                    equities = matrix;
+                }
+            }
+        }
+        return matrix;
+    }
+
+    /**
+     * Estimates every class against every other class by sampling runouts,
+     * one row per task. Each row draws from its own numbered stream of a fixed
+     * seed, so the matrix comes out the same on every run.
+     *
+     * @return the equities, row by hero class
+     */
+    private double[] computeEquities() {
+        long start = System.nanoTime();
+        double[] matrix = new double[CLASSES * CLASSES];
+        RandomService random = new RandomService(EQUITY_SEED);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            inParallel(pool, hero -> {
+                RandomGenerator generator = random.stream(hero);
+                for (int villain = hero; villain < CLASSES; villain++) {
+                    double equity = sampleEquity(CLASS_COMBOS[hero], CLASS_COMBOS[villain], generator);
+                    matrix[hero * CLASSES + villain] = equity;
+                    if (villain != hero) {
+                        matrix[villain * CLASSES + hero] = 1 - equity;
+                    }
+                }
+            });
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("Computed the push/fold equity matrix in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return matrix;
+    }
+
+    /**
+     * Samples runouts between random combos of two classes.
+     *
+     * @param hero    the combos of the first class
+     * @param villain the combos of the second class
+     * @param random  the generator
+     * @return the first class's share of the pots
+     */
+    private double sampleEquity(long[] hero, long[] villain, RandomGenerator random) {
+        double won = 0;
+        for (int sample = 0; sample < samples; sample++) {
+            long first;
+            long second;
+            do {
+                first = hero[random.nextInt(hero.length)];
+                second = villain[random.nextInt(villain.length)];
+            } while ((first & second) != 0);
+            long dealt = first | second;
+            long board = 0;
+            for (int cards = 0; cards < 5; cards++) {
+                long card;
+                do {
+                    card = HandEvaluator.cardMask(random.nextInt(52));
+                } while ((dealt & card) != 0);
+                dealt |= card;
+                board |= card;
+            }
+            int ours = HandEvaluator.evaluate(first | board);
+            int theirs = HandEvaluator.evaluate(second | board);
+            won += ours > theirs ? 1 : ours == theirs ? 0.5 : 0;
+        }
+        return won / samples;
+    }
+
+    /**
+     * Finds push and call ranges by fictitious play. Every player starts the
+     * hand with the same stack, blinds included; a push risks the whole stack
+     * and wins the blinds when everyone folds. Each round computes every
+     * player's best response to the average strategies so far and moves the
+     * averages towards it by 1/(round + 2).
+     *
+     * @param depth   the stack in big blinds
+     * @param players the number of players
+     * @return the averaged strategies
+     */
+    private Chart solve(int depth, int players) {
+        long start = System.nanoTime();
+        double[] equity = equities();
+        double[] blinds = new double[players];
+        blinds[players - 2] = 0.5;
+        blinds[players - 1] = 1;
+        double stack = depth;
+        Chart chart = new Chart(depth, players);
+        float[][] pushBest = new float[players - 1][CLASSES];
+        float[][] callBest = new float[players * players][];
+        for (int pusher = 0; pusher < players - 1; pusher++) {
+            for (int caller = pusher + 1; caller < players; caller++) {
+                callBest[pusher * players + caller] = new float[CLASSES];
+            }
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        try {
+            for (int round = 0; round < iterations; round++) {
+                inParallel(pool, hand -> {
+                    int row = hand * CLASSES;
+                    for (int pusher = 0; pusher < players - 1; pusher++) {
+                        double reach = 1;
+                        double value = 0;
+                        for (int caller = pusher + 1; caller < players; caller++) {
+                            float[] calls = chart.call[pusher * players + caller];
+                            double called = 0;
+                            double won = 0;
+                            for (int other = 0; other < CLASSES; other++) {
+                                double weight = PAIR_WEIGHTS[row + other] * calls[other];
+                                called += weight;
+                                won += weight * equity[row + other];
+                            }
+                            called /= PAIR_TOTALS[hand];
+                            won /= PAIR_TOTALS[hand];
+                            double pot = 2 * stack + 1.5 - blinds[pusher] - blinds[caller];
+                            value += reach * (won * pot - called * stack);
+                            reach *= 1 - called;
+                        }
+                        value += reach * (1.5 - blinds[pusher]);
+                        pushBest[pusher][hand] = value > -blinds[pusher] ? 1 : 0;
+
+                        for (int caller = pusher + 1; caller < players; caller++) {
+                            double pot = 2 * stack + 1.5 - blinds[pusher] - blinds[caller];
+                            double pushes = 0;
+                            double gained = 0;
+                            for (int other = 0; other < CLASSES; other++) {
+                                double weight = PAIR_WEIGHTS[row + other] * chart.push[pusher][other];
+                                pushes += weight;
+                                gained += weight * (equity[row + other] * pot - stack);
+                            }
+                            boolean profitable = pushes > 0 && gained / pushes > -blinds[caller];
+                            callBest[pusher * players + caller][hand] = profitable ? 1 : 0;
+                        }
+                    }
+                });
+                float step = 1f / (round + 2);
+                for (int pusher = 0; pusher < players - 1; pusher++) {
+                    blend(chart.push[pusher], pushBest[pusher], step);
+                    for (int caller = pusher + 1; caller < players; caller++) {
+                        blend(chart.call[pusher * players + caller], callBest[pusher * players + caller], step);
+                    }
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+        logger.info("Solved the " + players + "-player push/fold chart at " + depth + " big blinds in "
+                + (System.nanoTime() - start) / 1_000_000 + " ms");
+        return chart;
+    }
+
+    /**
+     * Moves an average strategy towards a best response.
+     *
+     * @param average the average, updated in place
+     * @param best    the best response
+     * @param step    the weight of the best response
+     */
+    private static void blend(float[] average, float[] best, float step) {
+        for (int cls = 0; cls < CLASSES; cls++) {
+            average[cls] += (best[cls] - average[cls]) * step;
+        }
+    }
+
+    /**
+     * Runs a task for every hand class and waits for all of them.
+     *
+     * @param pool the pool to run on
+     * @param task the task, given the class
+     */
+    private static void inParallel(ForkJoinPool pool, IntConsumer task) {
+        try {
+            pool.submit(() -> IntStream.range(0, CLASSES).parallel().forEach(task)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while solving push/fold charts", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A push/fold solver task failed", e.getCause());
+        }
+    }
+
+    /**
+     * Reads the cached equity matrix, if there is one for this sample count.
+     *
+     * @return the equities, or null if they are not cached
+     */
+    private double[] loadEquities() {
+        return load(equityFile(), in -> {
+            if (in.readInt() != EQUITY_MAGIC || in.readInt() != samples) {
+                return null;
+            }
+            double[] matrix = new double[CLASSES * CLASSES];
+            for (int i = 0; i < matrix.length; i++) {
+                matrix[i] = in.readDouble();
+            }
+            return matrix;
+        });
+    }
+
+    /**
+     * Reads a cached chart, if there is one.
+     *
+     * @param depth   the stack in big blinds
+     * @param players the number of players
+     * @return the chart, or null if it is not cached
+     */
+    private Chart loadChart(int depth, int players) {
+        return load(chartFile(depth, players), in -> {
+            if (in.readInt() != CHART_MAGIC || in.readInt() != players || in.readInt() != depth) {
+                return null;
+            }
+            Chart chart = new Chart(depth, players);
+            for (float[] push : chart.push) {
+                readFloats(in, push);
+            }
+            for (float[] call : chart.call) {
+                if (call != null) {
+                    readFloats(in, call);
+                }
+            }
+            return chart;
+        });
+    }
+
+    private static void readFloats(DataInputStream in, float[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readFloat();
+        }
+    }
+
+    private Path equityFile() {
+        return cacheDirectory == null ? null : cacheDirectory.resolve("equity-169-" + samples + ".bin");
+    }
+
+    private Path chartFile(int depth, int players) {
+        return cacheDirectory == null ? null
+                : cacheDirectory.resolve("chart-" + players + "p-" + depth + "bb-" + samples + "x" + iterations + ".bin");
+    }
+
+    /**
+     * Reads a cache file, treating a missing or unreadable file as a miss.
+     *
+     * @param file   the file, or null for no cache
+     * @param reader reads the contents
+     * @return what the reader returned, or null on a miss
+     */
+    private static <T> T load(Path file, CacheReader<T> reader) {
+        if (file == null || !Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            return reader.read(in);
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable push/fold cache " + file + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Writes a cache file through a temporary file and a rename, so another
+     * process never reads half a file. Failing to write only costs the cache.
+     *
+     * @param file   the file, or null for no cache
+     * @param writer writes the contents
+     */
+    private static void save(Path file, CacheWriter writer) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.getParent());
+            Path temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                writer.write(out);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            logger.warn("Could not write push/fold cache " + file + ": " + e.getMessage());
+        }
+    }
+
+    private interface CacheReader<T> {
+        T read(DataInputStream in) throws IOException;
+    }
+
+    private interface CacheWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    /**
+     * The push and call frequencies of every position for one stack depth and
+     * number of players.
+     */
+    public static final class Chart {
+        private final int depth;
+        private final int players;
+        private final float[][] push;
+        private final float[][] call;
+
+        private Chart(int depth, int players) {
+            this.depth = depth;
+            this.players = players;
+            this.push = new float[players - 1][CLASSES];
+            this.call = new float[players * players][];
+            for (int pusher = 0; pusher < players - 1; pusher++) {
+                Arrays.fill(push[pusher], 0.5f);
+                for (int caller = pusher + 1; caller < players; caller++) {
+                    call[pusher * players + caller] = new float[CLASSES];
+                    Arrays.fill(call[pusher * players + caller], 0.5f);
+                }
+            }
+        }
+
+        /**
+         * Returns the stack depth the chart was solved for.
+         *
+         * @return the stack in big blinds
+         */
+        public int getDepth() {
+            return depth;
+        }
+
+        /**
+         * Returns the number of players the chart was solved for.
+         *
+         * @return the player count
+         */
+        public int getPlayers() {
+            return players;
+        }
+
+        /**
+         * Returns how often a hand class moves all in when everyone before it
+         * has folded.
+         *
+         * @param position the position, from 0 for the first to act up to the
+         *                 small blind
+         * @param cls      the hand class
+         * @return the push frequency between 0 and 1
+         */
+        public double pushFrequency(int position, int cls) {
+            return push[position][cls];
+        }
+
+        /**
+         * Returns how often a hand class calls an all in when everyone between
+         * the pusher and it has folded.
+         *
+         * @param pusher the pusher's position
+         * @param caller the caller's position, after the pusher
+         * @param cls    the hand class
+         * @return the call frequency between 0 and 1
+         */
+        public double callFrequency(int pusher, int caller, int cls) {
+            return call[pusher * players + caller][cls];
+        }
+
+        /**
+         * Decides whether to move all in with a hand.
+         *
+         * @param position the position, from 0 for the first to act up to the
+         *                 small blind
+         * @param hole     the hole cards as a mask
+         * @return true to push, false to fold
+         */
+        public boolean shouldPush(int position, long hole) {
+            return pushFrequency(position, handClass(hole)) >= 0.5;
+        }
+
+        /**
+         * Decides whether to call an all in with a hand.
+         *
+         * @param pusher the pusher's position
+         * @param caller the caller's position, after the pusher
+         * @param hole   the hole cards as a mask
+         * @return true to call, false to fold
+         */
+        public boolean shouldCall(int pusher, int caller, long hole) {
+            return callFrequency(pusher, caller, handClass(hole)) >= 0.5;
+        }
+
+        /**
+         * Returns the share of all starting hands a position pushes.
+         *
+         * @param position the position
+         * @return the share of the 1326 combos, between 0 and 1
+         */
+        public double pushRange(int position) {
+            double combos = 0;
+            for (int cls = 0; cls < CLASSES; cls++) {
+                combos += push[position][cls] * comboCount(cls);
+            }
+            return combos / HandRange.COMBOS;
+        }
+
+        private void write(DataOutputStream out) throws IOException {
+            out.writeInt(CHART_MAGIC);
+            out.writeInt(players);
+            out.writeInt(depth);
+            for (float[] strategy : push) {
+                for (float value : strategy) {
+                    out.writeFloat(value);
+                }
+            }
+            for (float[] strategy : call) {
+                if (strategy != null) {
+                    for (float value : strategy) {
+                        out.writeFloat(value);
+                    }
+                }
+            }
+        }
+    }
+}
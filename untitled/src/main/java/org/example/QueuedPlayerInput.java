@@ -0,0 +1,80 @@
+package org.example;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link PlayerInput} backed by a blocking queue. Any thread (a console
+ * reader, a socket handler or a test) can submit amounts, and the table thread
+ * picks them up when the seat has to act. An amount that arrives after a
+ * prompt timed out, and before the next prompt, answers a question the table
+ * no longer asks, so it is dropped instead of answering the next one.
+ */
+public class QueuedPlayerInput implements PlayerInput {
+
+    private final BlockingQueue<Integer> amounts = new LinkedBlockingQueue<>();
+    private int prompts;
+    private int expiredPrompt = -1;
+
+    /**
+     * Queues an amount for the next time the seat has to act, unless the
+     * current prompt has already timed out.
+     *
+     * @param amount the amount to bet, or -1 to fold
+     */
+    public synchronized void submit(int amount) {
+        if (expiredPrompt != prompts) {
+            amounts.offer(amount);
+        }
+    }
+
+    /**
+     * Drops any amounts that were submitted but not yet used.
+     */
+    public void clear() {
+        amounts.clear();
+    }
+
+    /**
+     * Starts accepting amounts for a new prompt. Subclasses that forward the
+     * prompt to the player call this first.
+     *
+     * @param player       the player who has to act
+     * @param amountToCall the amount needed to stay in the hand
+     * @param message      the instructions to show to the player
+     */
+    @Override
+    public synchronized void prompt(Player player, int amountToCall, String message) {
+        prompts++;
+    }
+
+    /**
+     * Takes the next queued amount, waiting up to the given timeout.
+     *
+     * @param timeoutMillis the maximum time to wait in milliseconds, or 0 or less
+     *                      to wait indefinitely
+     * @return the next amount, or null if the timeout expired
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    @Override
+    public Integer nextAmount(long timeoutMillis) throws InterruptedException {
+        if (timeoutMillis <= 0) {
+            return amounts.take();
+        }
+        Integer amount = amounts.poll(timeoutMillis, TimeUnit.MILLISECONDS);
+        if (amount == null) {
+            expire();
+        }
+        return amount;
+    }
+
+    /**
+     * Marks the current prompt as timed out and drops anything that arrived
+     * since the wait gave up.
+     */
+    private synchronized void expire() {
+        expiredPrompt = prompts;
+        amounts.clear();
+    }
+}
@@ -0,0 +1,123 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The single source of randomness for the engine. Every generator is a
+ * {@link SplitMix64} stream cut from one master seed: the master sequence is
+ * split into 2^24 windows of 2^40 values, reached by jumping ahead, so
+ * streams never overlap unless one draws more than 2^40 values. Code that
+ * needs reproducible results in parallel asks for a stream by a fixed id (a
+ * table number, a worker index) from the lower half of the windows; objects
+ * that just need their own generator take the next unused stream, and quick
+ * draws use the calling thread's stream, so no generator is shared between
+ * threads.
+ * <p>
+ * The master seed comes from the {@code holdem.seed} system property if set,
+ * and otherwise differs on every run.
+ */
+public class RandomService {
+
+    private static final long STREAM_STEPS = 1L << 40;
+    /** The number of streams that can be asked for by id. */
+    public static final int NUMBERED_STREAMS = 1 << 23;
+    private static final int SHARED_STREAMS = 1 << 22;
+    private static RandomService instance;
+
+    private final long masterSeed;
+    private final AtomicLong nextStream = new AtomicLong();
+    private final ThreadLocal<SplitMix64> threadStreams;
+
+    /**
+     * Constructs a service with a fixed master seed.
+     *
+     * @param masterSeed the seed every stream is derived from
+     */
+    public RandomService(long masterSeed) {
+        this.masterSeed = masterSeed;
+        AtomicLong nextThreadStream = new AtomicLong();
+        this.threadStreams = ThreadLocal.withInitial(() -> window(
+                NUMBERED_STREAMS + SHARED_STREAMS + nextThreadStream.getAndIncrement() % SHARED_STREAMS));
+    }
+
+    /**
+     * Provides the global access point for the service and creates it if it
+     * does not already exist.
+     *
+     * @return the shared service
+     */
+    public static synchronized RandomService getInstance() {
+        if (instance == null) {
+            Long seed = Long.getLong("holdem.seed");
+            instance = new RandomService(seed != null ? seed : new SplitMix64().nextLong());
+        }
+        return instance;
+    }
+
+    /**
+     * Replaces the shared service with one using the given master seed, so a
+     * run can be repeated. Generators already handed out are unaffected.
+     *
+     * @param masterSeed the new master seed
+     */
+    public static synchronized void reseed(long masterSeed) {
+        instance = new RandomService(masterSeed);
+    }
+
+    /**
+     * Returns the master seed.
+     *
+     * @return the seed every stream is derived from
+     */
+    public long getMasterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Returns a new generator for a numbered stream. The same id always gives
+     * the same sequence for the same master seed.
+     *
+     * @param id the stream number, such as a table or worker index, below
+     *           {@link #NUMBERED_STREAMS}
+     * @return a generator positioned at the start of the stream
+     */
+    public SplitMix64 stream(int id) {
+        if (id < 0 || id >= NUMBERED_STREAMS) {
+            throw new IllegalArgumentException("Stream ids run from 0 to " + (NUMBERED_STREAMS - 1));
+        }
+        return window(id);
+    }
+
+    /**
+     * Returns a generator for the next stream no one has used yet. Objects
+     * created in the same order get the same streams on every run; after
+     * 2^22 streams the first ones are handed out again.
+     *
+     * @return a generator on a fresh stream
+     */
+    public SplitMix64 nextStream() {
+        return window(NUMBERED_STREAMS + nextStream.getAndIncrement() % SHARED_STREAMS);
+    }
+
+    /**
+     * Returns the calling thread's own generator, for quick draws that do not
+     * need to be reproducible across thread schedules.
+     *
+     * @return the thread's generator
+     */
+    public SplitMix64 current() {
+        return threadStreams.get();
+    }
+
+    /**
+     * Returns a generator at the start of one window of the master sequence.
+     *
+     * @param window the window, from 0 to 2^24 - 1
+     * @return the generator
+     */
+    private SplitMix64 window(long window) {
+        SplitMix64 random = new SplitMix64(SplitMix64.mix(masterSeed));
+        random.jump(window * STREAM_STEPS);
+        return random;
+    }
+}
@@ -0,0 +1,219 @@
+package org.example;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects one fixed-width record per simulated hand outside the Java heap.
+ * Each worker thread takes its own {@link Writer}, which fills a direct
+ * {@link ByteBuffer} arena. When an arena is full it is either reduced
+ * straight into the writer's {@link ResultSummary} or, if the sink was given
+ * a spill file, appended to that file so the raw records are kept; either
+ * way the arena is then reused. Heap use is therefore one arena and one
+ * summary per writer, however many hands are recorded.
+ * <p>
+ * A record is {@value #RECORD_BYTES} bytes: table, hand number and pot as
+ * ints, then the winning seat, the winning hand category and the winner's and
+ * main loser's personalities as bytes.
+ */
+public class ResultSink implements Closeable {
+
+    /** The size of one hand record. */
+    public static final int RECORD_BYTES = 16;
+    private static final long MAP_CHUNK_BYTES = 64L << 20;
+
+    private final int arenaBytes;
+    private final FileChannel spill;
+    private final AtomicLong spillBytes = new AtomicLong();
+    private final List<Writer> writers = new ArrayList<>();
+
+    /**
+     * Constructs a sink that reduces each arena as soon as it fills.
+     *
+     * @param arenaBytes the size of each writer's arena, rounded down to whole
+     *                   records
+     */
+    public ResultSink(int arenaBytes) {
+        this.arenaBytes = Math.max(RECORD_BYTES, arenaBytes / RECORD_BYTES * RECORD_BYTES);
+        this.spill = null;
+    }
+
+    /**
+     * Constructs a sink that appends full arenas to a file, which is reduced
+     * through memory mapping when the results are summarized.
+     *
+     * @param arenaBytes the size of each writer's arena, rounded down to whole
+     *                   records
+     * @param spillFile  the file to write records to; it is truncated
+     * @throws IOException if the file cannot be opened
+     */
+    public ResultSink(int arenaBytes, Path spillFile) throws IOException {
+        this.arenaBytes = Math.max(RECORD_BYTES, arenaBytes / RECORD_BYTES * RECORD_BYTES);
+        this.spill = FileChannel.open(spillFile, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Creates a writer for one thread. Writers are not thread-safe; each
+     * worker should take its own.
+     *
+     * @return a new writer
+     */
+    public synchronized Writer writer() {
+        Writer writer = new Writer();
+        writers.add(writer);
+        return writer;
+    }
+
+    /**
+     * Returns the number of record bytes spilled to the file so far.
+     *
+     * @return the spilled bytes, 0 when there is no spill file
+     */
+    public long getSpilledBytes() {
+        return spillBytes.get();
+    }
+
+    /**
+     * Flushes every writer and reduces all records into one summary. Spilled
+     * records are mapped from the file in chunks that are reduced in parallel.
+     * Writers must not be in use while this runs.
+     *
+     * @param threads the number of threads reducing the spill file
+     * @return the totals of every record written
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *                              for the reduction
+     */
+    public synchronized ResultSummary summarize(int threads) throws InterruptedException {
+        ResultSummary total = new ResultSummary();
+        for (Writer writer : writers) {
+            writer.flush();
+            total.merge(writer.summary);
+        }
+        if (spill == null || spillBytes.get() == 0) {
+            return total;
+        }
+
+        List<Callable<ResultSummary>> chunks = new ArrayList<>();
+        long end = spillBytes.get();
+        for (long start = 0; start < end; start += MAP_CHUNK_BYTES) {
+            long from = start;
+            long length = Math.min(MAP_CHUNK_BYTES, end - start);
+            chunks.add(() -> {
+                MappedByteBuffer mapped = spill.map(FileChannel.MapMode.READ_ONLY, from, length);
+                mapped.order(ByteOrder.nativeOrder());
+                ResultSummary summary = new ResultSummary();
+                summary.reduce(mapped);
+                return summary;
+            });
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, threads));
+        try {
+            for (Future<ResultSummary> chunk : executor.invokeAll(chunks)) {
+                total.merge(chunk.get());
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Could not reduce the spilled results", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return total;
+    }
+
+    /**
+     * Closes the spill file, if any.
+     *
+     * @throws IOException if the file cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (spill != null) {
+            spill.close();
+        }
+    }
+
+    /**
+     * Hands a full arena to the spill file or reduces it, then empties it.
+     *
+     * @param arena   the records, written up to its position
+     * @param summary the writer's summary
+     */
+    private void drain(ByteBuffer arena, ResultSummary summary) {
+        arena.flip();
+        if (spill == null) {
+            summary.reduce(arena);
+        } else {
+            // Reserving the range first lets writers append without a lock
+            long offset = spillBytes.getAndAdd(arena.remaining());
+            try {
+                while (arena.hasRemaining()) {
+                    offset += spill.write(arena, offset);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not spill hand results", e);
+            }
+        }
+        arena.clear();
+    }
+
+    /**
+     * Appends hand records into one thread's arena.
+     */
+    public final class Writer {
+        private final ByteBuffer arena = ByteBuffer.allocateDirect(arenaBytes).order(ByteOrder.nativeOrder());
+        private final ResultSummary summary = new ResultSummary();
+
+        private Writer() {
+        }
+
+        /**
+         * Records the result of one hand.
+         *
+         * @param table             the table
+         * @param hand              the hand number at that table
+         * @param pot               the chips in the pot
+         * @param winnerSeat        the seat that won the pot
+         * @param category          the winner's {@link HandEvaluator} category
+         * @param winnerPersonality the winner's personality, or 0
+         * @param loserPersonality  the personality of the player who put the
+         *                          most into the pot without winning, or 0
+         */
+        public void record(int table, int hand, int pot, int winnerSeat, int category,
+                int winnerPersonality, int loserPersonality) {
+            if (!arena.hasRemaining()) {
+                drain(arena, summary);
+            }
+            arena.putInt(table)
+                    .putInt(hand)
+                    .putInt(pot)
+                    .put((byte) winnerSeat)
+                    .put((byte) category)
+                    .put((byte) winnerPersonality)
+                    .put((byte) loserPersonality);
+        }
+
+        /**
+         * Drains whatever records are in the arena.
+         */
+        void flush() {
+            if (arena.position() > 0) {
+                drain(arena, summary);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Totals reduced from hand result records: the number of hands and chips
+ * won, how often each hand category and seat won, and how often each
+ * personality beat each other personality. Its size is fixed, so a run of
+ * any length reduces into the same few arrays.
+ */
+public class ResultSummary {
+
+    /** Personalities are recorded from 0 (unknown) to 5. */
+    public static final int PERSONALITIES = 6;
+    private static final int SEATS = 64;
+
+    private long hands;
+    private long chips;
+    private final long[] categoryWins = new long[HandEvaluator.STRAIGHT_FLUSH + 1];
+    private final long[] seatWins = new long[SEATS];
+    private final long[] matchups = new long[PERSONALITIES * PERSONALITIES];
+
+    /**
+     * Adds every record between a buffer's position and its limit, leaving
+     * the position unchanged.
+     *
+     * @param records fixed-width records written by {@link ResultSink}
+     */
+    void reduce(ByteBuffer records) {
+        for (int offset = records.position(); offset < records.limit(); offset += ResultSink.RECORD_BYTES) {
+            hands++;
+            chips += records.getInt(offset + 8);
+            seatWins[records.get(offset + 12) & (SEATS - 1)]++;
+            categoryWins[records.get(offset + 13)]++;
+            matchups[records.get(offset + 14) * PERSONALITIES + records.get(offset + 15)]++;
+        }
+    }
+
+    /**
+     * Adds another summary into this one.
+     *
+     * @param other the summary to add
+     */
+    public void merge(ResultSummary other) {
+        hands += other.hands;
+        chips += other.chips;
+        for (int i = 0; i < categoryWins.length; i++) {
+            categoryWins[i] += other.categoryWins[i];
+        }
+        for (int i = 0; i < seatWins.length; i++) {
+            seatWins[i] += other.seatWins[i];
+        }
+        for (int i = 0; i < matchups.length; i++) {
+            matchups[i] += other.matchups[i];
+        }
+    }
+
+    /**
+     * Returns the number of hands recorded.
+     *
+     * @return the hand count
+     */
+    public long getHands() {
+        return hands;
+    }
+
+    /**
+     * Returns the chips in all recorded pots.
+     *
+     * @return the total of the pots
+     */
+    public long getChips() {
+        return chips;
+    }
+
+    /**
+     * Returns the number of hands won with a hand category.
+     *
+     * @param category a {@link HandEvaluator} category
+     * @return the number of wins
+     */
+    public long getCategoryWins(int category) {
+        return categoryWins[category];
+    }
+
+    /**
+     * Returns the number of hands won from a seat.
+     *
+     * @param seat the seat
+     * @return the number of wins
+     */
+    public long getSeatWins(int seat) {
+        return seatWins[seat];
+    }
+
+    /**
+     * Returns the number of hands a personality won against another.
+     *
+     * @param winner the winner's personality
+     * @param loser  the main loser's personality
+     * @return the number of wins
+     */
+    public long getMatchupWins(int winner, int loser) {
+        return matchups[winner * PERSONALITIES + loser];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(hands).append(" hands, average pot ").append(hands == 0 ? 0 : chips / hands).append('\n');
+        for (int category = HandEvaluator.STRAIGHT_FLUSH; category >= HandEvaluator.HIGH_CARD; category--) {
+            text.append(String.format("  category %d: %.2f%%%n", category,
+                    hands == 0 ? 0.0 : 100.0 * categoryWins[category] / hands));
+        }
+        return text.toString();
+    }
+}
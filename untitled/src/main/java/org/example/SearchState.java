@@ -0,0 +1,406 @@
+package org.example;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * A flat, copyable snapshot of one hand for tree search: stacks, bets and
+ * hole cards in primitive arrays indexed by position in the acting order
+ * (position 0 acts first after the button), and the board, dealt cards and
+ * seats still in the hand as bit masks. {@link #copyFrom(SearchState)} forks
+ * a scenario with three array copies, so a search can replay thousands of
+ * hands a millisecond without touching {@link Table} or {@link Player}.
+ * <p>
+ * Betting follows a simplified no-limit model: a raise adds half the pot (at
+ * least the minimum raise) and a street allows at most three raises. Pots are
+ * not split into side pots. Cards are drawn from, and hands scored under,
+ * the rules of the state's {@link GameVariant}.
+ */
+final class SearchState {
+
+    static final int FOLD = 0;
+    static final int CALL = 1;
+    static final int RAISE = 2;
+    static final int ACTIONS = 3;
+    private static final int MAX_RAISES = 3;
+    private static final int SHOWDOWN = 4;
+
+    private final int players;
+    private final GameVariant variant;
+    private final int[] stacks;
+    private final int[] bets;
+    private final long[] hole;
+    private long inHand;
+    private long needToAct;
+    private long board;
+    private long dealt;
+    private int pot;
+    private int currentBet;
+    private int raises;
+    private int minRaise;
+    private int street;
+    private int toAct;
+
+    /**
+     * Constructs an empty state.
+     *
+     * @param players the number of players, at most 64
+     * @param variant the variant being played
+     */
+    SearchState(int players, GameVariant variant) {
+        this.players = players;
+        this.variant = variant;
+        this.stacks = new int[players];
+        this.bets = new int[players];
+        this.hole = new long[players];
+    }
+
+    /**
+     * Sets up a player.
+     *
+     * @param position the position in the acting order
+     * @param stack    the chips behind
+     * @param bet      the chips already put in on this street
+     * @param cards    the hole cards as a mask, or 0 if unknown
+     * @param live     whether the player is still in the hand
+     */
+    void setPlayer(int position, int stack, int bet, long cards, boolean live) {
+        stacks[position] = stack;
+        bets[position] = bet;
+        hole[position] = cards;
+        dealt |= cards;
+        if (live) {
+            inHand |= 1L << position;
+        }
+    }
+
+    /**
+     * Sets up the board and the betting at the moment of the decision.
+     *
+     * @param boardCards the board as a mask
+     * @param potSize    the chips in the pot
+     * @param bet        the bet to match on this street
+     * @param raise      the smallest raise
+     * @param acting     the position to act now
+     * @param waiting    the positions that still have to act on this street
+     */
+    void setBetting(long boardCards, int potSize, int bet, int raise, int acting, long waiting) {
+        board = boardCards;
+        dealt |= boardCards;
+        pot = potSize;
+        currentBet = bet;
+        minRaise = Math.max(1, raise);
+        toAct = acting;
+        needToAct = waiting & inHand;
+        int cards = Long.bitCount(boardCards);
+        street = cards == 0 ? 0 : cards - 2;
+    }
+
+    /**
+     * Overwrites this state with another of the same size and variant.
+     *
+     * @param other the state to copy
+     */
+    void copyFrom(SearchState other) {
+        System.arraycopy(other.stacks, 0, stacks, 0, players);
+        System.arraycopy(other.bets, 0, bets, 0, players);
+        System.arraycopy(other.hole, 0, hole, 0, players);
+        inHand = other.inHand;
+        needToAct = other.needToAct;
+        board = other.board;
+        dealt = other.dealt;
+        pot = other.pot;
+        currentBet = other.currentBet;
+        raises = other.raises;
+        minRaise = other.minRaise;
+        street = other.street;
+        toAct = other.toAct;
+    }
+
+    /**
+     * Deals random hole cards to every live player whose cards are unknown.
+     *
+     * @param random the generator
+     */
+    void dealHidden(RandomGenerator random) {
+        for (int position = 0; position < players; position++) {
+            if ((inHand & 1L << position) != 0 && hole[position] == 0) {
+                long cards = 0;
+                for (int card = 0; card < variant.getHoleCards(); card++) {
+                    cards |= draw(random);
+                }
+                hole[position] = cards;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the hand is over.
+     *
+     * @return true after the showdown or when one player is left
+     */
+    boolean isTerminal() {
+        return street >= SHOWDOWN || Long.bitCount(inHand) == 1;
+    }
+
+    /**
+     * Returns the number of players.
+     *
+     * @return the player count
+     */
+    int playerCount() {
+        return players;
+    }
+
+    /**
+     * Returns the variant being played.
+     *
+     * @return the variant
+     */
+    GameVariant variant() {
+        return variant;
+    }
+
+    /**
+     * Returns a player's chips behind.
+     *
+     * @param position the player
+     * @return the stack
+     */
+    int stack(int position) {
+        return stacks[position];
+    }
+
+    /**
+     * Returns the chips in the pot.
+     *
+     * @return the pot
+     */
+    int pot() {
+        return pot;
+    }
+
+    /**
+     * Returns the position that acts next.
+     *
+     * @return the acting position
+     */
+    int toAct() {
+        return toAct;
+    }
+
+    /**
+     * Returns the actions open to the acting player as bits, {@code 1 << FOLD}
+     * and so on. Folding is only offered when there is something to call.
+     *
+     * @return the legal actions
+     */
+    int legalActions() {
+        int toCall = currentBet - bets[toAct];
+        int legal = 1 << CALL;
+        if (toCall > 0) {
+            legal |= 1 << FOLD;
+        }
+        if (raises < MAX_RAISES && stacks[toAct] > toCall && (canAct() & ~(1L << toAct)) != 0) {
+            legal |= 1 << RAISE;
+        }
+        return legal;
+    }
+
+    /**
+     * Closes the raising on this street, leaving only calls and folds.
+     */
+    void closeRaising() {
+        raises = MAX_RAISES;
+    }
+
+    /**
+     * Returns the total bet a raise by the acting player would make.
+     *
+     * @return the bet to raise to
+     */
+    int raiseTarget() {
+        return currentBet + Math.max(minRaise, pot / 2);
+    }
+
+    /**
+     * Chooses an action with a fixed rule of thumb: raise strong hands most of
+     * the time, call playable hands or a cheap price, and otherwise check or
+     * fold, with a little noise.
+     *
+     * @param random the generator
+     * @return the action
+     */
+    int defaultAction(RandomGenerator random) {
+        long cards = hole[toAct];
+        boolean strong;
+        boolean playable;
+        if (street == 0) {
+            strong = TableBatch.strongStart(cards);
+            playable = TableBatch.playableStart(cards);
+        } else {
+            int category = variant.category(variant.evaluate(cards, board));
+            strong = category >= HandEvaluator.TWO_PAIR;
+            playable = category >= HandEvaluator.PAIR;
+        }
+        int legal = legalActions();
+        int roll = random.nextInt(10);
+        if ((legal & 1 << RAISE) != 0 && (strong && roll < 6 || roll == 0)) {
+            return RAISE;
+        }
+        int toCall = currentBet - bets[toAct];
+        if (toCall == 0 || playable || toCall * 4 <= pot || roll == 1) {
+            return CALL;
+        }
+        return FOLD;
+    }
+
+    /**
+     * Applies an action for the acting player and moves the hand on, dealing
+     * board cards when a street closes.
+     *
+     * @param action FOLD, CALL or RAISE
+     * @param random the generator for board cards
+     */
+    void act(int action, RandomGenerator random) {
+        int position = toAct;
+        if (action == FOLD) {
+            inHand &= ~(1L << position);
+        } else if (action == CALL) {
+            pay(position, currentBet - bets[position]);
+        } else {
+            pay(position, raiseTarget() - bets[position]);
+            if (bets[position] > currentBet) {
+                currentBet = bets[position];
+                raises++;
+                needToAct = canAct();
+            }
+        }
+        needToAct &= ~(1L << position);
+        if (Long.bitCount(inHand) == 1) {
+            return;
+        }
+        if (needToAct == 0) {
+            nextStreet(random);
+        } else {
+            toAct = next(needToAct, position);
+        }
+    }
+
+    /**
+     * Returns a player's chips once the hand is over: the stack plus any share
+     * of the pot.
+     *
+     * @param position the player
+     * @return the chips the player ends with
+     */
+    int result(int position) {
+        if ((inHand & 1L << position) == 0) {
+            return stacks[position];
+        }
+        if (Long.bitCount(inHand) == 1) {
+            return stacks[position] + pot;
+        }
+        int best = -1;
+        int winners = 0;
+        int own = 0;
+        for (long live = inHand; live != 0; live &= live - 1) {
+            int other = Long.numberOfTrailingZeros(live);
+            int strength = variant.evaluate(hole[other], board);
+            if (strength > best) {
+                best = strength;
+                winners = 1;
+            } else if (strength == best) {
+                winners++;
+            }
+            if (other == position) {
+                own = strength;
+            }
+        }
+        return own == best ? stacks[position] + pot / winners : stacks[position];
+    }
+
+    /**
+     * Moves chips from a stack into the pot, going all in if short.
+     *
+     * @param position the player
+     * @param amount   the chips to put in
+     */
+    private void pay(int position, int amount) {
+        int paid = Math.min(amount, stacks[position]);
+        stacks[position] -= paid;
+        bets[position] += paid;
+        pot += paid;
+    }
+
+    /**
+     * Closes the street and deals the next one. Streets on which fewer than
+     * two players can bet are dealt straight through to the showdown.
+     *
+     * @param random the generator
+     */
+    private void nextStreet(RandomGenerator random) {
+        do {
+            street++;
+            for (int position = 0; position < players; position++) {
+                bets[position] = 0;
+            }
+            currentBet = 0;
+            raises = 0;
+            if (street == 1) {
+                board |= draw(random) | draw(random) | draw(random);
+            } else if (street < SHOWDOWN) {
+                board |= draw(random);
+            }
+            needToAct = canAct();
+            if (Long.bitCount(needToAct) < 2) {
+                needToAct = 0;
+            }
+        } while (needToAct == 0 && street < SHOWDOWN);
+        if (street < SHOWDOWN) {
+            toAct = next(needToAct, players - 1);
+        }
+    }
+
+    /**
+     * Returns the live players who still have chips to bet.
+     *
+     * @return the positions as bits
+     */
+    private long canAct() {
+        long able = 0;
+        for (long live = inHand; live != 0; live &= live - 1) {
+            int position = Long.numberOfTrailingZeros(live);
+            if (stacks[position] > 0) {
+                able |= 1L << position;
+            }
+        }
+        return able;
+    }
+
+    /**
+     * Finds the first position after the given one in a set, wrapping around.
+     *
+     * @param set      the positions as bits, not empty
+     * @param position the position to start after
+     * @return the next position in the set
+     */
+    private int next(long set, int position) {
+        long after = position + 1 >= 64 ? 0 : set & (-1L << (position + 1));
+        return Long.numberOfTrailingZeros(after != 0 ? after : set);
+    }
+
+    /**
+     * Draws a card of the variant's deck that is not yet dealt.
+     *
+     * @param random the generator
+     * @return the card's mask bit
+     */
+    private long draw(RandomGenerator random) {
+        long card;
+        do {
+            card = variant.cardMask(random.nextInt(variant.getDeckSize()));
+        } while ((dealt & card) != 0);
+        dealt |= card;
+        return card;
+    }
+}
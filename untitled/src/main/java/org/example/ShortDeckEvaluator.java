@@ -0,0 +1,84 @@
+package org.example;
+
+/**
+ * Evaluates Short Deck (six-plus) hands, played with the 36 cards from six to
+ * ace. Two rules differ from Texas Hold'em: the ace also plays low below the
+ * six, so A-6-7-8-9 is the lowest straight, and with fewer cards of each suit
+ * a flush is rarer than a full house and beats it.
+ * <p>
+ * Strengths are packed like {@link HandEvaluator}'s, with the category in the
+ * top bits, except that flushes carry the full house's place in the order and
+ * full houses the flush's, so strengths still compare as plain integers. Use
+ * {@link #category(int)} to read the category back. Straights and the five
+ * cards of a flush are looked up in {@link EvaluatorTables}, indexed by the
+ * 13-bit rank set.
+ */
+public final class ShortDeckEvaluator {
+
+    /** The lowest rank in the deck, the six. */
+    public static final int LOWEST_RANK = 4;
+
+    private static final int RANK_BITS = 0x1FFF;
+    private static final int FULL_HOUSE_ORDER = HandEvaluator.FLUSH;
+    private static final int FLUSH_ORDER = HandEvaluator.FULL_HOUSE;
+    private static final char[] STRAIGHTS = EvaluatorTables.SHORT_DECK_STRAIGHT_HIGH;
+    private static final char[] TOP_FIVE = EvaluatorTables.TOP_RANKS[5];
+
+    private ShortDeckEvaluator() {
+    }
+
+    /**
+     * Evaluates a hand.
+     *
+     * @param mask a hand mask of up to seven cards from the short deck
+     * @return the strength of the best five-card hand; higher is better
+     */
+    public static int evaluate(long mask) {
+        int hearts = (int) mask & RANK_BITS;
+        int clubs = (int) (mask >>> 16) & RANK_BITS;
+        int diamonds = (int) (mask >>> 32) & RANK_BITS;
+        int spades = (int) (mask >>> 48) & RANK_BITS;
+        int flushSuit = Integer.bitCount(hearts) >= 5 ? hearts
+                : Integer.bitCount(clubs) >= 5 ? clubs
+                : Integer.bitCount(diamonds) >= 5 ? diamonds
+                : Integer.bitCount(spades) >= 5 ? spades : 0;
+
+        int strength = HandEvaluator.evaluate(mask);
+        int category = HandEvaluator.category(strength);
+        if (flushSuit != 0) {
+            int straightFlush = STRAIGHTS[flushSuit];
+            if (straightFlush != 0) {
+                return HandEvaluator.strength(HandEvaluator.STRAIGHT_FLUSH, straightFlush, 0);
+            }
+            if (category == HandEvaluator.FOUR_OF_A_KIND) {
+                return strength;
+            }
+            return HandEvaluator.strength(FLUSH_ORDER, TOP_FIVE[flushSuit], 0);
+        }
+        if (category == HandEvaluator.FULL_HOUSE) {
+            int ties = strength & (1 << HandEvaluator.CATEGORY_SHIFT) - 1;
+            return FULL_HOUSE_ORDER << HandEvaluator.CATEGORY_SHIFT | ties;
+        }
+        if (category >= HandEvaluator.STRAIGHT) {
+            return strength;
+        }
+        int straight = STRAIGHTS[hearts | clubs | diamonds | spades];
+        if (straight != 0) {
+            return HandEvaluator.strength(HandEvaluator.STRAIGHT, straight, 0);
+        }
+        return strength;
+    }
+
+    /**
+     * Extracts the category of a strength returned by {@link #evaluate(long)}.
+     *
+     * @param strength a hand strength
+     * @return the category, from {@link HandEvaluator#HIGH_CARD} to
+     *         {@link HandEvaluator#STRAIGHT_FLUSH}
+     */
+    public static int category(int strength) {
+        int order = HandEvaluator.category(strength);
+        return order == FLUSH_ORDER ? HandEvaluator.FLUSH
+                : order == FULL_HOUSE_ORDER ? HandEvaluator.FULL_HOUSE : order;
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.random.RandomGenerator;
+
+/**
+ * A small, fast pseudo-random generator whose whole state is one {@code long}.
+ * Unlike {@link java.util.Random}, the state can be read and restored, which
+ * lets a game checkpoint record exactly where its shuffles will go next.
+ */
+public class SplitMix64 implements RandomGenerator {
+
+    static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicLong seedUniquifier = new AtomicLong(System.nanoTime());
+
+    private long state;
+
+    /**
+     * Constructs a generator with a seed that differs on every call.
+     */
+    public SplitMix64() {
+        this(seedUniquifier.addAndGet(GOLDEN_GAMMA) ^ System.nanoTime());
+    }
+
+    /**
+     * Constructs a generator with a fixed seed.
+     *
+     * @param seed the initial state
+     */
+    public SplitMix64(long seed) {
+        this.state = seed;
+    }
+
+    /**
+     * Returns the next pseudo-random 64-bit value.
+     *
+     * @return a pseudo-random long
+     */
+    @Override
+    public long nextLong() {
+        return mix(state += GOLDEN_GAMMA);
+    }
+
+    /**
+     * Scrambles a state into an output value. Callers that keep many generator
+     * states in a plain {@code long[]} advance a state by
+     * {@link #GOLDEN_GAMMA} and pass it here, without creating generators.
+     *
+     * @param z the advanced state
+     * @return a pseudo-random long
+     */
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Skips ahead as if {@link #nextLong()} had been called a number of times.
+     * Because the state only ever advances by a constant, this takes one
+     * multiply-add however far it jumps.
+     *
+     * @param steps the number of values to skip
+     */
+    public void jump(long steps) {
+        state += steps * GOLDEN_GAMMA;
+    }
+
+    /**
+     * Returns the current state, from which the same sequence can be replayed.
+     *
+     * @return the generator state
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Restores a state previously returned by {@link #getState()}.
+     *
+     * @param state the generator state
+     */
+    public void setState(long state) {
+        this.state = state;
+    }
+}
@@ -0,0 +1,17 @@
+package org.example;
+
+/**
+ * Enumerates the betting rounds of a hand of Texas Hold'em.
+ */
+public enum Street {
+    /** Betting after the hole cards are dealt. */
+    PREFLOP,
+    /** Betting after the first three table cards. */
+    FLOP,
+    /** Betting after the fourth table card. */
+    TURN,
+    /** Betting after the fifth table card. */
+    RIVER,
+    /** The remaining hands are compared and the pot is awarded. */
+    SHOWDOWN
+}
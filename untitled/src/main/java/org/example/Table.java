@@ -4,6 +4,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.example.EventType.Bet;
 import static org.example.EventType.Fold;
@@ -16,14 +17,34 @@ public class Table {
 
     private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
 
-    Scanner scanner = new Scanner(System.in);
-
     private EventBus eventBus = EventBus.getInstance();
-    private List<Player> players = new ArrayList<>();
+    private static final int MAX_SEATS = 64;
+    private static final AtomicInteger NEXT_TABLE_ID = new AtomicInteger();
+    private final int tableId = NEXT_TABLE_ID.getAndIncrement();
+    private Player[] seats = new Player[10];
+    private long occupiedSeats;
+    private long activeSeats;
+    private int button = -1;
+    private int[] actionOrder = new int[10];
+    private final List<Player> players = new SeatView();
     private int pot;
     private List<Card> tableCards = new ArrayList<>();
     private Deck deck;
-    private Map<Player, Integer> playerRanks = new HashMap<>();
+    private int[] seatStrengths = new int[10];
+    private long rankedSeats;
+    private int rankedBoardSize;
+    private long evaluations;
+    private HandCache handCache = HandCache.shared();
+    private Map<Player, PlayerInput> playerInputs = new HashMap<>();
+    private long actionTimeoutMillis = 0;
+    private boolean headless = false;
+    private final TableStatePublisher statePublisher = new TableStatePublisher();
+    private PlayerStatistics statistics = new PlayerStatistics();
+    private final OpponentRanges ranges = new OpponentRanges();
+    private PushFoldSolver pushFoldSolver;
+    private final Map<Player, OutsCalculator> outs = new HashMap<>();
+    private int bigBlind;
+    private GameVariant variant = GameVariant.HOLDEM;
 
     /**
      * Creates a builder instance for constructing a Table.
@@ -34,17 +55,31 @@ public class Table {
         return new tableBuilder();
     }
 
+    /**
+     * Creates a builder that re-arms an existing table for a new game instead
+     * of constructing one, keeping its deck, seats and per-player state.
+     * 
+     * @param table The table to reuse.
+     * @return A builder working on the given table.
+     */
+    public static tableBuilder reuse(Table table) {
+        return new tableBuilder(table);
+    }
+
     public static class tableBuilder {
         private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
-        private final Table table = new Table();
+        private final Table table;
         private final playerFactory playerFactory;
         private final deckFactory deckFactory;
 
         public tableBuilder() {
+            this(new Table());
+        }
 
+        private tableBuilder(Table table) {
+            this.table = table;
             this.playerFactory = createPlayerFactory();
             this.deckFactory = createDeckFactory();
-
         }
 
         /**
@@ -66,13 +101,29 @@ public class Table {
         }
 
         /**
-         * Constructs the deck for the table using the deckFactory.
+         * Sets the variant the table deals. Call it before {@link #createDeck()}
+         * so the deck matches; a deck already built is replaced.
+         * 
+         * @param variant The variant to deal.
+         * @return The builder instance with the variant set.
+         */
+        public tableBuilder variant(GameVariant variant) {
+            this.table.setVariant(variant);
+            if (this.table.getDeck() != null) {
+                createDeck();
+            }
+            return this;
+        }
+
+        /**
+         * Constructs the deck for the table using the deckFactory, with the
+         * cards of the table's variant.
          * 
          * @return The builder instance with a constructed deck.
          */
         public tableBuilder createDeck() {
 
-            Deck deck = deckFactory.createDeck();
+            Deck deck = deckFactory.createDeck(this.table.getVariant());
             this.table.setDeck(deck);
 
             return this;
@@ -92,6 +143,46 @@ public class Table {
             return this;
         }
 
+        /**
+         * Re-arms the table with players from an earlier game: each player is
+         * reset to the given stack, the first gets the button, and they are
+         * seated in list order. The pot, the board and the hand ranks are
+         * cleared. No players, cards or collections are created, so a
+         * simulation that reuses one table and one set of players allocates
+         * nothing per game once warmed up.
+         * 
+         * @param players The players to seat, typically the ones that started
+         *                the previous game.
+         * @param stack   The starting stack for every player.
+         * @return The builder instance with the players re-seated.
+         */
+        public tableBuilder resetPlayers(List<Player> players, int stack) {
+            for (int i = 0; i < players.size(); i++) {
+                Player player = players.get(i);
+                player.reset(stack);
+                player.setDealer(i == 0);
+            }
+            this.table.setPlayers(players);
+            this.table.clearHand();
+            return this;
+        }
+
+        /**
+         * Puts the table's deck back together and shuffles it from a seed, so
+         * games replayed with the same seed deal the same cards. A table without
+         * a deck gets one first.
+         * 
+         * @param seed The seed for the deck's shuffles.
+         * @return The builder instance with a reseeded deck.
+         */
+        public tableBuilder reseed(long seed) {
+            if (this.table.getDeck() == null) {
+                createDeck();
+            }
+            this.table.getDeck().reset(seed);
+            return this;
+        }
+
         /**
          * Finalizes the construction of the Table and returns the constructed object.
          * 
@@ -104,12 +195,118 @@ public class Table {
     }
 
     /**
-     * Sets the players at the table.
+     * Sets the players at the table, seating them in list order from seat 0.
+     * The player marked as dealer gets the button.
      * 
      * @param players The list of players to set.
      */
     public void setPlayers(List<Player> players) {
-        this.players = players;
+        // Only the table's own view changes while seating, so only it is copied
+        List<Player> newPlayers = players == this.players ? new ArrayList<>(players) : players;
+        for (int seat = 0; seat < seats.length; seat++) {
+            if (seats[seat] != null) {
+                seats[seat].setSeat(-1);
+                seats[seat] = null;
+            }
+        }
+        occupiedSeats = 0;
+        activeSeats = 0;
+        button = -1;
+        ensureSeats(newPlayers.size());
+        for (int seat = 0; seat < newPlayers.size(); seat++) {
+            Player player = newPlayers.get(seat);
+            takeSeat(player, seat);
+            if (player.getDealer() && button < 0) {
+                button = seat;
+            }
+        }
+    }
+
+    /**
+     * Grows the seat array so it can hold the given number of seats.
+     * 
+     * @param count The number of seats needed.
+     */
+    private void ensureSeats(int count) {
+        if (count > MAX_SEATS) {
+            throw new IllegalArgumentException("A table has at most " + MAX_SEATS + " seats");
+        }
+        if (count > seats.length) {
+            int length = Math.min(MAX_SEATS, Math.max(count, seats.length * 2));
+            seats = Arrays.copyOf(seats, length);
+            seatStrengths = Arrays.copyOf(seatStrengths, length);
+            actionOrder = new int[length];
+        }
+    }
+
+    /**
+     * Puts a player in an empty seat.
+     * 
+     * @param player The player to seat.
+     * @param seat   The seat number.
+     */
+    private void takeSeat(Player player, int seat) {
+        seats[seat] = player;
+        player.setSeat(seat);
+        occupiedSeats |= 1L << seat;
+        rankedSeats &= ~(1L << seat);
+        if (player.getInHand()) {
+            activeSeats |= 1L << seat;
+        }
+    }
+
+    /**
+     * Folds a player's hand and takes the seat out of the hand.
+     * 
+     * @param player The player who folds.
+     */
+    private void fold(Player player) {
+        player.foldCards();
+        activeSeats &= ~(1L << player.getSeat());
+        ranges.fold(player.getSeat());
+    }
+
+    /**
+     * Counts the players who are still in the hand.
+     * 
+     * @return The number of seats still in the hand.
+     */
+    private int countActive() {
+        return Long.bitCount(activeSeats & occupiedSeats);
+    }
+
+    /**
+     * Returns the first occupied seat after the given seat, wrapping around the
+     * table.
+     * 
+     * @param seat The seat to start after, or -1 to start at seat 0.
+     * @return The next occupied seat, or -1 if the table is empty.
+     */
+    private int nextOccupiedSeat(int seat) {
+        if (occupiedSeats == 0) {
+            return -1;
+        }
+        long after = seat + 1 >= MAX_SEATS ? 0 : occupiedSeats & (-1L << (seat + 1));
+        return Long.numberOfTrailingZeros(after != 0 ? after : occupiedSeats);
+    }
+
+    /**
+     * Writes the occupied seats in acting order, starting left of the button,
+     * into the reusable action order array.
+     * 
+     * @return The number of seats written.
+     */
+    private int fillActionOrder() {
+        long after = button + 1 >= MAX_SEATS ? 0 : occupiedSeats & (-1L << (button + 1));
+        long before = occupiedSeats & ~after;
+        int count = 0;
+        for (long bits = after; bits != 0; bits &= bits - 1) {
+            actionOrder[count++] = Long.numberOfTrailingZeros(bits);
+        }
+        for (long bits = before; bits != 0; bits &= bits - 1) {
+            actionOrder[count++] = Long.numberOfTrailingZeros(bits);
+        }
+        return count;
     }
 
     /**
@@ -122,7 +319,229 @@ public class Table {
     }
 
     /**
-     * Returns the list of players at the table.
+     * Backs a player's seat with the given input source. Players with an input
+     * are treated as human players; all other players are played by bots.
+     * 
+     * @param player The player whose decisions come from the input.
+     * @param input  The input to read decisions from.
+     */
+    public void setPlayerInput(Player player, PlayerInput input) {
+        playerInputs.put(player, input);
+    }
+
+    /**
+     * Sets how long a human player has to act before the table acts for them.
+     * When the timeout expires the player checks if there is nothing to call and
+     * folds otherwise.
+     * 
+     * @param timeoutMillis The time allowed per action in milliseconds, or 0 to
+     *                      wait indefinitely.
+     */
+    public void setActionTimeout(long timeoutMillis) {
+        this.actionTimeoutMillis = timeoutMillis;
+    }
+
+    /**
+     * Turns console output and the bots' thinking pause on or off. Headless
+     * tables are used when nobody is watching the console, for example when the
+     * table is hosted by the game server.
+     * 
+     * @param headless True to run without console output or delays.
+     */
+    public void setHeadless(boolean headless) {
+        this.headless = headless;
+    }
+
+    /**
+     * Returns whether the table runs without console output or delays.
+     * 
+     * @return True if the table is headless.
+     */
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    /**
+     * Returns the publisher that streams this table's state to spectators.
+     * 
+     * @return The table's state publisher.
+     */
+    public TableStatePublisher getStatePublisher() {
+        return statePublisher;
+    }
+
+    /**
+     * Returns the statistics collected for the players at this table. Bots can
+     * read their opponents' tendencies from it while deciding.
+     * 
+     * @return The table's player statistics.
+     */
+    public PlayerStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Replaces the statistics registry, so several tables can feed one shared
+     * registry.
+     * 
+     * @param statistics The registry to record into.
+     */
+    public void setStatistics(PlayerStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    /**
+     * Replaces the cache used to evaluate hands. Tables use the process-wide
+     * {@link HandCache#shared()} cache unless told otherwise.
+     *
+     * @param handCache The cache to evaluate hands through.
+     */
+    public void setHandCache(HandCache handCache) {
+        this.handCache = handCache;
+    }
+
+    /**
+     * Returns the id that tells this table's events apart from other tables'.
+     * 
+     * @return The table id.
+     */
+    public int getTableId() {
+        return tableId;
+    }
+
+    /**
+     * Returns the hole card ranges the table keeps for every seat in the
+     * current hand.
+     * 
+     * @return The table's opponent ranges.
+     */
+    public OpponentRanges getOpponentRanges() {
+        return ranges;
+    }
+
+    /**
+     * Lets short-stacked bots play preflop from push/fold charts: once blinds
+     * are posted, a bot with at most {@link PushFoldSolver#MAX_DEPTH} big
+     * blinds either moves all in or folds as the chart for its stack and the
+     * number of players says.
+     * 
+     * @param solver The solver to take charts from, or null to turn this off.
+     */
+    public void setPushFoldSolver(PushFoldSolver solver) {
+        this.pushFoldSolver = solver;
+    }
+
+    /**
+     * Records a player's action in the statistics and the opponent ranges,
+     * judged by how the table bet changed while the player acted.
+     * 
+     * @param player    The player who acted.
+     * @param betBefore The table bet before the player acted.
+     * @param betAfter  The table bet after the player acted.
+     */
+    private void recordAction(Player player, int betBefore, int betAfter) {
+        boolean preflop = tableCards.isEmpty();
+        if (!player.getInHand()) {
+            statistics.recordFold(player);
+        } else if (betAfter > betBefore) {
+            statistics.recordRaise(player, preflop);
+            ranges.observe(player.getSeat(), OpponentRanges.RAISE);
+        } else {
+            statistics.recordCall(player, player.getCurrentBet(), preflop);
+            ranges.observe(player.getSeat(),
+                    player.getCurrentBet() > 0 ? OpponentRanges.CALL : OpponentRanges.CHECK);
+        }
+    }
+
+    /**
+     * Checks whether a player has been raising far more often than calling over
+     * enough hands to be treated as a maniac whose raises mean little.
+     * 
+     * @param player The player to check, may be null.
+     * @return True if the player's statistics show a very loose, aggressive
+     *         style.
+     */
+    private boolean isManiac(Player player) {
+        if (player == null) {
+            return false;
+        }
+        PlayerStatistics.Snapshot stats = statistics.snapshot(player);
+        return stats.getHands() >= 20 && stats.getPfr() >= 0.4 && stats.getAggressionFactor() >= 3;
+    }
+
+    /**
+     * Sends the table's state to spectators, if there are any.
+     * 
+     * @param acting The player whose turn it is, or null if nobody is acting.
+     */
+    private void publishState(Player acting) {
+        if (statePublisher.hasObservers()) {
+            statePublisher.publish(this, acting);
+        }
+    }
+
+    /**
+     * Posts a player's fold, bet or win to the event bus with this table, the
+     * player's seat and the amount, unless no one is subscribed to it.
+     * 
+     * @param type   The type of event.
+     * @param player The player it concerns.
+     * @param amount The chips bet or won, or 0.
+     */
+    private void postAction(EventType type, Player player, int amount) {
+        if (!eventBus.hasSubscribers(type)) {
+            return;
+        }
+        String description = switch (type) {
+            case Fold -> "Player " + player.getName() + " folded";
+            case Win -> "Player " + player.getName() + " won " + amount + " dollars";
+            default -> "Player " + player.getName() + " bet " + amount;
+        };
+        eventBus.post(new GameEvent(type, description, tableId, player.getSeat(), amount));
+    }
+
+    /**
+     * Prints a message to the console unless the table is headless.
+     * 
+     * @param message The message to print.
+     */
+    private void announce(String message) {
+        if (!headless) {
+            System.out.println(message);
+        }
+    }
+
+    /**
+     * Pauses so a watching player can follow the bots' decisions. Headless
+     * tables do not pause.
+     * 
+     * @throws InterruptedException If the thread sleep is interrupted.
+     */
+    private void botThinkingDelay() throws InterruptedException {
+        if (!headless) {
+            Thread.sleep(4000);
+        }
+    }
+
+    /**
+     * Finds the input source for a player. Human players fall back to the
+     * console when no other input has been set.
+     * 
+     * @param player The player to look up.
+     * @return The player's input, or null if the player is a bot.
+     */
+    private PlayerInput inputFor(Player player) {
+        PlayerInput input = playerInputs.get(player);
+        if (input == null && player.isHuman()) {
+            input = ConsoleInput.system();
+            playerInputs.put(player, input);
+        }
+        return input;
+    }
+
+    /**
+     * Returns the players at the table in seat order. The list is a live view
+     * of the seats; removing from it removes the player from the table.
      * 
      * @return A list of players.
      */
@@ -135,14 +554,21 @@ public class Table {
      */
     public void dealPlayers() {
 
-        for (Player player : players) {
+        int count = fillActionOrder();
+        for (int i = 0; i < count; i++) {
             // give 1 cards
+            Player player = seats[actionOrder[i]];
             player.addCards(deck.removeCard());
+            statistics.recordHandDealt(player);
         }
-        for (Player player : players) {
-            // give 1 cards
-            player.addCards(deck.removeCard());
+        for (int round = 1; round < variant.getHoleCards(); round++) {
+            for (int i = 0; i < count; i++) {
+                // give 1 cards
+                seats[actionOrder[i]].addCards(deck.removeCard());
+            }
         }
+        rankedSeats = 0;
+        ranges.newHand(activeSeats & occupiedSeats);
     }
 
     /**
@@ -155,6 +581,9 @@ public class Table {
         for (int i = 0; i < 3; i++) {
             tableCards.add(deck.removeCard());
         }
+        rankedSeats = 0;
+        ranges.boardChanged(HandEvaluator.mask(tableCards));
+        publishState(null);
     }
 
     /**
@@ -165,6 +594,9 @@ public class Table {
         deck.removeCard();
         // Deal one card (turn or river)
         tableCards.add(deck.removeCard());
+        rankedSeats = 0;
+        ranges.boardChanged(HandEvaluator.mask(tableCards));
+        publishState(null);
     }
 
     /**
@@ -180,6 +612,26 @@ public class Table {
         return deck;
     }
 
+    /**
+     * Sets the variant the table deals and scores. The deck has to hold the
+     * variant's cards, see {@link tableBuilder#variant(GameVariant)}.
+     * 
+     * @param variant The variant.
+     */
+    public void setVariant(GameVariant variant) {
+        this.variant = variant;
+        rankedSeats = 0;
+    }
+
+    /**
+     * Returns the variant the table deals.
+     * 
+     * @return The variant, Texas Hold'em unless set.
+     */
+    public GameVariant getVariant() {
+        return variant;
+    }
+
     /**
      * Resets the table for a new hand, clearing players' hands, the table cards,
      * and the pot.
@@ -190,66 +642,113 @@ public class Table {
         }
         tableCards.clear();
         pot = 0;
+        bigBlind = 0;
         deck.shuffleDeck();
-        playerRanks.clear();
+        rankedSeats = 0;
         for (Player player : players) {
             player.setInHand(true);
         }
+        activeSeats = occupiedSeats;
+        publishState(null);
+    }
+
+    /**
+     * Clears what is left of a hand: the board, the pot and the remembered
+     * ranks. Used when a table is re-armed for a new game.
+     */
+    private void clearHand() {
+        tableCards.clear();
+        pot = 0;
+        bigBlind = 0;
+        rankedSeats = 0;
+        activeSeats = occupiedSeats;
     }
 
     /**
-     * Evaluates the hands of all players still in the game to determine their
-     * ranks.
+     * Discards the hand ranks worked out so far, so they are computed again
+     * from the players' current cards. Ranks are computed on demand by
+     * {@link #getHandRank(Player)} and kept until a card is dealt, so this is
+     * only needed after cards are changed outside the table.
      */
     public void evaluateHands() {
+        rankedSeats = 0;
+    }
 
-        for (Player player : players) {
-            if (player.getInHand()) {
-                int rank = 9; // Default to the weakest hand (high card)
-                if (player.hasStraightFlush(tableCards)) {
-                    rank = 1;
-                } else if (player.hasFourOfAKind(tableCards)) {
-                    rank = 2;
-                } else if (player.hasFullHouse(tableCards)) {
-                    rank = 3;
-                } else if (player.hasFlush(tableCards)) {
-                    rank = 4;
-                } else if (player.hasStraight(tableCards)) {
-                    rank = 5;
-                } else if (player.hasThreeOfAKind(tableCards)) {
-                    rank = 6;
-                } else if (player.hasTwoPair(tableCards)) {
-                    rank = 7;
-                } else if (player.hasPair(tableCards)) {
-                    rank = 8;
-                }
-                playerRanks.put(player, rank);
-            }
+    /**
+     * Returns a player's hand rank on the current board, from 1 (straight
+     * flush) to 9 (high card), in the order of the table's variant.
+     * 
+     * @param player The player, who should be seated at this table.
+     * @return The player's rank.
+     */
+    public int getHandRank(Player player) {
+        return 9 - HandEvaluator.category(getHandStrength(player));
+    }
+
+    /**
+     * Returns the strength of a player's hand on the current board, as the
+     * table's variant evaluates it; higher is better, and hands of the same
+     * category are told apart by their kickers. The strength is evaluated the
+     * first time it is read on a street and remembered until the next card is
+     * dealt, so players who fold or hands that end before a decision needs it
+     * cost no evaluation.
+     * 
+     * @param player The player, who should be seated at this table.
+     * @return The player's hand strength.
+     */
+    public int getHandStrength(Player player) {
+        if (tableCards.size() != rankedBoardSize) {
+            rankedSeats = 0;
+            rankedBoardSize = tableCards.size();
+        }
+        int seat = player.getSeat();
+        if (seat < 0 || seat >= seats.length || seats[seat] != player) {
+            return strengthOf(player);
+        }
+        if ((rankedSeats & 1L << seat) == 0) {
+            seatStrengths[seat] = strengthOf(player);
+            rankedSeats |= 1L << seat;
         }
+        return seatStrengths[seat];
+    }
 
+    /**
+     * Returns the number of hand evaluations the table has run, for measuring
+     * how many the lazy ranks save.
+     * 
+     * @return The evaluation count.
+     */
+    public long getEvaluationCount() {
+        return evaluations;
+    }
+
+    /**
+     * Evaluates a player's hand on the current board.
+     * 
+     * @param player The player.
+     * @return The strength; the top bits give the variant's order of
+     *         categories.
+     */
+    private int strengthOf(Player player) {
+        evaluations++;
+        if (variant != GameVariant.HOLDEM) {
+            return variant.evaluate(HandEvaluator.mask(player.getCards()), HandEvaluator.mask(tableCards));
+        }
+        return handCache.evaluate(HandEvaluator.mask(tableCards) | HandEvaluator.mask(player.getCards()));
     }
 
     /**
      * Organizes players in a betting queue based on the dealer's position.
+     * The table keeps its own acting order, so this is only needed by callers
+     * that want the order as a list.
      * 
      * @return A list of players ordered for betting.
      */
     public List<Player> organizeBettingQueue() {
-        int dealerIndex = -1;
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getDealer()) {
-                dealerIndex = i;
-                break;
-            }
-        }
-
-        // Reorganize the list
-        List<Player> reorganizedPlayers = new ArrayList<>();
-        for (int i = dealerIndex + 1; i < players.size(); i++) {
-            reorganizedPlayers.add(players.get(i));
-        }
-        for (int i = 0; i <= dealerIndex; i++) {
-            reorganizedPlayers.add(players.get(i));
+        int count = fillActionOrder();
+        List<Player> reorganizedPlayers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            reorganizedPlayers.add(seats[actionOrder[i]]);
         }
         return reorganizedPlayers;
 
@@ -259,24 +758,12 @@ public class Table {
      * Shifts the dealer position to the next player in the sequence.
      */
     public void setNextDealer() {
-        int currentDealerIndex = -1;
-
-        // Find the index of the current dealer
-        for (int i = 0; i < players.size(); i++) {
-            if (players.get(i).getDealer()) {
-                currentDealerIndex = i;
-                break;
-            }
-        }
-
-        if (currentDealerIndex != -1) {
-            // Set the current dealer to false
-            players.get(currentDealerIndex).setDealer(false);
-
-            // Set the next player as the dealer
-            int nextDealerIndex = (currentDealerIndex + 1) % players.size();
-            players.get(nextDealerIndex).setDealer(true);
+        if (button < 0) {
+            return;
         }
+        seats[button].setDealer(false);
+        button = nextOccupiedSeat(button);
+        seats[button].setDealer(true);
     }
 
     /**
@@ -307,6 +794,9 @@ public class Table {
      *                      information is highlighted.
      */
     private void displayTable(Player currentPlayer) {
+        if (headless) {
+            return;
+        }
         int currentTableBet = 0;
         System.out.println("\n");
         System.out.println("Table Cards:");
@@ -341,6 +831,9 @@ public class Table {
                     System.out.print(card.getRank() + card.getSuit() + " ");
                 }
                 System.out.print("\n");
+                if (player == currentPlayer && !tableCards.isEmpty() && variant == GameVariant.HOLDEM) {
+                    System.out.println(outsFor(player).describe());
+                }
             } else {
                 System.out.println("Folded \n");
             }
@@ -360,80 +853,90 @@ public class Table {
      */
     public Boolean simulateBettingRound() throws InterruptedException {
 
-        int playersRemaining = 0;
-        for (Player player : players) {
-            if (player.getInHand()) {
-                playersRemaining += 1;
-            }
-        }
-        if (playersRemaining == 1) {
+        if (countActive() == 1) {
             return true;
         }
-        String userInput;
         int tempCurrentBet = 0;
-        Integer currentBet = 0; // Starting bet
+        int currentBet = 0; // Starting bet
         int betAmount;
-        // create new list when dealer is last
-        for (Player player : players) {
+        Player aggressor = null;
+        // act in order starting left of the dealer
+        int actingCount = fillActionOrder();
+        for (int i = 0; i < actingCount; i++) {
+            Player player = seats[actionOrder[i]];
 
             displayTable(player);
+            publishState(player);
 
-            int rank = playerRanks.get(player);
-            if (player.getInHand()) {
+            // Players who are all in have nothing left to bet
+            if (player.getInHand() && player.getMoney() > 0) {
+                int betBefore = currentBet;
                 // Personalities ranked 1 - 5
                 // 1 being a cautious player
                 // 5 being a very aggressive player
-                if (Objects.equals(player.getName(), "You") && player.getInHand()) {
-                    System.out.println("Call the Current Bet, Raise, or type '-1' to fold");
-                    int input = 0;
+                PlayerInput input = inputFor(player);
+                PushFoldSolver.Chart chart = input == null ? shortStackChart(player, actingCount) : null;
+                if (input != null) {
+                    input.prompt(player, currentBet, "Call the Current Bet, Raise, or type '-1' to fold");
+                    int amount = 0;
                     do {
-                        // Check if the next input is an integer
-                        while (!scanner.hasNextInt()) {
-                            System.out.println("Stuck");
-                            String put = scanner.next();
-                            System.out
-                                    .println(put + " is not a valid integer. Please enter a number greater or equal to "
-                                            + currentBet.toString());
-
+                        Integer next = input.nextAmount(actionTimeoutMillis);
+                        if (next == null) {
+                            // Out of time: check if possible, otherwise fold
+                            if (currentBet == 0) {
+                                announce("Time is up, " + player.getName() + " checks.");
+                                amount = 0;
+                                tempCurrentBet = currentBet;
+                            } else {
+                                announce("Time is up, " + player.getName() + " folds.");
+                                fold(player);
+                                logger.info("Player {} folds.", player.getName());
+                                postAction(Fold, player, 0);
+                            }
+                            break;
                         }
-
-                        userInput = scanner.next();
-                        if (Objects.equals(userInput, "-1")) {
-                            player.foldCards();
+                        if (next == -1) {
+                            fold(player);
                             break;
                         }
-                        input = Integer.parseInt(userInput);
-                        tempCurrentBet = input;
-                        System.out.print("\n");
+                        amount = next;
+                        tempCurrentBet = amount;
+                        announce("");
 
                         // Check if the input is within the range
-                        if (input == player.getMoney() && input < currentBet) {
+                        if (amount == player.getMoney() && amount < currentBet) {
 
-                            System.out.println("You are All In, Good Luck!");
+                            announce("You are All In, Good Luck!");
                             tempCurrentBet = currentBet;
-                            currentBet = input;
+                            currentBet = amount;
                         }
-                        if (input == player.getMoney() && input > currentBet) {
+                        if (amount == player.getMoney() && amount > currentBet) {
 
-                            System.out.println("You are All In, Good Luck!");
+                            announce("You are All In, Good Luck!");
                         }
-                        if (input < currentBet) {
-                            System.out.println("Please enter a number greater or equal to " + currentBet.toString());
+                        if (amount < currentBet) {
+                            input.prompt(player, currentBet,
+                                    "Please enter a number greater or equal to " + currentBet);
                         }
-                        if (input > player.getMoney()) {
-                            System.out.println("Please enter a number less than or equal to your current stack");
+                        if (amount > player.getMoney()) {
+                            input.prompt(player, currentBet,
+                                    "Please enter a number less than or equal to your current stack");
                         }
-                    } while ((input < currentBet || input > player.getMoney()));
+                    } while ((amount < currentBet || amount > player.getMoney()));
 
                     if (player.getInHand()) {
-                        player.betMoney(input);
-                        player.setCurrentBet(input);
-                        addToPot(input);
+                        player.betMoney(amount);
+                        player.setCurrentBet(amount);
+                        addToPot(amount);
                         currentBet = tempCurrentBet;
                     }
 
+                } else if (chart != null) {
+                    botThinkingDelay();
+                    currentBet = pushOrFold(chart, player, currentBet, i, actingCount, aggressor);
                 } else {
-                    Thread.sleep(4000);
+                    botThinkingDelay();
+                    int rank = getHandRank(player);
                     switch (player.getPersonality()) {
                         case 1, 2, 3:
                             int personality = player.getPersonality();
@@ -454,7 +957,7 @@ public class Table {
                                     player.setCurrentBet(currentBet);
 
                                 }
-                            } else if ((currentBet / betAmount) > 1) {
+                            } else if (currentBet > 0 && (betAmount == 0 || (currentBet / betAmount) > 1)) {
                                 if (personality == 1 && rank < 3) {
                                     // personality 1 never folds full house or better
                                     player.betMoney(currentBet);
@@ -470,12 +973,22 @@ public class Table {
                                     player.betMoney(currentBet);
                                     addToPot(currentBet);
                                     player.setCurrentBet(currentBet);
+                                } else if (rank < 9 && isManiac(aggressor)) {
+                                    // a pair or better is worth a call against a known maniac
+                                    player.betMoney(currentBet);
+                                    addToPot(currentBet);
+                                    player.setCurrentBet(currentBet);
+                                } else if (callsOnEquity(player, currentBet)) {
+                                    // the opponents' actions leave this hand ahead often enough
+                                    player.betMoney(currentBet);
+                                    addToPot(currentBet);
+                                    player.setCurrentBet(currentBet);
                                 } else {
                                     // if current bet is more than double the calculated amount
                                     // and player does not have a strong hand, player folds
-                                    player.foldCards();
-                                    logger.info("Player " + player.getName() + " folds.");
-                                    eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                    fold(player);
+                                    logger.info("Player {} folds.", player.getName());
+                                    postAction(Fold, player, 0);
                                 }
                             } else {
                                 // player calls the current bet
@@ -502,11 +1015,13 @@ public class Table {
                                     addToPot(currentBet);
                                     player.setCurrentBet(currentBet);
                                 }
-                            } else if ((currentBet / betAmount) > 1) {
+                            } else if (currentBet > 0 && (betAmount == 0 || (currentBet / betAmount) > 1)
+                                    && !callsOnEquity(player, currentBet)) {
                                 // player folds of current bet is more than double the calculated bet amount
-                                player.foldCards();
-                                logger.info("Player " + player.getName() + " folds.");
-                                eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                // unless the opponents' ranges make the call profitable
+                                fold(player);
+                                logger.info("Player {} folds.", player.getName());
+                                postAction(Fold, player, 0);
                             } else {
                                 // player calls the current bet
                                 player.betMoney(currentBet);
@@ -520,9 +1035,9 @@ public class Table {
                                 // player folds if the pot is larger than half player's stack
                                 // and player has nothing
                                 // See calculate bet amount for logic
-                                player.foldCards();
-                                logger.info("Player " + player.getName() + " folds.");
-                                eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                fold(player);
+                                logger.info("Player {} folds.", player.getName());
+                                postAction(Fold, player, 0);
                             } else {
                                 player.betMoney(betAmount);
                                 currentBet = betAmount;
@@ -532,16 +1047,126 @@ public class Table {
 
                     }
                     if (player.getInHand()) {
-                        eventBus.postMessage(Bet, "Player " + player.getName() + " bet " + currentBet);
+                        postAction(Bet, player, currentBet);
                     }
 
                 }
+                recordAction(player, betBefore, currentBet);
+                if (currentBet > betBefore) {
+                    aggressor = player;
+                }
             }
         }
 
         return checkReRaise(currentBet);
     }
 
+    /**
+     * Returns the push/fold chart a bot should play from, if it is short
+     * stacked before the flop of a hand with blinds.
+     * 
+     * @param player      The bot about to act.
+     * @param actingCount The number of players in the acting order.
+     * @return The chart for the bot's stack, or null to play normally.
+     */
+    private PushFoldSolver.Chart shortStackChart(Player player, int actingCount) {
+        if (pushFoldSolver == null || variant != GameVariant.HOLDEM || bigBlind <= 0 || !tableCards.isEmpty()
+                || player.getMoney() > PushFoldSolver.MAX_DEPTH * bigBlind) {
+            return null;
+        }
+        return pushFoldSolver.chart((double) player.getMoney() / bigBlind, actingCount);
+    }
+
+    /**
+     * Plays a short-stacked bot's turn from a push/fold chart. With no bet to
+     * face it moves all in or checks; facing a bet it calls or folds. Blinds
+     * act first here, so the acting order is turned into chart positions with
+     * the small blind second to last, and a bet from a later chart position is
+     * answered with the big blind's calling range against that position.
+     * 
+     * @param chart       The chart for the bot's stack.
+     * @param player      The bot acting.
+     * @param currentBet  The current highest bet.
+     * @param order       The bot's index in the acting order.
+     * @param actingCount The number of players in the acting order.
+     * @param aggressor   The player who made the current bet, or null.
+     * @return The current bet after the bot acts.
+     */
+    private int pushOrFold(PushFoldSolver.Chart chart, Player player, int currentBet, int order, int actingCount,
+            Player aggressor) {
+        int players = chart.getPlayers();
+        long hole = HandEvaluator.mask(player.getCards());
+        int position = Math.min((order + actingCount - 2) % actingCount, players - 1);
+        if (currentBet == 0) {
+            if (position == players - 1 || !chart.shouldPush(position, hole)) {
+                player.setCurrentBet(0);
+                return 0;
+            }
+            int amount = player.getMoney();
+            addToPot(player.betMoney(amount));
+            player.setCurrentBet(amount);
+            postAction(Bet, player, amount);
+            return amount;
+        }
+        int pusher = 0;
+        for (int i = 0; i < actingCount; i++) {
+            if (aggressor != null && actionOrder[i] == aggressor.getSeat()) {
+                pusher = Math.min((i + actingCount - 2) % actingCount, players - 2);
+            }
+        }
+        int caller = position > pusher ? position : players - 1;
+        if (chart.shouldCall(pusher, caller, hole)) {
+            addToPot(player.betMoney(currentBet));
+            player.setCurrentBet(currentBet);
+            postAction(Bet, player, currentBet);
+        } else {
+            fold(player);
+            logger.info("Player {} folds.", player.getName());
+            postAction(Fold, player, 0);
+        }
+        return currentBet;
+    }
+
+    /**
+     * Checks whether a bot's hand is ahead of the ranges its opponents have
+     * shown often enough to pay the price of a call, or draws to a straight or
+     * better often enough on the next card.
+     * 
+     * @param player The bot deciding.
+     * @param toCall The amount the bot has to put in.
+     * @return True if the bot's equity or drawing odds are at least the pot odds.
+     */
+    private boolean callsOnEquity(Player player, int toCall) {
+        if (toCall <= 0) {
+            return true;
+        }
+        if (variant != GameVariant.HOLDEM) {
+            // the range and outs models are built for Texas Hold'em
+            return false;
+        }
+        double price = (double) toCall / (pot + toCall);
+        if (ranges.equity(player.getSeat(), HandEvaluator.mask(player.getCards())) >= price) {
+            return true;
+        }
+        // a draw to a straight or better is worth the price if the next card completes it often enough
+        OutsCalculator draws = outsFor(player);
+        return draws.getUnseenCards() > 0 && tableCards.size() >= 3 && tableCards.size() < 5
+                && (double) draws.getOutsTo(HandEvaluator.STRAIGHT) / draws.getUnseenCards() >= price;
+    }
+
+    /**
+     * Returns a player's outs calculator, brought up to date with the
+     * player's cards and the board.
+     * 
+     * @param player The player.
+     * @return The player's calculator.
+     */
+    private OutsCalculator outsFor(Player player) {
+        OutsCalculator calculator = outs.computeIfAbsent(player, p -> new OutsCalculator());
+        calculator.update(player.getCards(), tableCards);
+        return calculator;
+    }
+
     /**
      * Calculates the bet amount for a player based on their personality and hand
      * strength.
@@ -615,99 +1240,97 @@ public class Table {
      * @throws InterruptedException If the thread sleep is interrupted.
      */
     private Boolean checkReRaise(int currentBet) throws InterruptedException {
-        int playersRemaining = 0;
-        for (Player player : players) {
-            if (player.getInHand()) {
-                playersRemaining += 1;
-            }
-        }
-        if (playersRemaining == 1) {
+        if (countActive() == 1) {
             return true;
         }
         int input = 0;
-        for (Player player : players) {
-            int rank = playerRanks.get(player);
-            if (player.getInHand()) {
+        int actingCount = fillActionOrder();
+        for (int i = 0; i < actingCount; i++) {
+            Player player = seats[actionOrder[i]];
+            if (player.getInHand() && player.getMoney() > 0) {
                 displayTable(player);
-                String userInput;
+                publishState(player);
                 int betDiff = currentBet - player.getCurrentBet();
-                if (Objects.equals(player.getName(), "You") && betDiff != 0) {
-                    System.out.println("Call " + betDiff + " dollars or type '-1' to fold");
+                PlayerInput playerInput = inputFor(player);
+                if (playerInput != null && betDiff != 0) {
+                    playerInput.prompt(player, betDiff, false, "Call " + betDiff + " dollars or type '-1' to fold");
+                    boolean called;
                     do {
-                        // Check if the next input is an integer
-
-                        userInput = scanner.next();
-                        if (Objects.equals(userInput, "-1")) {
-                            player.foldCards();
-                            logger.info("Player " + player.getName() + " folds.");
-                            eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                        Integer next = playerInput.nextAmount(actionTimeoutMillis);
+                        if (next == null || next == -1) {
+                            // Folding is the only choice left when time is up
+                            fold(player);
+                            logger.info("Player {} folds.", player.getName());
+                            postAction(Fold, player, 0);
                             break;
                         }
-                        input = Integer.parseInt(userInput);
-                        System.out.print("\n");
+                        input = next;
+                        announce("");
 
-                        // Check if the input is within the range
-                        if (input + player.getCurrentBet() != currentBet) {
-                            System.out.println("Please enter a number equal to the Re-Raise");
+                        // Check if the input calls, or puts a short stack all in
+                        called = input == betDiff || input < betDiff && input == player.getMoney();
+                        if (!called) {
+                            playerInput.prompt(player, betDiff, false, "Please enter a number equal to the Re-Raise");
                         }
 
-                    } while (input + player.getCurrentBet() != currentBet);
+                    } while (!called);
                     if (player.getInHand()) {
                         player.betMoney(input);
                         player.setCurrentBet(input);
                         addToPot(input);
                     }
 
-                } else {
-                    Thread.sleep(4000);
+                } else if (playerInput == null) {
+                    botThinkingDelay();
                     if (player.getCurrentBet() < currentBet) {
+                        int rank = getHandRank(player);
                         switch (player.getPersonality()) {
                             case 1:
                                 // personality 1 will not call a re-raise
                                 // unless they have a straight or better
-                                if (rank < 6) {
+                                if (rank < 6 || callsOnEquity(player, currentBet - player.getCurrentBet())) {
                                     player.betMoney(currentBet - player.getCurrentBet());
                                     player.setCurrentBet(currentBet);
                                 } else {
-                                    player.foldCards();
-                                    logger.info("Player " + player.getName() + " folds.");
-                                    eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                    fold(player);
+                                    logger.info("Player {} folds.", player.getName());
+                                    postAction(Fold, player, 0);
                                 }
                                 break;
                             case 2:
                                 // personality 2 will not call a re-raise
                                 // unless they have a three of a kind or better
-                                if (rank < 7) {
+                                if (rank < 7 || callsOnEquity(player, currentBet - player.getCurrentBet())) {
                                     player.betMoney(currentBet - player.getCurrentBet());
                                     player.setCurrentBet(currentBet);
                                 } else {
-                                    player.foldCards();
-                                    logger.info("Player " + player.getName() + " folds.");
-                                    eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                    fold(player);
+                                    logger.info("Player {} folds.", player.getName());
+                                    postAction(Fold, player, 0);
                                 }
                                 break;
                             case 3:
                                 // personality 3 will not call a re-raise
                                 // unless they have a two pair or better
-                                if (rank < 8) {
+                                if (rank < 8 || callsOnEquity(player, currentBet - player.getCurrentBet())) {
                                     player.betMoney(currentBet - player.getCurrentBet());
                                     player.setCurrentBet(currentBet);
                                 } else {
-                                    player.foldCards();
-                                    logger.info("Player " + player.getName() + " folds.");
-                                    eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                    fold(player);
+                                    logger.info("Player {} folds.", player.getName());
+                                    postAction(Fold, player, 0);
                                 }
                                 break;
                             case 4:
                                 // personality 4 will not call a re-raise
                                 // unless they have a pair or better
-                                if (rank < 9) {
+                                if (rank < 9 || callsOnEquity(player, currentBet - player.getCurrentBet())) {
                                     player.betMoney(currentBet - player.getCurrentBet());
                                     player.setCurrentBet(currentBet);
                                 } else {
-                                    player.foldCards();
-                                    logger.info("Player " + player.getName() + " folds.");
-                                    eventBus.postMessage(Fold, "Player " + player.getName() + " folded");
+                                    fold(player);
+                                    logger.info("Player {} folds.", player.getName());
+                                    postAction(Fold, player, 0);
                                 }
                                 break;
                             default:
@@ -716,10 +1339,13 @@ public class Table {
                                 player.setCurrentBet(currentBet);
                         }
                         if (player.getInHand()) {
-                            eventBus.postMessage(Bet, "Player " + player.getName() + " bet " + currentBet);
+                            postAction(Bet, player, currentBet);
                         }
                     }
                 }
+                if (betDiff != 0) {
+                    recordAction(player, currentBet, currentBet);
+                }
             }
 
             player.setCurrentBet(0);
@@ -729,32 +1355,65 @@ public class Table {
     }
 
     /**
-     * Distributes the pot to the winning player at the end of a round.
+     * Distributes the pot at the end of a hand. The player left in the hand,
+     * or at a showdown the player with the strongest hand, wins it; players
+     * whose hands are exactly as strong split it, with any odd chips going to
+     * the first of them after the button.
      */
     public void awardPotToWinner() {
-        Player winningPlayer = null;
-        int winningRank = -1;
-        String name = null;
+        int playersInHand = 0;
+        for (Player player : players) {
+            if (player.getInHand()) {
+                playersInHand += 1;
+            }
+        }
 
+        long winners = 0;
+        int best = Integer.MIN_VALUE;
         for (Player player : players) {
             if (player.getInHand()) {
-                int playerRank = playerRanks.get(player);
-                if (playerRank > winningRank) {
-                    winningRank = playerRank;
-                    winningPlayer = player;
-                    name = player.getName();
+                // a pot won without a showdown needs no hand evaluated
+                int strength = playersInHand > 1 ? getHandStrength(player) : 0;
+                if (strength > best) {
+                    best = strength;
+                    winners = 0;
+                }
+                if (strength == best) {
+                    winners |= 1L << player.getSeat();
                 }
             }
         }
 
-        if (winningPlayer != null) {
-            winningPlayer.addMoney(pot); // Give the pot to the winning player
-            logger.info("Player " + winningPlayer.getName() + " wins the pot of " + pot);
-            eventBus.postMessage(EventType.Win, "Player " + name + " won " + pot + " dollars");
-        } else {
+        if (winners == 0) {
             logger.info("No winner. Pot remains.");
             eventBus.postMessage(EventType.Win, "No winner, pot remains");
+            return;
+        }
+        int share = pot / Long.bitCount(winners);
+        int oddChips = pot - share * Long.bitCount(winners);
+        for (int step = 1; step <= seats.length; step++) {
+            int seat = Math.floorMod(button + step, seats.length);
+            if ((winners & 1L << seat) == 0) {
+                continue;
+            }
+            Player winningPlayer = seats[seat];
+            int amount = share + oddChips;
+            oddChips = 0;
+            winningPlayer.addMoney(amount);
+            statistics.recordWin(winningPlayer, amount);
+            if (logger.isInfoEnabled()) {
+                logger.info("Player {} wins the pot of {}", winningPlayer.getName(), amount);
+            }
+            postAction(EventType.Win, winningPlayer, amount);
         }
+        if (playersInHand > 1) {
+            for (Player player : players) {
+                if (player.getInHand()) {
+                    statistics.recordShowdown(player, (winners & 1L << player.getSeat()) != 0);
+                }
+            }
+        }
+        publishState(null);
     }
 
     /**
@@ -776,6 +1435,7 @@ public class Table {
 
             }
             players.get(0).setDealer(true);
+            players.get(0).setHuman(true);
             return players;
         }
     }
@@ -787,12 +1447,22 @@ public class Table {
      */
     static class deckFactory {
         public Deck createDeck() {
+            return createDeck(GameVariant.HOLDEM);
+        }
+
+        /**
+         * Creates the deck a variant is dealt from.
+         * 
+         * @param variant The variant.
+         * @return A new deck holding the variant's cards.
+         */
+        public Deck createDeck(GameVariant variant) {
             List<Card> cards = new ArrayList<>();
             List<Character> suits = List.of('♥', '♣', '♦', '♠');
             // List<Character> suits = List.of('H', 'C', 'D', 'S');
             List<String> ranks = Arrays.asList("2", "3", "4", "5", "6", "7", "8", "9", "10", "J", "Q", "K", "A");
             for (Character suit : suits) {
-                for (String rank : ranks) {
+                for (String rank : ranks.subList(variant.getLowestRank(), ranks.size())) {
                     cards.add(createCard(suit, rank));
                 }
             }
@@ -819,12 +1489,172 @@ public class Table {
      * @param playerName The name of the player to be removed.
      */
     public void removePlayer(String playerName) {
-        int index = 0;
-        for (Player player : players) {
+        for (long bits = occupiedSeats; bits != 0; bits &= bits - 1) {
+            Player player = seats[Long.numberOfTrailingZeros(bits)];
             if (Objects.equals(player.getName(), playerName)) {
-                players.remove(index);
+                removePlayer(player);
+            }
+        }
+    }
+
+    /**
+     * Removes a player from the table. If the player held the dealer button it
+     * passes to the next player.
+     * 
+     * @param player The player to be removed.
+     */
+    public void removePlayer(Player player) {
+        int seat = player.getSeat();
+        if (seat < 0 || seat >= seats.length || seats[seat] != player) {
+            return;
+        }
+        seats[seat] = null;
+        occupiedSeats &= ~(1L << seat);
+        activeSeats &= ~(1L << seat);
+        player.setSeat(-1);
+        rankedSeats &= ~(1L << seat);
+        playerInputs.remove(player);
+        outs.remove(player);
+        if (seat == button) {
+            player.setDealer(false);
+            button = nextOccupiedSeat(seat);
+            if (button >= 0) {
+                seats[button].setDealer(true);
             }
-            index += 1;
+        }
+    }
+
+    /**
+     * Removes every player who has no money left, passing the dealer button on
+     * if its holder is removed.
+     * 
+     * @return The removed players, in seat order.
+     */
+    public List<Player> removeBrokePlayers() {
+        List<Player> broke = new ArrayList<>();
+        for (long bits = occupiedSeats; bits != 0; bits &= bits - 1) {
+            Player player = seats[Long.numberOfTrailingZeros(bits)];
+            if (player.getMoney() == 0) {
+                broke.add(player);
+            }
+        }
+        for (Player player : broke) {
+            removePlayer(player);
+        }
+        return broke;
+    }
+
+    /**
+     * Seats a player who moves to this table from another one in the lowest
+     * free seat. The player gets the dealer button if nobody at the table
+     * holds it.
+     * 
+     * @param player The player to seat.
+     */
+    public void seatPlayer(Player player) {
+        player.setDealer(false);
+        player.foldCards();
+        player.setCurrentBet(0);
+        int seat = Long.numberOfTrailingZeros(~occupiedSeats);
+        ensureSeats(seat + 1);
+        takeSeat(player, seat);
+        if (button < 0) {
+            button = seat;
+            player.setDealer(true);
+        }
+    }
+
+    /**
+     * Posts the forced bets for a hand as dead money: every player pays the
+     * ante, then the first two players in betting order pay the small and big
+     * blind. Forced bets go straight into the pot and do not count towards the
+     * betting round, and a player who cannot cover them is all in.
+     * 
+     * @param smallBlind The small blind.
+     * @param bigBlind   The big blind.
+     * @param ante       The ante paid by every player, or 0.
+     */
+    public void postBlinds(int smallBlind, int bigBlind, int ante) {
+        int count = fillActionOrder();
+        if (count < 2) {
+            return;
+        }
+        if (ante > 0) {
+            for (int i = 0; i < count; i++) {
+                addToPot(seats[actionOrder[i]].betMoney(ante));
+            }
+        }
+        Player small = seats[actionOrder[0]];
+        Player big = seats[actionOrder[1]];
+        addToPot(small.betMoney(smallBlind));
+        addToPot(big.betMoney(bigBlind));
+        this.bigBlind = bigBlind;
+        if (logger.isInfoEnabled()) {
+            logger.info("Blinds {}/{} posted by {} and {}", smallBlind, bigBlind, small.getName(), big.getName());
+        }
+    }
+
+    /**
+     * A list view of the occupied seats in seat order, so callers can keep
+     * working with the players as a list.
+     */
+    private class SeatView extends AbstractList<Player> {
+
+        @Override
+        public Player get(int index) {
+            if (index < 0 || index >= size()) {
+                throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + size() + " players");
+            }
+            long bits = occupiedSeats;
+            for (int i = 0; i < index; i++) {
+                bits &= bits - 1;
+            }
+            return seats[Long.numberOfTrailingZeros(bits)];
+        }
+
+        @Override
+        public int size() {
+            return Long.bitCount(occupiedSeats);
+        }
+
+        @Override
+        public Player remove(int index) {
+            Player player = get(index);
+            removePlayer(player);
+            return player;
+        }
+
+        @Override
+        public Iterator<Player> iterator() {
+            return new Iterator<>() {
+                private long remaining = occupiedSeats;
+                private Player last;
+
+                @Override
+                public boolean hasNext() {
+                    return (remaining & occupiedSeats) != 0;
+                }
+
+                @Override
+                public Player next() {
+                    remaining &= occupiedSeats;
+                    if (remaining == 0) {
+                        throw new NoSuchElementException();
+                    }
+                    last = seats[Long.numberOfTrailingZeros(remaining)];
+                    remaining &= remaining - 1;
+                    return last;
+                }
+
+                @Override
+                public void remove() {
+                    if (last == null) {
+                        throw new IllegalStateException();
+                    }
+                    removePlayer(last);
+                    last = null;
+                }
+            };
         }
     }
 
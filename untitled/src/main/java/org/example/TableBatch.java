@@ -0,0 +1,779 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * A simulation core that keeps a whole batch of tables in primitive arrays
+ * instead of {@link Table} and {@link Player} objects. Seat data (stacks,
+ * bets, hole cards, strengths, flags) is stored at index
+ * {@code table * seatsPerTable + seat}, and table data (pot, board, button,
+ * generator state) at index {@code table}, so a worker advancing a range of
+ * tables walks memory in order and allocates nothing per hand. A table can be
+ * copied to an ordinary {@link Table} with {@link #toTable(int)} for display
+ * or for the rest of the API, and copied back with
+ * {@link #loadFrom(int, Table)}.
+ * <p>
+ * Bots here play a simple fixed policy: raise once per street with strong
+ * hands, call with playable hands or a cheap price, and otherwise check or
+ * fold. Pots, including side pots for all-in players, are settled exactly, so
+ * chips are never created or lost.
+ * <p>
+ * Every table of a batch deals the same {@link GameVariant}. Before the flop
+ * the bots apply the same tests to the ranks of all their hole cards, so in
+ * Omaha they look at four cards instead of two.
+ */
+public class TableBatch {
+
+    private static final byte SEATED = 1;
+    private static final byte IN_HAND = 2;
+    private static final int MAX_TABLES_PER_TASK = 1024;
+
+    private final int tableCount;
+    private final int seatsPerTable;
+    private final int[] stacks;
+    private final int[] bets;
+    private final int[] committed;
+    private final int[] strengths;
+    private final long[] holeCards;
+    private final byte[] flags;
+    private final byte[] personalities;
+    private final int[] pots;
+    private final long[] boards;
+    private final long[] dealtCards;
+    private final int[] buttons;
+    private final int[] handsPlayed;
+    private final long[] randomStates;
+    private final GameVariant variant;
+    private final Metrics metrics = Metrics.getInstance();
+    private int smallBlind = 5;
+    private int bigBlind = 10;
+
+    /**
+     * Allocates a batch of empty tables.
+     *
+     * @param tableCount    the number of tables
+     * @param seatsPerTable the number of seats at each table, from 2 to 10
+     * @param seed          the master seed; table {@code t} deals from stream
+     *                      {@code t} of a {@link RandomService} with this seed
+     */
+    public TableBatch(int tableCount, int seatsPerTable, long seed) {
+        this(tableCount, seatsPerTable, seed, GameVariant.HOLDEM);
+    }
+
+    /**
+     * Allocates a batch of empty tables that deal a variant.
+     *
+     * @param tableCount    the number of tables
+     * @param seatsPerTable the number of seats at each table, from 2 to 10
+     * @param seed          the master seed; table {@code t} deals from stream
+     *                      {@code t} of a {@link RandomService} with this seed
+     * @param variant       the variant every table deals
+     */
+    public TableBatch(int tableCount, int seatsPerTable, long seed, GameVariant variant) {
+        if (seatsPerTable < 2 || seatsPerTable > 10) {
+            throw new IllegalArgumentException("Tables have between 2 and 10 seats");
+        }
+        this.tableCount = tableCount;
+        this.seatsPerTable = seatsPerTable;
+        this.variant = variant;
+        int seatCount = Math.multiplyExact(tableCount, seatsPerTable);
+        this.stacks = new int[seatCount];
+        this.bets = new int[seatCount];
+        this.committed = new int[seatCount];
+        this.strengths = new int[seatCount];
+        this.holeCards = new long[seatCount];
+        this.flags = new byte[seatCount];
+        this.personalities = new byte[seatCount];
+        this.pots = new int[tableCount];
+        this.boards = new long[tableCount];
+        this.dealtCards = new long[tableCount];
+        this.buttons = new int[tableCount];
+        this.handsPlayed = new int[tableCount];
+        this.randomStates = new long[tableCount];
+        RandomService random = new RandomService(seed);
+        for (int table = 0; table < tableCount; table++) {
+            buttons[table] = -1;
+            randomStates[table] = random.stream(table).getState();
+        }
+    }
+
+    /**
+     * Sets the blinds posted at every table.
+     *
+     * @param smallBlind the small blind
+     * @param bigBlind   the big blind
+     */
+    public void setBlinds(int smallBlind, int bigBlind) {
+        this.smallBlind = smallBlind;
+        this.bigBlind = bigBlind;
+    }
+
+    /**
+     * Seats a player with the given stack.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @param stack the player's chips
+     */
+    public void seat(int table, int seat, int stack) {
+        seat(table, seat, stack, 0);
+    }
+
+    /**
+     * Seats a player with the given stack and personality.
+     *
+     * @param table       the table
+     * @param seat        the seat
+     * @param stack       the player's chips
+     * @param personality the personality recorded with the player's results,
+     *                    from 1 to 5, or 0 if unknown
+     */
+    public void seat(int table, int seat, int stack, int personality) {
+        int index = index(table, seat);
+        stacks[index] = stack;
+        personalities[index] = (byte) personality;
+        flags[index] = SEATED;
+        holeCards[index] = 0;
+        bets[index] = 0;
+        committed[index] = 0;
+    }
+
+    /**
+     * Seats a player with the given stack in every seat of every table.
+     *
+     * @param stack the chips each player starts with
+     */
+    public void seatAll(int stack) {
+        for (int table = 0; table < tableCount; table++) {
+            for (int seat = 0; seat < seatsPerTable; seat++) {
+                seat(table, seat, stack);
+            }
+        }
+    }
+
+    /**
+     * Returns the number of tables in the batch.
+     *
+     * @return the table count
+     */
+    public int getTableCount() {
+        return tableCount;
+    }
+
+    /**
+     * Returns the number of seats at each table.
+     *
+     * @return the seats per table
+     */
+    public int getSeatsPerTable() {
+        return seatsPerTable;
+    }
+
+    /**
+     * Returns a player's chips.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @return the stack
+     */
+    public int getStack(int table, int seat) {
+        return stacks[index(table, seat)];
+    }
+
+    /**
+     * Returns whether a seat is taken by a player with chips.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @return true if the seat is taken
+     */
+    public boolean isSeated(int table, int seat) {
+        return (flags[index(table, seat)] & SEATED) != 0;
+    }
+
+    /**
+     * Returns whether a player is still in the current or last hand.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @return true if the player has not folded
+     */
+    public boolean isInHand(int table, int seat) {
+        return (flags[index(table, seat)] & IN_HAND) != 0;
+    }
+
+    /**
+     * Returns the strength of a player's hand at the end of the last hand,
+     * see {@link GameVariant#evaluate(long, long)}.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @return the strength, or 0 if the player folded before showdown
+     */
+    public int getStrength(int table, int seat) {
+        return strengths[index(table, seat)];
+    }
+
+    /**
+     * Returns the number of hands a table has played.
+     *
+     * @param table the table
+     * @return the hand count
+     */
+    public int getHandsPlayed(int table) {
+        return handsPlayed[table];
+    }
+
+    /**
+     * Returns the chips at a table, in stacks and in the pot.
+     *
+     * @param table the table
+     * @return the total chips
+     */
+    public long getChips(int table) {
+        long chips = pots[table];
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            chips += stacks[index(table, seat)];
+        }
+        return chips;
+    }
+
+    /**
+     * Plays one hand at every table in a range.
+     *
+     * @param fromTable the first table, inclusive
+     * @param toTable   the last table, exclusive
+     * @return the number of hands played; tables with fewer than two players
+     *         left are skipped
+     */
+    public int playHands(int fromTable, int toTable) {
+        return playHands(fromTable, toTable, null);
+    }
+
+    /**
+     * Plays one hand at every table in a range and records each result.
+     *
+     * @param fromTable the first table, inclusive
+     * @param toTable   the last table, exclusive
+     * @param results   receives one record per hand, or null
+     * @return the number of hands played
+     */
+    public int playHands(int fromTable, int toTable, ResultSink.Writer results) {
+        int played = 0;
+        for (int table = fromTable; table < toTable; table++) {
+            if (playHand(table, results)) {
+                played++;
+            }
+        }
+        return played;
+    }
+
+    /**
+     * Plays a number of hands at every table, splitting the tables into
+     * ranges shared out among worker threads. Each table draws from its own
+     * generator, so the outcome does not depend on the number of threads.
+     *
+     * @param handsPerTable the number of hands to play at each table
+     * @param threads       the number of worker threads
+     * @return the number of hands played
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *                              for the workers
+     */
+    public long playAll(int handsPerTable, int threads) throws InterruptedException {
+        return playAll(handsPerTable, threads, null);
+    }
+
+    /**
+     * Plays a number of hands at every table on worker threads, each worker
+     * recording its hands through its own writer. The tables are split into
+     * at least one range per thread, and into ranges of at most 1024 tables,
+     * so small batches still use every thread.
+     *
+     * @param handsPerTable the number of hands to play at each table
+     * @param threads       the number of worker threads
+     * @param sink          where hand results are recorded, or null
+     * @return the number of hands played
+     * @throws InterruptedException if the thread is interrupted while waiting
+     *                              for the workers
+     */
+    public long playAll(int handsPerTable, int threads, ResultSink sink) throws InterruptedException {
+        int workers = Math.max(1, threads);
+        int tasks = Math.max(1, Math.min(tableCount,
+                Math.max(workers, (tableCount + MAX_TABLES_PER_TASK - 1) / MAX_TABLES_PER_TASK)));
+        int tablesPerTask = (tableCount + tasks - 1) / tasks;
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<Long>> results = new ArrayList<>();
+            for (int from = 0; from < tableCount; from += tablesPerTask) {
+                int start = from;
+                int end = Math.min(tableCount, from + tablesPerTask);
+                ResultSink.Writer writer = sink == null ? null : sink.writer();
+                results.add(executor.submit(() -> {
+                    long played = 0;
+                    for (int hand = 0; hand < handsPerTable; hand++) {
+                        played += playHands(start, end, writer);
+                    }
+                    return played;
+                }));
+            }
+            long played = 0;
+            for (Future<Long> result : results) {
+                played += result.get();
+            }
+            return played;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("A batch worker failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Plays one complete hand at a table: moves the button, posts blinds,
+     * deals, runs four betting rounds and settles the pot.
+     *
+     * @param table the table
+     * @return false if fewer than two players have chips
+     */
+    public boolean playHand(int table) {
+        return playHand(table, null);
+    }
+
+    /**
+     * Plays one complete hand at a table and records its result.
+     *
+     * @param table   the table
+     * @param results receives the hand's record, or null
+     * @return false if fewer than two players have chips
+     */
+    public boolean playHand(int table, ResultSink.Writer results) {
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        int base = table * seatsPerTable;
+        int players = 0;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            int index = base + seat;
+            if (stacks[index] <= 0) {
+                flags[index] = 0;
+            }
+            if ((flags[index] & SEATED) != 0) {
+                flags[index] = SEATED | IN_HAND;
+                players++;
+            }
+            bets[index] = 0;
+            committed[index] = 0;
+            strengths[index] = 0;
+            holeCards[index] = 0;
+        }
+        pots[table] = 0;
+        boards[table] = 0;
+        dealtCards[table] = 0;
+        if (players < 2) {
+            return false;
+        }
+
+        int button = nextSeat(table, buttons[table]);
+        buttons[table] = button;
+        int small = nextSeat(table, button);
+        int big = nextSeat(table, small);
+        commit(table, small, smallBlind);
+        commit(table, big, bigBlind);
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            if ((flags[base + seat] & IN_HAND) != 0) {
+                for (int card = 0; card < variant.getHoleCards(); card++) {
+                    holeCards[base + seat] |= drawCard(table);
+                }
+            }
+        }
+
+        for (int street = 0; street < 4 && countInHand(table) > 1; street++) {
+            if (street == 1) {
+                boards[table] |= drawCard(table) | drawCard(table) | drawCard(table);
+            } else if (street > 1) {
+                boards[table] |= drawCard(table);
+            }
+            bettingRound(table, street, street == 0 ? nextSeat(table, big) : nextSeat(table, button));
+        }
+        while (Long.bitCount(boards[table]) < 5 && countInHand(table) > 1) {
+            boards[table] |= drawCard(table);
+        }
+        int pot = pots[table];
+        settle(table);
+        handsPlayed[table]++;
+        if (results != null) {
+            record(table, pot, results);
+        }
+        if (timed) {
+            metrics.recordHand(System.nanoTime() - start);
+        }
+        return true;
+    }
+
+    /**
+     * Records a settled hand: the winner is the live player with the best
+     * hand, and the main loser the other player who put in the most.
+     *
+     * @param table   the table
+     * @param pot     the pot before it was paid out
+     * @param results the writer
+     */
+    private void record(int table, int pot, ResultSink.Writer results) {
+        int base = table * seatsPerTable;
+        int winner = -1;
+        for (int step = 1; step <= seatsPerTable; step++) {
+            int seat = (buttons[table] + step) % seatsPerTable;
+            if ((flags[base + seat] & IN_HAND) != 0
+                    && (winner < 0 || strengths[base + seat] > strengths[base + winner])) {
+                winner = seat;
+            }
+        }
+        int loser = -1;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            if (seat != winner && (flags[base + seat] & SEATED) != 0
+                    && (loser < 0 || committed[base + seat] > committed[base + loser])) {
+                loser = seat;
+            }
+        }
+        results.record(table, handsPlayed[table], pot, winner,
+                variant.category(strengths[base + winner]),
+                personalities[base + winner], loser < 0 ? 0 : personalities[base + loser]);
+    }
+
+    /**
+     * Runs one betting round with at most one raise.
+     *
+     * @param table  the table
+     * @param street 0 for preflop up to 3 for the river
+     * @param first  the first seat to act
+     */
+    private void bettingRound(int table, int street, int first) {
+        int base = table * seatsPerTable;
+        int currentBet = 0;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            if (street > 0) {
+                bets[base + seat] = 0;
+            }
+            currentBet = Math.max(currentBet, bets[base + seat]);
+        }
+        int raiser = -1;
+        int seat = first;
+        for (int turn = 0; turn < seatsPerTable; turn++, seat = (seat + 1) % seatsPerTable) {
+            int index = base + seat;
+            if ((flags[index] & IN_HAND) == 0 || stacks[index] == 0 || countInHand(table) == 1) {
+                continue;
+            }
+            int toCall = currentBet - bets[index];
+            boolean strong = street == 0 ? strongStart(holeCards[index])
+                    : variant.category(variant.evaluate(holeCards[index], boards[table])) >= HandEvaluator.TWO_PAIR;
+            if (raiser < 0 && strong) {
+                int target = currentBet + Math.max(bigBlind, currentBet);
+                commit(table, seat, target - bets[index]);
+                currentBet = Math.max(currentBet, bets[index]);
+                raiser = seat;
+            } else if (toCall > 0) {
+                respond(table, seat, street, toCall);
+            }
+        }
+        if (raiser < 0) {
+            return;
+        }
+        for (seat = first; seat != raiser; seat = (seat + 1) % seatsPerTable) {
+            int index = base + seat;
+            if ((flags[index] & IN_HAND) != 0 && stacks[index] > 0 && bets[index] < currentBet) {
+                respond(table, seat, street, currentBet - bets[index]);
+            }
+        }
+    }
+
+    /**
+     * Calls or folds facing a bet.
+     *
+     * @param table  the table
+     * @param seat   the acting seat
+     * @param street 0 for preflop up to 3 for the river
+     * @param toCall the amount needed to call
+     */
+    private void respond(int table, int seat, int street, int toCall) {
+        int index = table * seatsPerTable + seat;
+        boolean playable = street == 0 ? playableStart(holeCards[index])
+                : variant.category(variant.evaluate(holeCards[index], boards[table])) >= HandEvaluator.PAIR;
+        if (playable || toCall * 4 <= pots[table]) {
+            commit(table, seat, toCall);
+        } else {
+            flags[index] &= ~IN_HAND;
+        }
+    }
+
+    /**
+     * Moves chips from a player's stack into the pot; a player who cannot
+     * cover the amount goes all in.
+     *
+     * @param table  the table
+     * @param seat   the seat
+     * @param amount the chips to put in
+     */
+    private void commit(int table, int seat, int amount) {
+        int index = table * seatsPerTable + seat;
+        int paid = Math.min(amount, stacks[index]);
+        stacks[index] -= paid;
+        bets[index] += paid;
+        committed[index] += paid;
+        pots[table] += paid;
+    }
+
+    /**
+     * Pays out the pot. Each side pot goes to the best hand among the players
+     * who put in enough to be eligible for it; ties split it, with odd chips
+     * going to the first winner after the button.
+     *
+     * @param table the table
+     */
+    private void settle(int table) {
+        int base = table * seatsPerTable;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            if ((flags[base + seat] & IN_HAND) != 0) {
+                strengths[base + seat] = variant.evaluate(holeCards[base + seat], boards[table]);
+            }
+        }
+        int paidLevel = 0;
+        while (pots[table] > 0) {
+            int level = Integer.MAX_VALUE;
+            for (int seat = 0; seat < seatsPerTable; seat++) {
+                int index = base + seat;
+                if ((flags[index] & IN_HAND) != 0 && committed[index] > paidLevel) {
+                    level = Math.min(level, committed[index]);
+                }
+            }
+            // Once every live stake is covered, whatever folded players put in
+            // above it goes to the best live hand
+            boolean remainder = level == Integer.MAX_VALUE;
+            int slice = remainder ? pots[table] : 0;
+            int best = -1;
+            int winners = 0;
+            for (int seat = 0; seat < seatsPerTable; seat++) {
+                int index = base + seat;
+                if (!remainder) {
+                    slice += Math.max(0, Math.min(committed[index], level) - paidLevel);
+                }
+                if ((flags[index] & IN_HAND) != 0 && (remainder || committed[index] >= level)) {
+                    if (strengths[index] > best) {
+                        best = strengths[index];
+                        winners = 1;
+                    } else if (strengths[index] == best) {
+                        winners++;
+                    }
+                }
+            }
+            int share = slice / winners;
+            int oddChips = slice - share * winners;
+            for (int step = 1; step <= seatsPerTable; step++) {
+                int index = base + (buttons[table] + step) % seatsPerTable;
+                if ((flags[index] & IN_HAND) != 0 && (remainder || committed[index] >= level)
+                        && strengths[index] == best) {
+                    stacks[index] += share + oddChips;
+                    oddChips = 0;
+                }
+            }
+            pots[table] -= slice;
+            paidLevel = level;
+        }
+    }
+
+    /**
+     * Counts the players still in the hand.
+     *
+     * @param table the table
+     * @return the number of players who have not folded
+     */
+    private int countInHand(int table) {
+        int base = table * seatsPerTable;
+        int count = 0;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            count += (flags[base + seat] & IN_HAND) >> 1;
+        }
+        return count;
+    }
+
+    /**
+     * Finds the next seat after the given one that is dealt into the hand.
+     *
+     * @param table the table
+     * @param seat  the seat to start after, or -1
+     * @return the next seat in the hand
+     */
+    private int nextSeat(int table, int seat) {
+        int base = table * seatsPerTable;
+        for (int step = 1; step <= seatsPerTable; step++) {
+            int next = Math.floorMod(seat + step, seatsPerTable);
+            if ((flags[base + next] & IN_HAND) != 0) {
+                return next;
+            }
+        }
+        return seat;
+    }
+
+    /**
+     * Draws a card that has not been dealt at this table in the current hand.
+     *
+     * @param table the table
+     * @return the card's mask bit
+     */
+    private long drawCard(int table) {
+        long card;
+        do {
+            long random = SplitMix64.mix(randomStates[table] += SplitMix64.GOLDEN_GAMMA);
+            card = variant.cardMask((int) (((random >>> 32) * variant.getDeckSize()) >>> 32));
+        } while ((dealtCards[table] & card) != 0);
+        dealtCards[table] |= card;
+        return card;
+    }
+
+    /**
+     * Decides whether two hole cards are worth a raise before the flop: a pair
+     * of eights or better, or two cards jack or higher.
+     *
+     * @param hole the hole card mask
+     * @return true if the hand is strong
+     */
+    static boolean strongStart(long hole) {
+        int ranks = ranksOf(hole);
+        int low = Integer.numberOfTrailingZeros(ranks);
+        return Integer.bitCount(ranks) == 1 ? low >= 6 : low >= 9;
+    }
+
+    /**
+     * Decides whether two hole cards are worth a call before the flop: any
+     * pair, a ten or higher, or suited connectors.
+     *
+     * @param hole the hole card mask
+     * @return true if the hand is playable
+     */
+    static boolean playableStart(long hole) {
+        int ranks = ranksOf(hole);
+        if (Integer.bitCount(ranks) == 1 || 31 - Integer.numberOfLeadingZeros(ranks) >= 8) {
+            return true;
+        }
+        boolean suited = (hole & 0xFFFFL) == hole || (hole & 0xFFFF0000L) == hole
+                || (hole & 0xFFFF00000000L) == hole || (hole & 0xFFFF000000000000L) == hole;
+        return suited && (ranks & ranks >>> 1) != 0;
+    }
+
+    /**
+     * Folds the four suit fields of a mask into one set of ranks.
+     *
+     * @param mask a card mask
+     * @return the ranks as bits
+     */
+    private static int ranksOf(long mask) {
+        return (int) ((mask | mask >>> 16 | mask >>> 32 | mask >>> 48) & 0x1FFF);
+    }
+
+    /**
+     * Copies a table out of the batch into an ordinary {@link Table}, with one
+     * {@link Player} per taken seat.
+     *
+     * @param table the table
+     * @return a new table holding the same players, cards and pot
+     */
+    public Table toTable(int table) {
+        Table view = Table.newBuilder().variant(variant).createDeck().build();
+        List<Player> players = new ArrayList<>(seatsPerTable);
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            int index = index(table, seat);
+            if ((flags[index] & SEATED) == 0) {
+                continue;
+            }
+            Player player = new Player(stacks[index], "Seat " + (seat + 1));
+            if (personalities[index] != 0) {
+                player.setPersonality(personalities[index]);
+            }
+            player.setCurrentBet(bets[index]);
+            player.setInHand((flags[index] & IN_HAND) != 0);
+            player.setDealer(seat == buttons[table]);
+            for (Card card : cardsOf(holeCards[index])) {
+                player.addCards(card);
+            }
+            players.add(player);
+        }
+        view.setPlayers(players);
+        view.getTableCards().addAll(cardsOf(boards[table]));
+        view.addToPot(pots[table]);
+        return view;
+    }
+
+    /**
+     * Copies an ordinary {@link Table} into the batch, seating its players in
+     * list order.
+     *
+     * @param table  the table in the batch to overwrite
+     * @param source the table to copy
+     * @throws IllegalArgumentException if the source has more players than
+     *                                  the batch has seats
+     */
+    public void loadFrom(int table, Table source) {
+        List<Player> players = source.getPlayers();
+        if (players.size() > seatsPerTable) {
+            throw new IllegalArgumentException("The table has more players than the batch has seats");
+        }
+        long dealt = HandEvaluator.mask(source.getTableCards());
+        buttons[table] = -1;
+        for (int seat = 0; seat < seatsPerTable; seat++) {
+            int index = index(table, seat);
+            if (seat >= players.size()) {
+                flags[index] = 0;
+                stacks[index] = 0;
+                holeCards[index] = 0;
+                bets[index] = 0;
+                continue;
+            }
+            Player player = players.get(seat);
+            stacks[index] = player.getMoney();
+            bets[index] = player.getCurrentBet();
+            committed[index] = player.getCurrentBet();
+            holeCards[index] = HandEvaluator.mask(player.getCards());
+            flags[index] = (byte) (SEATED | (player.getInHand() ? IN_HAND : 0));
+            personalities[index] = (byte) player.getPersonality();
+            dealt |= holeCards[index];
+            if (player.getDealer()) {
+                buttons[table] = seat;
+            }
+        }
+        boards[table] = HandEvaluator.mask(source.getTableCards());
+        dealtCards[table] = dealt;
+        pots[table] = source.getPot();
+    }
+
+    /**
+     * Turns a card mask into cards.
+     *
+     * @param mask the card mask
+     * @return the cards, lowest suit and rank first
+     */
+    private static List<Card> cardsOf(long mask) {
+        List<Card> cards = new ArrayList<>(Long.bitCount(mask));
+        for (long bits = mask; bits != 0; bits &= bits - 1) {
+            int bit = Long.numberOfTrailingZeros(bits);
+            cards.add(Card.fromIndex(bit / 16 * 13 + bit % 16));
+        }
+        return cards;
+    }
+
+    /**
+     * Returns the array index of a seat.
+     *
+     * @param table the table
+     * @param seat  the seat
+     * @return the index into the seat arrays
+     */
+    private int index(int table, int seat) {
+        if (seat < 0 || seat >= seatsPerTable) {
+            throw new IndexOutOfBoundsException("Seat " + seat + " out of bounds for " + seatsPerTable + " seats");
+        }
+        return table * seatsPerTable + seat;
+    }
+}
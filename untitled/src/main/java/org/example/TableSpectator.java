@@ -0,0 +1,71 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * An observer that rebuilds the table state from published frames. When a
+ * delta does not follow the state it holds, because it joined late or missed a
+ * frame, it catches up from the publisher's latest keyframe.
+ */
+public class TableSpectator implements TableStateObserver {
+
+    private final TableStatePublisher publisher;
+    private TableState state;
+    private long bytesReceived;
+    private long resyncs;
+
+    /**
+     * Constructs a spectator and subscribes it to the publisher.
+     *
+     * @param publisher the publisher of the table to watch
+     */
+    public TableSpectator(TableStatePublisher publisher) {
+        this.publisher = publisher;
+        publisher.subscribe(this);
+    }
+
+    /**
+     * Applies a frame to the state, catching up from a keyframe if needed.
+     *
+     * @param frame the encoded frame
+     */
+    @Override
+    public synchronized void onFrame(ByteBuffer frame) {
+        bytesReceived += frame.remaining();
+        TableState next = TableStateCodec.decode(state, frame);
+        if (next == null) {
+            ByteBuffer keyframe = publisher.keyframe();
+            bytesReceived += keyframe.remaining();
+            next = TableStateCodec.decode(null, keyframe);
+            resyncs++;
+        }
+        state = next;
+    }
+
+    /**
+     * Returns the state as the spectator sees it.
+     *
+     * @return the latest rebuilt state, or null before the first frame
+     */
+    public synchronized TableState getState() {
+        return state;
+    }
+
+    /**
+     * Returns the number of frame bytes this spectator has received.
+     *
+     * @return the received byte count
+     */
+    public synchronized long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    /**
+     * Returns how often the spectator had to catch up from a keyframe.
+     *
+     * @return the number of resynchronisations
+     */
+    public synchronized long getResyncs() {
+        return resyncs;
+    }
+}
@@ -0,0 +1,199 @@
+package org.example;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An immutable, versioned snapshot of what everybody at a table can see: the
+ * pot, the board, the seat that is acting and each seat's stack, bet and
+ * status. Hole cards are private and are not part of the snapshot.
+ */
+public final class TableState {
+
+    /** Seat flag set while the player is still in the hand. */
+    public static final int FLAG_IN_HAND = 1;
+    /** Seat flag set on the dealer. */
+    public static final int FLAG_DEALER = 2;
+
+    private final long version;
+    private final int pot;
+    private final int actingSeat;
+    private final int[] board;
+    private final int[] stacks;
+    private final int[] bets;
+    private final int[] flags;
+
+    /**
+     * Constructs a snapshot from its parts. The arrays are owned by the snapshot
+     * afterwards and must not be changed.
+     *
+     * @param version    the version number of the snapshot
+     * @param pot        the amount in the pot
+     * @param actingSeat the seat whose turn it is, or -1 if nobody is acting
+     * @param board      the card indices on the board
+     * @param stacks     the money of every seat
+     * @param bets       the current bet of every seat
+     * @param flags      the flags of every seat
+     */
+    TableState(long version, int pot, int actingSeat, int[] board, int[] stacks, int[] bets, int[] flags) {
+        this.version = version;
+        this.pot = pot;
+        this.actingSeat = actingSeat;
+        this.board = board;
+        this.stacks = stacks;
+        this.bets = bets;
+        this.flags = flags;
+    }
+
+    /**
+     * Takes a snapshot of a table.
+     *
+     * @param table   the table to capture
+     * @param acting  the player whose turn it is, or null if nobody is acting
+     * @param version the version number to give the snapshot
+     * @return the snapshot
+     */
+    public static TableState capture(Table table, Player acting, long version) {
+        List<Player> players = table.getPlayers();
+        List<Card> tableCards = table.getTableCards();
+        int[] board = new int[tableCards.size()];
+        for (int i = 0; i < board.length; i++) {
+            board[i] = tableCards.get(i).getIndex();
+        }
+        int seats = players.size();
+        int[] stacks = new int[seats];
+        int[] bets = new int[seats];
+        int[] flags = new int[seats];
+        int actingSeat = -1;
+        for (int seat = 0; seat < seats; seat++) {
+            Player player = players.get(seat);
+            stacks[seat] = player.getMoney();
+            bets[seat] = player.getCurrentBet();
+            flags[seat] = (player.getInHand() ? FLAG_IN_HAND : 0) | (player.getDealer() ? FLAG_DEALER : 0);
+            if (player == acting) {
+                actingSeat = seat;
+            }
+        }
+        return new TableState(version, table.getPot(), actingSeat, board, stacks, bets, flags);
+    }
+
+    /**
+     * Returns the version number of the snapshot.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the amount in the pot.
+     *
+     * @return the pot
+     */
+    public int getPot() {
+        return pot;
+    }
+
+    /**
+     * Returns the seat whose turn it is.
+     *
+     * @return the acting seat, or -1 if nobody is acting
+     */
+    public int getActingSeat() {
+        return actingSeat;
+    }
+
+    /**
+     * Returns the number of cards on the board.
+     *
+     * @return the board size
+     */
+    public int getBoardSize() {
+        return board.length;
+    }
+
+    /**
+     * Returns a card on the board.
+     *
+     * @param position the position on the board, starting at 0
+     * @return the card index, see {@link Card#getIndex()}
+     */
+    public int getBoardCard(int position) {
+        return board[position];
+    }
+
+    /**
+     * Returns the number of seats in the snapshot.
+     *
+     * @return the seat count
+     */
+    public int getSeatCount() {
+        return stacks.length;
+    }
+
+    /**
+     * Returns the money of a seat.
+     *
+     * @param seat the seat
+     * @return the seat's stack
+     */
+    public int getStack(int seat) {
+        return stacks[seat];
+    }
+
+    /**
+     * Returns the current bet of a seat.
+     *
+     * @param seat the seat
+     * @return the seat's bet
+     */
+    public int getBet(int seat) {
+        return bets[seat];
+    }
+
+    /**
+     * Returns the flags of a seat.
+     *
+     * @param seat the seat
+     * @return a combination of {@link #FLAG_IN_HAND} and {@link #FLAG_DEALER}
+     */
+    public int getFlags(int seat) {
+        return flags[seat];
+    }
+
+    /**
+     * Checks whether two snapshots show the same table, ignoring their versions.
+     *
+     * @param other the snapshot to compare with
+     * @return true if every visible field is equal
+     */
+    public boolean sameContent(TableState other) {
+        return pot == other.pot && actingSeat == other.actingSeat
+                && Arrays.equals(board, other.board) && Arrays.equals(stacks, other.stacks)
+                && Arrays.equals(bets, other.bets) && Arrays.equals(flags, other.flags);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof TableState)) {
+            return false;
+        }
+        TableState state = (TableState) other;
+        return version == state.version && sameContent(state);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Long.hashCode(version);
+        result = 31 * result + pot;
+        result = 31 * result + actingSeat;
+        result = 31 * result + Arrays.hashCode(board);
+        result = 31 * result + Arrays.hashCode(stacks);
+        result = 31 * result + Arrays.hashCode(bets);
+        return 31 * result + Arrays.hashCode(flags);
+    }
+}
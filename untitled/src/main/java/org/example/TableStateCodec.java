@@ -0,0 +1,225 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes {@link TableState} snapshots as compact binary frames. A keyframe
+ * carries the whole state; a delta carries only the fields that changed since
+ * the previous version. Numbers are written as unsigned variable-length
+ * integers, so small stacks and bets take one or two bytes.
+ */
+public final class TableStateCodec {
+
+    /** Frame kind of a full snapshot. */
+    public static final byte KEYFRAME = 0;
+    /** Frame kind of a change against the previous version. */
+    public static final byte DELTA = 1;
+
+    private static final int CHANGED_POT = 1;
+    private static final int CHANGED_ACTING = 2;
+    private static final int CHANGED_BOARD = 4;
+
+    private static final int SEAT_STACK = 1;
+    private static final int SEAT_BET = 2;
+    private static final int SEAT_FLAGS = 4;
+
+    private TableStateCodec() {
+    }
+
+    /**
+     * Encodes a full snapshot.
+     *
+     * @param state the snapshot to encode
+     * @return the frame, ready for reading
+     */
+    public static ByteBuffer encodeKeyframe(TableState state) {
+        int seats = state.getSeatCount();
+        ByteBuffer frame = ByteBuffer.allocate(24 + state.getBoardSize() + seats * 11);
+        frame.put(KEYFRAME);
+        putVarLong(frame, state.getVersion());
+        putVarLong(frame, state.getPot());
+        frame.put((byte) (state.getActingSeat() + 1));
+        frame.put((byte) state.getBoardSize());
+        for (int i = 0; i < state.getBoardSize(); i++) {
+            frame.put((byte) state.getBoardCard(i));
+        }
+        frame.put((byte) seats);
+        for (int seat = 0; seat < seats; seat++) {
+            putVarLong(frame, state.getStack(seat));
+            putVarLong(frame, state.getBet(seat));
+            frame.put((byte) state.getFlags(seat));
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Encodes the changes from one snapshot to the next. A delta is only
+     * possible when the seats stay the same and cards were only added to the
+     * board; a keyframe has to be sent otherwise.
+     *
+     * @param base the snapshot the receiver already has
+     * @param next the snapshot to send
+     * @return the frame, ready for reading, or null if a keyframe is needed
+     */
+    public static ByteBuffer encodeDelta(TableState base, TableState next) {
+        int seats = next.getSeatCount();
+        if (base.getSeatCount() != seats || next.getBoardSize() < base.getBoardSize()) {
+            return null;
+        }
+        for (int i = 0; i < base.getBoardSize(); i++) {
+            if (base.getBoardCard(i) != next.getBoardCard(i)) {
+                return null;
+            }
+        }
+
+        ByteBuffer frame = ByteBuffer.allocate(25 + next.getBoardSize() + seats * 13);
+        frame.put(DELTA);
+        putVarLong(frame, next.getVersion());
+        int changes = (base.getPot() != next.getPot() ? CHANGED_POT : 0)
+                | (base.getActingSeat() != next.getActingSeat() ? CHANGED_ACTING : 0)
+                | (base.getBoardSize() != next.getBoardSize() ? CHANGED_BOARD : 0);
+        frame.put((byte) changes);
+        if ((changes & CHANGED_POT) != 0) {
+            putVarLong(frame, next.getPot());
+        }
+        if ((changes & CHANGED_ACTING) != 0) {
+            frame.put((byte) (next.getActingSeat() + 1));
+        }
+        if ((changes & CHANGED_BOARD) != 0) {
+            frame.put((byte) (next.getBoardSize() - base.getBoardSize()));
+            for (int i = base.getBoardSize(); i < next.getBoardSize(); i++) {
+                frame.put((byte) next.getBoardCard(i));
+            }
+        }
+
+        int countPosition = frame.position();
+        frame.put((byte) 0);
+        int changedSeats = 0;
+        for (int seat = 0; seat < seats; seat++) {
+            int fields = (base.getStack(seat) != next.getStack(seat) ? SEAT_STACK : 0)
+                    | (base.getBet(seat) != next.getBet(seat) ? SEAT_BET : 0)
+                    | (base.getFlags(seat) != next.getFlags(seat) ? SEAT_FLAGS : 0);
+            if (fields == 0) {
+                continue;
+            }
+            changedSeats++;
+            frame.put((byte) seat).put((byte) fields);
+            if ((fields & SEAT_STACK) != 0) {
+                putVarLong(frame, next.getStack(seat));
+            }
+            if ((fields & SEAT_BET) != 0) {
+                putVarLong(frame, next.getBet(seat));
+            }
+            if ((fields & SEAT_FLAGS) != 0) {
+                frame.put((byte) next.getFlags(seat));
+            }
+        }
+        frame.put(countPosition, (byte) changedSeats);
+        return frame.flip();
+    }
+
+    /**
+     * Decodes a frame. A keyframe always decodes; a delta only decodes against
+     * the version directly before it.
+     *
+     * @param base  the snapshot the receiver has, or null if it has none
+     * @param frame the frame to decode; it is read without changing its position
+     * @return the new snapshot, or null if the delta does not follow the base
+     */
+    public static TableState decode(TableState base, ByteBuffer frame) {
+        ByteBuffer in = frame.duplicate();
+        byte kind = in.get();
+        long version = getVarLong(in);
+        if (kind == KEYFRAME) {
+            int pot = (int) getVarLong(in);
+            int actingSeat = (in.get() & 0xFF) - 1;
+            int[] board = new int[in.get()];
+            for (int i = 0; i < board.length; i++) {
+                board[i] = in.get();
+            }
+            int seats = in.get();
+            int[] stacks = new int[seats];
+            int[] bets = new int[seats];
+            int[] flags = new int[seats];
+            for (int seat = 0; seat < seats; seat++) {
+                stacks[seat] = (int) getVarLong(in);
+                bets[seat] = (int) getVarLong(in);
+                flags[seat] = in.get();
+            }
+            return new TableState(version, pot, actingSeat, board, stacks, bets, flags);
+        }
+        if (base == null || base.getVersion() != version - 1) {
+            return null;
+        }
+
+        int changes = in.get();
+        int pot = (changes & CHANGED_POT) != 0 ? (int) getVarLong(in) : base.getPot();
+        int actingSeat = (changes & CHANGED_ACTING) != 0 ? (in.get() & 0xFF) - 1 : base.getActingSeat();
+        int oldBoardSize = base.getBoardSize();
+        int added = (changes & CHANGED_BOARD) != 0 ? in.get() : 0;
+        int[] board = new int[oldBoardSize + added];
+        for (int i = 0; i < oldBoardSize; i++) {
+            board[i] = base.getBoardCard(i);
+        }
+        for (int i = oldBoardSize; i < board.length; i++) {
+            board[i] = in.get();
+        }
+
+        int seats = base.getSeatCount();
+        int[] stacks = new int[seats];
+        int[] bets = new int[seats];
+        int[] flags = new int[seats];
+        for (int seat = 0; seat < seats; seat++) {
+            stacks[seat] = base.getStack(seat);
+            bets[seat] = base.getBet(seat);
+            flags[seat] = base.getFlags(seat);
+        }
+        int changedSeats = in.get();
+        for (int i = 0; i < changedSeats; i++) {
+            int seat = in.get();
+            int fields = in.get();
+            if ((fields & SEAT_STACK) != 0) {
+                stacks[seat] = (int) getVarLong(in);
+            }
+            if ((fields & SEAT_BET) != 0) {
+                bets[seat] = (int) getVarLong(in);
+            }
+            if ((fields & SEAT_FLAGS) != 0) {
+                flags[seat] = in.get();
+            }
+        }
+        return new TableState(version, pot, actingSeat, board, stacks, bets, flags);
+    }
+
+    /**
+     * Writes a non-negative number seven bits at a time.
+     *
+     * @param out   the buffer to write to
+     * @param value the number to write
+     */
+    private static void putVarLong(ByteBuffer out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    /**
+     * Reads a number written by {@link #putVarLong(ByteBuffer, long)}.
+     *
+     * @param in the buffer to read from
+     * @return the number
+     */
+    private static long getVarLong(ByteBuffer in) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+}
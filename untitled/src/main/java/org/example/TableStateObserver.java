@@ -0,0 +1,16 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Receives the encoded table state frames produced by a
+ * {@link TableStatePublisher}. Frames are decoded with {@link TableStateCodec}.
+ */
+public interface TableStateObserver {
+    /**
+     * Called with every keyframe or delta published for the table.
+     *
+     * @param frame the encoded frame, shared with other observers and read-only
+     */
+    void onFrame(ByteBuffer frame);
+}
@@ -0,0 +1,121 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Streams a table's state to any number of observers. Each change is encoded
+ * once, as a delta against the previous version, and the same frame is handed
+ * to every observer. A keyframe is sent to new observers, every
+ * {@code keyframeInterval} versions, and whenever a delta cannot describe the
+ * change (for example when a new hand clears the board).
+ */
+public class TableStatePublisher {
+
+    private final List<TableStateObserver> observers = new CopyOnWriteArrayList<>();
+    private final int keyframeInterval;
+    private TableState current;
+    private ByteBuffer currentKeyframe;
+    private long version;
+
+    /**
+     * Constructs a publisher that sends a keyframe every 64 versions.
+     */
+    public TableStatePublisher() {
+        this(64);
+    }
+
+    /**
+     * Constructs a publisher with a custom keyframe interval.
+     *
+     * @param keyframeInterval the number of versions between forced keyframes
+     */
+    public TableStatePublisher(int keyframeInterval) {
+        this.keyframeInterval = Math.max(1, keyframeInterval);
+    }
+
+    /**
+     * Adds an observer and sends it the latest keyframe so it can start from the
+     * current state.
+     *
+     * @param observer the observer to add
+     */
+    public synchronized void subscribe(TableStateObserver observer) {
+        observers.add(observer);
+        if (current != null) {
+            observer.onFrame(keyframe());
+        }
+    }
+
+    /**
+     * Removes an observer.
+     *
+     * @param observer the observer to remove
+     */
+    public void unsubscribe(TableStateObserver observer) {
+        observers.remove(observer);
+    }
+
+    /**
+     * Returns whether anybody is watching, so the table can skip capturing
+     * snapshots when nobody is.
+     *
+     * @return true if at least one observer is subscribed
+     */
+    public boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+
+    /**
+     * Captures the table and sends the change to every observer. Nothing is sent
+     * if nothing visible changed.
+     *
+     * @param table  the table to capture
+     * @param acting the player whose turn it is, or null if nobody is acting
+     */
+    public synchronized void publish(Table table, Player acting) {
+        TableState next = TableState.capture(table, acting, version + 1);
+        if (current != null && current.sameContent(next)) {
+            return;
+        }
+        ByteBuffer frame = null;
+        if (current != null && next.getVersion() % keyframeInterval != 0) {
+            frame = TableStateCodec.encodeDelta(current, next);
+        }
+        version = next.getVersion();
+        current = next;
+        currentKeyframe = null;
+        if (frame == null) {
+            frame = keyframe();
+        }
+        for (TableStateObserver observer : observers) {
+            observer.onFrame(frame.asReadOnlyBuffer());
+        }
+    }
+
+    /**
+     * Returns a keyframe of the latest state, for observers that joined late or
+     * missed a delta.
+     *
+     * @return the keyframe, or null if nothing has been published yet
+     */
+    public synchronized ByteBuffer keyframe() {
+        if (current == null) {
+            return null;
+        }
+        if (currentKeyframe == null) {
+            currentKeyframe = TableStateCodec.encodeKeyframe(current);
+        }
+        return currentKeyframe.asReadOnlyBuffer();
+    }
+
+    /**
+     * Returns the latest published state.
+     *
+     * @return the latest state, or null if nothing has been published yet
+     */
+    public synchronized TableState getCurrent() {
+        return current;
+    }
+}
@@ -0,0 +1,337 @@
+package org.example;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * A multi-table freezeout tournament played by bots. Play proceeds in rounds:
+ * every table with at least two players plays one hand, with the tables of a
+ * round running in parallel. Between rounds the busted players are reported,
+ * short tables are broken up and players are moved so that no two tables
+ * differ by more than one player. Blinds rise with the number of rounds played.
+ */
+public class Tournament implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger("csci.ooad.holdEm");
+
+    private final List<Game> tables = new ArrayList<>();
+    private final List<List<Player>> busted = new ArrayList<>();
+    private final int seatsPerTable;
+    private final BlindSchedule schedule;
+    private final ExecutorService executor;
+    private Consumer<Elimination> eliminationSink = elimination -> {
+    };
+    private int remaining;
+    private int round;
+
+    /**
+     * Seats the entrants at as few tables as needed, spreading them evenly.
+     *
+     * @param entrants      the players, each with their starting stack
+     * @param seatsPerTable the maximum number of players per table, at least 2
+     * @param schedule      the blind schedule
+     * @param threads       the number of tables played at the same time
+     */
+    public Tournament(List<Player> entrants, int seatsPerTable, BlindSchedule schedule, int threads) {
+        if (seatsPerTable < 2 || entrants.size() < 2) {
+            throw new IllegalArgumentException("A tournament needs two entrants and two seats per table");
+        }
+        this.seatsPerTable = seatsPerTable;
+        this.schedule = schedule;
+        this.remaining = entrants.size();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, threads), runnable -> {
+            Thread thread = new Thread(runnable, "tournament-table");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        int tableCount = (entrants.size() + seatsPerTable - 1) / seatsPerTable;
+        for (int i = 0; i < tableCount; i++) {
+            Table table = Table.newBuilder().createDeck().build();
+            table.setHeadless(true);
+            table.setPlayers(new ArrayList<>(seatsPerTable));
+            Game game = new Game();
+            game.setTable(table);
+            List<Player> bustedHere = new ArrayList<>();
+            game.setEliminationListener(bustedHere::add);
+            tables.add(game);
+            busted.add(bustedHere);
+        }
+        for (int i = 0; i < entrants.size(); i++) {
+            tables.get(i % tableCount).getTable().seatPlayer(entrants.get(i));
+        }
+    }
+
+    /**
+     * Sets where eliminations are reported. Each busted player is reported as
+     * soon as the round they busted in ends, and the winner last, with place 1.
+     *
+     * @param sink receives each elimination
+     */
+    public void setEliminationSink(Consumer<Elimination> sink) {
+        this.eliminationSink = sink;
+    }
+
+    /**
+     * Lets short-stacked bots at every table move all in or fold from solved
+     * push/fold charts instead of their usual play. Charts are solved on first
+     * use and cached, so every later decision is a lookup.
+     *
+     * @param solver the solver to take charts from, or null to turn this off
+     */
+    public void setPushFoldSolver(PushFoldSolver solver) {
+        for (Game game : tables) {
+            game.getTable().setPushFoldSolver(solver);
+        }
+    }
+
+    /**
+     * Returns the number of players still in the tournament.
+     *
+     * @return the number of remaining players
+     */
+    public int getRemaining() {
+        return remaining;
+    }
+
+    /**
+     * Returns the number of tables still in play.
+     *
+     * @return the table count
+     */
+    public int getTableCount() {
+        return tables.size();
+    }
+
+    /**
+     * Returns the number of rounds played so far.
+     *
+     * @return the round count
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * Computes every remaining player's expected prize from the current
+     * stacks.
+     *
+     * @param icm the calculator holding the prize structure
+     * @return each remaining player's equity, table by table
+     */
+    public Map<Player, Double> icmEquities(IcmCalculator icm) {
+        List<Player> players = new ArrayList<>(remaining);
+        for (Game game : tables) {
+            players.addAll(game.getTable().getPlayers());
+        }
+        IcmCalculator.Result result = icm.equities(players);
+        Map<Player, Double> equities = new LinkedHashMap<>();
+        for (int i = 0; i < players.size(); i++) {
+            equities.put(players.get(i), result.equity(i));
+        }
+        return equities;
+    }
+
+    /**
+     * Plays one hand at every table, then reports eliminations and rebalances
+     * the tables.
+     *
+     * @return true if more than one player is left
+     * @throws InterruptedException if the thread is interrupted while the
+     *                              tables play
+     */
+    public boolean playRound() throws InterruptedException {
+        BlindSchedule.Level level = schedule.levelAt(round);
+        List<Callable<Void>> hands = new ArrayList<>(tables.size());
+        for (Game game : tables) {
+            if (game.getTable().getPlayers().size() >= 2) {
+                game.setBlinds(level);
+                hands.add(() -> {
+                    game.playHand();
+                    return null;
+                });
+            }
+        }
+        for (Future<Void> hand : executor.invokeAll(hands)) {
+            try {
+                hand.get();
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("A tournament table failed", e.getCause());
+            }
+        }
+        round++;
+
+        for (List<Player> bustedHere : busted) {
+            for (Player player : bustedHere) {
+                eliminationSink.accept(new Elimination(player, remaining, round));
+                remaining--;
+            }
+            bustedHere.clear();
+        }
+        balanceTables();
+        if (round % 100 == 0) {
+            logger.info("Tournament round " + round + ": " + remaining + " players at " + tables.size()
+                    + " tables, blinds " + level);
+        }
+        return remaining > 1;
+    }
+
+    /**
+     * Plays rounds until one player has all the chips.
+     *
+     * @return the winner
+     * @throws InterruptedException if the thread is interrupted while the
+     *                              tables play
+     */
+    public Player run() throws InterruptedException {
+        while (playRound()) {
+            // keep playing until one player is left
+        }
+        Player winner = null;
+        for (Game game : tables) {
+            if (!game.getTable().getPlayers().isEmpty()) {
+                winner = game.getTable().getPlayers().get(0);
+            }
+        }
+        eliminationSink.accept(new Elimination(winner, 1, round));
+        return winner;
+    }
+
+    /**
+     * Removes empty tables, breaks up tables while the players fit at fewer,
+     * and moves players from the fullest to the shortest table until the
+     * table sizes differ by at most one.
+     */
+    private void balanceTables() {
+        for (int i = tables.size() - 1; i >= 0; i--) {
+            if (tables.get(i).getTable().getPlayers().isEmpty()) {
+                removeTable(i);
+            }
+        }
+        while (tables.size() > 1 && remaining <= (tables.size() - 1) * seatsPerTable) {
+            int broken = shortestTable();
+            Table from = tables.get(broken).getTable();
+            removeTable(broken);
+            for (Player player : new ArrayList<>(from.getPlayers())) {
+                from.removePlayer(player);
+                tables.get(shortestTable()).getTable().seatPlayer(player);
+            }
+        }
+        while (tables.size() > 1) {
+            int shortest = shortestTable();
+            int longest = longestTable();
+            List<Player> longPlayers = tables.get(longest).getTable().getPlayers();
+            if (longPlayers.size() - tables.get(shortest).getTable().getPlayers().size() <= 1) {
+                break;
+            }
+            Player moved = longPlayers.get(longPlayers.size() - 1);
+            tables.get(longest).getTable().removePlayer(moved);
+            tables.get(shortest).getTable().seatPlayer(moved);
+        }
+    }
+
+    /**
+     * Removes a table by moving the last table into its place.
+     *
+     * @param index the position of the table to remove
+     */
+    private void removeTable(int index) {
+        int last = tables.size() - 1;
+        tables.set(index, tables.get(last));
+        busted.set(index, busted.get(last));
+        tables.remove(last);
+        busted.remove(last);
+    }
+
+    /**
+     * Finds the table with the fewest players.
+     *
+     * @return the position of the shortest table
+     */
+    private int shortestTable() {
+        int best = 0;
+        for (int i = 1; i < tables.size(); i++) {
+            if (tables.get(i).getTable().getPlayers().size() < tables.get(best).getTable().getPlayers().size()) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Finds the table with the most players.
+     *
+     * @return the position of the fullest table
+     */
+    private int longestTable() {
+        int best = 0;
+        for (int i = 1; i < tables.size(); i++) {
+            if (tables.get(i).getTable().getPlayers().size() > tables.get(best).getTable().getPlayers().size()) {
+                best = i;
+            }
+        }
+        return best;
+    }
+
+    /**
+     * Stops the threads that play the tables.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * A player's finishing place in the tournament.
+     */
+    public static final class Elimination {
+        private final Player player;
+        private final int place;
+        private final int round;
+
+        Elimination(Player player, int place, int round) {
+            this.player = player;
+            this.place = place;
+            this.round = round;
+        }
+
+        /**
+         * Returns the player.
+         *
+         * @return the player
+         */
+        public Player getPlayer() {
+            return player;
+        }
+
+        /**
+         * Returns the finishing place, 1 for the winner.
+         *
+         * @return the place
+         */
+        public int getPlace() {
+            return place;
+        }
+
+        /**
+         * Returns the round in which the player busted.
+         *
+         * @return the round
+         */
+        public int getRound() {
+            return round;
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package org.example;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Encodes and decodes the binary frames exchanged between the game server and
+ * its clients. Every frame starts with a two byte length (covering the type and
+ * the payload) followed by a one byte frame type. Cards are sent as their one
+ * byte index from {@link Card#getIndex()}.
+ */
+public final class WireProtocol {
+
+    /** Size of the length and type header in front of every payload. */
+    public static final int HEADER_BYTES = 3;
+    /** Largest value the length field can hold. */
+    public static final int MAX_FRAME_LENGTH = 0xFFFF;
+
+    /** Server to client: the client has been seated at a table. */
+    public static final byte SEATED = 1;
+    /** Server to client: the current state of the client's table. */
+    public static final byte STATE = 2;
+    /** Server to client: the client has to act. */
+    public static final byte ACTION_REQUEST = 3;
+    /** Client to server: the amount the client bets, or -1 to fold. */
+    public static final byte ACTION = 4;
+    /** Server to client: the game at the client's table has finished. */
+    public static final byte GAME_OVER = 5;
+    /** Server to client: a {@link TableStateCodec} frame for every change at the client's table. */
+    public static final byte TABLE_UPDATE = 6;
+
+    /** Player flag set while the player is still in the hand. */
+    public static final int FLAG_IN_HAND = 1;
+    /** Player flag set on the dealer. */
+    public static final int FLAG_DEALER = 2;
+
+    private WireProtocol() {
+    }
+
+    /**
+     * Builds a SEATED frame.
+     *
+     * @param tableId the id of the table the client sits at
+     * @param seat    the client's seat number
+     * @param seats   the number of seats at the table
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer seated(int tableId, int seat, int seats) {
+        ByteBuffer frame = allocate(SEATED, 6);
+        frame.putInt(tableId).put((byte) seat).put((byte) seats);
+        return frame.flip();
+    }
+
+    /**
+     * Builds a STATE frame describing the table from one seat's point of view.
+     * Only the viewer's own hole cards are included.
+     *
+     * @param table  the table to describe
+     * @param viewer the player receiving the frame
+     * @param acting the player whose turn it is
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer state(Table table, Player viewer, Player acting) {
+        List<Player> players = table.getPlayers();
+        List<Card> board = table.getTableCards();
+        int size = 4 + 1 + board.size() + 3;
+        for (Player player : players) {
+            size += 10 + (player == viewer ? player.getCards().size() : 0);
+        }
+
+        ByteBuffer frame = allocate(STATE, size);
+        frame.putInt(table.getPot());
+        frame.put((byte) board.size());
+        for (Card card : board) {
+            frame.put((byte) card.getIndex());
+        }
+        frame.put((byte) players.indexOf(acting));
+        frame.put((byte) players.indexOf(viewer));
+        frame.put((byte) players.size());
+        for (Player player : players) {
+            int flags = (player.getInHand() ? FLAG_IN_HAND : 0) | (player.getDealer() ? FLAG_DEALER : 0);
+            frame.putInt(player.getMoney());
+            frame.putInt(player.getCurrentBet());
+            frame.put((byte) flags);
+            if (player == viewer) {
+                frame.put((byte) player.getCards().size());
+                for (Card card : player.getCards()) {
+                    frame.put((byte) card.getIndex());
+                }
+            } else {
+                frame.put((byte) 0);
+            }
+        }
+        return frame.flip();
+    }
+
+    /**
+     * Builds an ACTION_REQUEST frame.
+     *
+     * @param amountToCall the amount needed to stay in the hand
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer actionRequest(int amountToCall) {
+        ByteBuffer frame = allocate(ACTION_REQUEST, 4);
+        frame.putInt(amountToCall);
+        return frame.flip();
+    }
+
+    /**
+     * Builds an ACTION frame.
+     *
+     * @param amount the amount to bet, or -1 to fold
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer action(int amount) {
+        ByteBuffer frame = allocate(ACTION, 4);
+        frame.putInt(amount);
+        return frame.flip();
+    }
+
+    /**
+     * Builds a GAME_OVER frame.
+     *
+     * @param winnerSeat the seat of the winning player, or -1 if unknown
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer gameOver(int winnerSeat) {
+        ByteBuffer frame = allocate(GAME_OVER, 1);
+        frame.put((byte) winnerSeat);
+        return frame.flip();
+    }
+
+    /**
+     * Builds a TABLE_UPDATE frame around a frame from a
+     * {@link TableStatePublisher}.
+     *
+     * @param stateFrame the encoded keyframe or delta
+     * @return the frame, ready to be written
+     */
+    public static ByteBuffer tableUpdate(ByteBuffer stateFrame) {
+        ByteBuffer frame = allocate(TABLE_UPDATE, stateFrame.remaining());
+        frame.put(stateFrame.duplicate());
+        return frame.flip();
+    }
+
+    /**
+     * Returns the length of the next complete frame in a buffer that is ready
+     * for reading, without consuming it.
+     *
+     * @param buffer the received bytes, flipped for reading
+     * @return the total frame length including the header, -1 if the frame is
+     *         not complete yet, or 0 if its length is too short to hold the
+     *         frame type, which makes the frame invalid
+     */
+    public static int completeFrameLength(ByteBuffer buffer) {
+        if (buffer.remaining() < 2) {
+            return -1;
+        }
+        int length = 2 + (buffer.getShort(buffer.position()) & 0xFFFF);
+        if (length < HEADER_BYTES) {
+            return 0;
+        }
+        return buffer.remaining() >= length ? length : -1;
+    }
+
+    /**
+     * Allocates a buffer for a frame and writes its header.
+     *
+     * @param type        the frame type
+     * @param payloadSize the number of payload bytes
+     * @return the buffer positioned at the start of the payload
+     */
+    private static ByteBuffer allocate(byte type, int payloadSize) {
+        int length = payloadSize + 1;
+        if (length > MAX_FRAME_LENGTH) {
+            throw new IllegalArgumentException("Frame too large: " + length + " bytes");
+        }
+        ByteBuffer frame = ByteBuffer.allocate(HEADER_BYTES + payloadSize);
+        frame.putShort((short) length).put(type);
+        return frame;
+    }
+}
@@ -0,0 +1,118 @@
+package org.example;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Timing checks that depend too much on the machine to run with the unit
+ * tests. Each benchmark prints its measurement next to its limit, and the run
+ * exits with status 1 if any measurement is outside its limit. The build runs
+ * them with the {@code benchmark} task.
+ */
+public final class Benchmarks {
+
+    private static boolean failed;
+
+    private Benchmarks() {
+    }
+
+    /**
+     * Runs every benchmark.
+     *
+     * @param args ignored
+     * @throws InterruptedException if a search is interrupted
+     */
+    public static void main(String[] args) throws InterruptedException {
+        icmTenPlayers();
+        mctsTimeBudget();
+        if (failed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Times exact ICM equities for ten players, which should take well under
+     * a millisecond each.
+     */
+    private static void icmTenPlayers() {
+        IcmCalculator icm = new IcmCalculator(new double[] { 50, 30, 20 }, 0.01, 1024, 1);
+        int[] stacks = new int[10];
+        long start = System.nanoTime();
+        for (int run = 0; run < 2000; run++) {
+            for (int i = 0; i < stacks.length; i++) {
+                stacks[i] = 1000 + run * 10 + i;
+            }
+            icm.equities(stacks);
+        }
+        atMost("ICM equities, ten players", (System.nanoTime() - start) / 2000 / 1e3, 1000, "us");
+    }
+
+    /**
+     * Times search bot decisions, which should stay close to the time budget
+     * or to a shorter timeout, and reports how many playouts fit in the budget.
+     *
+     * @throws InterruptedException if the search is interrupted
+     */
+    private static void mctsTimeBudget() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        hero.addCards(Card.fromIndex(12));
+        hero.addCards(Card.fromIndex(25));
+        villain.setDealer(true);
+        Table table = Table.newBuilder().createDeck().build();
+        table.setHeadless(true);
+        table.setPlayers(new ArrayList<>(List.of(hero, villain)));
+        table.addToPot(200);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 4, 50)) {
+            bot.prompt(hero, 0, "");
+            long start = System.nanoTime();
+            bot.nextAmount(0);
+            atMost("MCTS decision, 50 ms budget", (System.nanoTime() - start) / 1e6, 250, "ms");
+            atLeast("MCTS playouts, 50 ms budget", bot.getLastIterations(), 100, "playouts");
+
+            bot.prompt(hero, 0, "");
+            start = System.nanoTime();
+            bot.nextAmount(20);
+            atMost("MCTS decision, 20 ms timeout", (System.nanoTime() - start) / 1e6, 200, "ms");
+        }
+    }
+
+    /**
+     * Prints a measurement that must not exceed its limit.
+     *
+     * @param name  what was measured
+     * @param value the measurement
+     * @param limit the largest acceptable measurement
+     * @param unit  the unit of both
+     */
+    private static void atMost(String name, double value, double limit, String unit) {
+        report(name, value, unit, value <= limit, "at most " + (long) limit);
+    }
+
+    /**
+     * Prints a measurement that must reach its limit.
+     *
+     * @param name  what was measured
+     * @param value the measurement
+     * @param limit the smallest acceptable measurement
+     * @param unit  the unit of both
+     */
+    private static void atLeast(String name, double value, double limit, String unit) {
+        report(name, value, unit, value >= limit, "at least " + (long) limit);
+    }
+
+    /**
+     * Prints a measurement and records whether it is within its limit.
+     *
+     * @param name   what was measured
+     * @param value  the measurement
+     * @param unit   the unit of the measurement
+     * @param within whether the measurement is within its limit
+     * @param limit  the limit, for display
+     */
+    private static void report(String name, double value, String unit, boolean within, String limit) {
+        System.out.printf("%-32s %10.1f %s (%s)%s%n", name, value, unit, limit, within ? "" : "  OUT OF LIMIT");
+        failed |= !within;
+    }
+}
@@ -64,4 +64,18 @@ public class DeckTest {
             fail("Deck should have been replenished by shuffle, allowing for removals.");
         }
     }
+
+    // Resetting with a seed gathers the dealt cards back and deals the same
+    // order every time.
+    @Test
+    void resetReplaysTheSameShuffle() {
+        deck.reset(42);
+        Card first = deck.removeCard();
+        Card second = deck.removeCard();
+        deck.reset(42);
+        assertEquals(52, deck.getDeck().size());
+        assertTrue(deck.getDiscards().isEmpty());
+        assertSame(first, deck.removeCard());
+        assertSame(second, deck.removeCard());
+    }
 }
@@ -0,0 +1,49 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EvaluatorTablesTest {
+
+    @Test
+    // The file the build writes reads back into the same tables the evaluator
+    // computes.
+    void generatedFileRoundTrips() throws IOException {
+        Path file = Files.createTempDirectory("tables").resolve("evaluator-tables.bin");
+        EvaluatorTables.main(new String[] { file.toString() });
+        char[][] read = EvaluatorTables.decode(Files.readAllBytes(file));
+        char[][] computed = EvaluatorTables.compute();
+
+        assertNotNull(read);
+        for (int table = 0; table < computed.length; table++) {
+            assertArrayEquals(computed[table], read[table]);
+        }
+        assertArrayEquals(computed[0], EvaluatorTables.STRAIGHT_HIGH);
+        assertArrayEquals(computed[6], EvaluatorTables.TOP_RANKS[5]);
+    }
+
+    @Test
+    // A damaged or truncated file is rejected, so the tables are computed.
+    void damagedFilesAreRejected() {
+        byte[] bytes = EvaluatorTables.encode(EvaluatorTables.compute());
+        bytes[bytes.length / 2] ^= 1;
+        assertNull(EvaluatorTables.decode(bytes));
+        assertNull(EvaluatorTables.decode(new byte[16]));
+    }
+
+    @Test
+    // Lookups give the wheel and the top kickers.
+    void tablesHoldStraightsAndKickers() {
+        int wheel = 1 << 12 | 0b1111;
+        assertEquals(1 << 3, (int) EvaluatorTables.STRAIGHT_HIGH[wheel]);
+        int shortWheel = 1 << 12 | 0b1111 << 4;
+        assertEquals(1 << 7, (int) EvaluatorTables.SHORT_DECK_STRAIGHT_HIGH[shortWheel]);
+        assertEquals(0, (int) EvaluatorTables.SHORT_DECK_STRAIGHT_HIGH[wheel]);
+        assertEquals(0b1100000000000, (int) EvaluatorTables.TOP_RANKS[2][0b1100000000111]);
+    }
+}
@@ -3,6 +3,8 @@ package org.example;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -55,4 +57,53 @@ public class EventBusTest {
 
         assertEquals("Test Message", receivedMessage.get(), "Observer should receive the correct message");
     }
+
+    @Test
+    // An observer attached to All hears every type, one subscribed to a mask
+    // hears only those types, and unwanted types reach no one.
+    void subscriptionsFollowTheirTypeMask() {
+        List<String> everything = new ArrayList<>();
+        List<String> bets = new ArrayList<>();
+        eventBus.attach(everything::add, EventType.All);
+        eventBus.subscribe(bets::add, EventType.Bet, EventType.Win);
+
+        eventBus.postMessage(EventType.Bet, "bet");
+        eventBus.postMessage(EventType.Fold, "fold");
+        eventBus.postMessage(EventType.Win, "win");
+
+        assertEquals(List.of("bet", "fold", "win"), everything);
+        assertEquals(List.of("bet", "win"), bets);
+        assertTrue(eventBus.hasSubscribers(EventType.NewHand));
+    }
+
+    @Test
+    // Table, seat and amount filters pick out the matching events, and a
+    // cancelled subscription hears nothing more.
+    void filtersAndCancellation() {
+        List<GameEvent> received = new ArrayList<>();
+        IObserver observer = new IObserver() {
+            @Override
+            public void update(String eventDescription) {
+            }
+
+            @Override
+            public void onEvent(GameEvent event) {
+                received.add(event);
+            }
+        };
+        EventBus.Subscription subscription = eventBus.subscribe(observer, EventType.Bet)
+                .onlyTable(7).onlySeat(2).minimumAmount(100);
+
+        eventBus.post(new GameEvent(EventType.Bet, "match", 7, 2, 150));
+        eventBus.post(new GameEvent(EventType.Bet, "other table", 8, 2, 150));
+        eventBus.post(new GameEvent(EventType.Bet, "other seat", 7, 3, 150));
+        eventBus.post(new GameEvent(EventType.Bet, "too small", 7, 2, 50));
+        assertEquals(1, received.size());
+        assertEquals("match", received.get(0).getDescription());
+
+        subscription.cancel();
+        assertFalse(eventBus.hasSubscribers(EventType.Bet));
+        eventBus.post(new GameEvent(EventType.Bet, "match", 7, 2, 150));
+        assertEquals(1, received.size());
+    }
 }
@@ -0,0 +1,56 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameConfiguratorTest {
+
+    private static final String[] BATCH = {"batch", "--tables", "2", "--hands", "5", "--seed", "1", "--threads", "2"};
+
+    private static String run(String... args) throws InterruptedException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8)) {
+            GameConfigurator.runBatch(args, out);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    private static String results(String output) {
+        return output.substring(output.indexOf("hands, average pot"));
+    }
+
+    @Test
+    // A batch run reports its throughput and a summary of the hands played.
+    void batchPrintsASummary() throws InterruptedException, IOException {
+        String output = run(BATCH);
+
+        assertTrue(output.contains("Playing 5 hands of Texas Hold'em at 2 tables of 6 on 2 threads, seed 1"));
+        assertTrue(output.contains("hands/sec"));
+        assertTrue(output.contains("hands, average pot"));
+        assertTrue(output.contains("wins by seat:"));
+    }
+
+    @Test
+    // Two runs with the same seed play the same hands.
+    void sameSeedSameResults() throws InterruptedException, IOException {
+        assertEquals(results(run(BATCH)), results(run(BATCH)));
+    }
+
+    @Test
+    // Bad arguments print the usage and return no summary.
+    void badArgumentsPrintUsage() throws InterruptedException, IOException {
+        for (String[] args : new String[][] {{"batch", "--players", "11"}, {"batch", "--variant", "foo"}}) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (PrintStream out = new PrintStream(bytes, true, StandardCharsets.UTF_8)) {
+                assertNull(GameConfigurator.runBatch(args, out));
+            }
+            assertTrue(bytes.toString(StandardCharsets.UTF_8).contains("usage: holdem batch"));
+        }
+    }
+}
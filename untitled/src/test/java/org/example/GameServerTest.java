@@ -0,0 +1,143 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameServerTest {
+
+    @Test
+    // Checks that the length of a frame is only reported once all of it arrived.
+    void completeFrameLengthWaitsForWholeFrame() {
+        ByteBuffer frame = WireProtocol.action(25);
+        ByteBuffer partial = ByteBuffer.wrap(frame.array(), 0, 4);
+
+        assertEquals(-1, WireProtocol.completeFrameLength(partial));
+        assertEquals(WireProtocol.HEADER_BYTES + 4, WireProtocol.completeFrameLength(frame));
+        assertEquals(WireProtocol.ACTION, frame.get(2));
+        assertEquals(25, frame.getInt(WireProtocol.HEADER_BYTES));
+    }
+
+    @Test
+    // Connects one client next to a bot and expects to be seated and asked to act.
+    void clientIsSeatedAndAskedToAct() throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, 1, 1, 1000);
+        Thread serverThread = new Thread(server);
+        serverThread.start();
+        try (Socket socket = new Socket("localhost", server.getPort())) {
+            socket.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(socket.getInputStream());
+            DataOutputStream out = new DataOutputStream(socket.getOutputStream());
+
+            byte[] seated = readFrame(in);
+            assertEquals(WireProtocol.SEATED, seated[0]);
+            assertEquals(2, seated[6]);
+
+            byte[] frame;
+            do {
+                frame = readFrame(in);
+            } while (frame[0] != WireProtocol.ACTION_REQUEST);
+            out.write(WireProtocol.action(-1).array());
+            out.flush();
+        } finally {
+            server.close();
+            serverThread.join(5000);
+        }
+        assertFalse(serverThread.isAlive());
+    }
+
+    @Test
+    // A frame too short to hold its type is rejected, and the rest of a buffer
+    // is not read past it.
+    void zeroLengthFramesAreInvalid() {
+        assertEquals(0, WireProtocol.completeFrameLength(ByteBuffer.wrap(new byte[] { 0, 0, 4 })));
+    }
+
+    @Test
+    // A client sending a zero-length frame is disconnected, and the server
+    // keeps seating other clients.
+    void malformedFrameOnlyClosesItsConnection() throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, 1, 1, 1000);
+        Thread serverThread = new Thread(server);
+        serverThread.start();
+        try (Socket bad = new Socket("localhost", server.getPort())) {
+            bad.setSoTimeout(5000);
+            DataInputStream in = new DataInputStream(bad.getInputStream());
+            assertEquals(WireProtocol.SEATED, readFrame(in)[0]);
+            bad.getOutputStream().write(new byte[] { 0, 0 });
+            bad.getOutputStream().flush();
+            try (Socket good = new Socket("localhost", server.getPort())) {
+                good.setSoTimeout(5000);
+                assertEquals(WireProtocol.SEATED, readFrame(new DataInputStream(good.getInputStream()))[0]);
+            }
+        } finally {
+            server.close();
+            serverThread.join(5000);
+        }
+        assertFalse(serverThread.isAlive());
+    }
+
+    @Test
+    // Once its only client disconnects a table stops playing, even though
+    // its two bots could go on playing each other.
+    void tableStopsWhenItsClientsLeave() throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, 1, 2, 1000);
+        Thread serverThread = new Thread(server);
+        serverThread.start();
+        try {
+            try (Socket socket = new Socket("localhost", server.getPort())) {
+                socket.setSoTimeout(5000);
+                assertEquals(WireProtocol.SEATED, readFrame(new DataInputStream(socket.getInputStream()))[0]);
+            }
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (server.getActiveTables() > 0 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(50);
+            }
+            assertEquals(0, server.getActiveTables());
+        } finally {
+            server.close();
+            serverThread.join(5000);
+        }
+    }
+
+    @Test
+    // Every client at a table follows the table's state, not only the one
+    // asked to act.
+    void everyClientGetsTableUpdates() throws IOException, InterruptedException {
+        GameServer server = new GameServer(0, 2, 1, 1000);
+        Thread serverThread = new Thread(server);
+        serverThread.start();
+        try (Socket first = new Socket("localhost", server.getPort());
+             Socket second = new Socket("localhost", server.getPort())) {
+            for (Socket socket : new Socket[] { first, second }) {
+                socket.setSoTimeout(5000);
+                DataInputStream in = new DataInputStream(socket.getInputStream());
+                byte[] frame = readFrame(in);
+                for (int read = 1; read < 20 && frame[0] != WireProtocol.TABLE_UPDATE; read++) {
+                    frame = readFrame(in);
+                }
+                assertEquals(WireProtocol.TABLE_UPDATE, frame[0]);
+                TableState state = TableStateCodec.decode(null, ByteBuffer.wrap(frame, 1, frame.length - 1));
+                assertEquals(3, state.getSeatCount());
+            }
+        } finally {
+            server.close();
+            serverThread.join(5000);
+        }
+        assertFalse(serverThread.isAlive());
+    }
+
+    // Reads one frame and returns its type followed by the payload.
+    private byte[] readFrame(DataInputStream in) throws IOException {
+        int length = in.readUnsignedShort();
+        byte[] frame = new byte[length];
+        in.readFully(frame);
+        return frame;
+    }
+}
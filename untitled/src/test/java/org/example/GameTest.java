@@ -6,6 +6,8 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 
+import static org.junit.jupiter.api.Assertions.*;
+
 public class GameTest {
 
 
@@ -31,9 +33,108 @@ public class GameTest {
 
     }
 
+    @Test
+    // Restoring a checkpoint and saving it again gives back the same bytes.
+    void checkpointRoundTrip() {
+        Game game = new Game();
+        Table table = Table.newBuilder().createPlayers(4).createDeck().build();
+        game.setTable(table);
+        table.resetTable();
+        table.dealPlayers();
+        table.dealFlop();
+        table.addToPot(120);
+
+        byte[] checkpoint = game.checkpoint();
+        Game restored = Game.restore(checkpoint);
+
+        assertArrayEquals(checkpoint, restored.checkpoint());
+        assertEquals(120, restored.getTable().getPot());
+        assertEquals(3, restored.getTable().getTableCards().size());
+        assertEquals("Phil", restored.getTable().getPlayers().get(1).getName());
+    }
+
+    @Test
+    // A checkpoint keeps the table's variant along with its cards.
+    void checkpointKeepsTheVariant() {
+        Game game = new Game();
+        Table table = Table.newBuilder().variant(GameVariant.OMAHA).createPlayers(3).createDeck().build();
+        game.setTable(table);
+        table.resetTable();
+        table.dealPlayers();
+        table.dealFlop();
+
+        byte[] checkpoint = game.checkpoint();
+        Table restored = Game.restore(checkpoint).getTable();
+
+        assertArrayEquals(checkpoint, Game.restore(checkpoint).checkpoint());
+        assertEquals(GameVariant.OMAHA, restored.getVariant());
+        assertEquals(4, restored.getPlayers().get(0).getCards().size());
+        assertEquals(table.getHandStrength(table.getPlayers().get(0)),
+                restored.getHandStrength(restored.getPlayers().get(0)));
+    }
+
+    @Test
+    // Restored copies shuffle identically, while forks with a new seed diverge.
+    void restoredGamesReplayTheSameShuffles() {
+        Game game = new Game();
+        game.setTable(Table.newBuilder().createPlayers(3).createDeck().build());
+        byte[] checkpoint = game.checkpoint();
 
+        Deck first = Game.restore(checkpoint).getTable().getDeck();
+        Deck second = Game.restore(checkpoint).getTable().getDeck();
+        Deck fork = GameCheckpoint.fork(checkpoint, 42).getTable().getDeck();
+        first.shuffleDeck();
+        second.shuffleDeck();
+        fork.shuffleDeck();
 
+        for (int i = 0; i < 52; i++) {
+            assertEquals(first.getDeck().get(i).getIndex(), second.getDeck().get(i).getIndex());
+        }
+        assertNotEquals(first.getDeck().get(0).getIndex() * 52 + first.getDeck().get(1).getIndex(),
+                fork.getDeck().get(0).getIndex() * 52 + fork.getDeck().get(1).getIndex());
+    }
 
+    @Test
+    // A restored table reused for a new game gets its whole deck back, not
+    // only the cards that were still undealt.
+    void restoredDecksRefillWhenReused() {
+        Game game = new Game();
+        Table table = Table.newBuilder().variant(GameVariant.SHORT_DECK).createPlayers(4).createDeck().build();
+        game.setTable(table);
+        table.resetTable();
+        table.dealPlayers();
+        table.dealFlop();
+
+        Table restored = Game.restore(game.checkpoint()).getTable();
+        Table.reuse(restored).resetPlayers(restored.getPlayers(), 1000).reseed(7);
 
+        assertEquals(GameVariant.SHORT_DECK.getDeckSize(), restored.getDeck().getDeck().size());
+    }
 
+    @Test
+    // Garbage is rejected instead of producing a broken game.
+    void restoreRejectsInvalidData() {
+        assertThrows(IllegalArgumentException.class, () -> Game.restore(new byte[] { 1, 2, 3 }));
+    }
+
+    @Test
+    // A card outside the deck or a negative name length is reported as bad
+    // data rather than escaping as some other exception.
+    void restoreRejectsOutOfRangeValues() {
+        Game game = new Game();
+        game.setTable(Table.newBuilder().createPlayers(2).createDeck().build());
+        byte[] checkpoint = game.checkpoint();
+        // Header, then the deck's card count and its first card
+        int firstCard = 4 + 1 + 1 + 4 + 1 + 1 + 4 + 8 + 2;
+
+        byte[] badCard = checkpoint.clone();
+        badCard[firstCard] = 60;
+        assertThrows(IllegalArgumentException.class, () -> Game.restore(badCard));
+
+        // The first name length follows the empty discards and board and the player count
+        byte[] badName = checkpoint.clone();
+        int firstName = firstCard + 52 + 2 + 2 + 1;
+        badName[firstName] = (byte) 0x80;
+        assertThrows(IllegalArgumentException.class, () -> Game.restore(badName));
+    }
 }
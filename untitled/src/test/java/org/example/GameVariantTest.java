@@ -0,0 +1,122 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GameVariantTest {
+
+    private static long cards(int... indexes) {
+        long mask = 0;
+        for (int index : indexes) {
+            mask |= HandEvaluator.cardMask(index);
+        }
+        return mask;
+    }
+
+    private static int card(int rank, int suit) {
+        return suit * 13 + rank;
+    }
+
+    @Test
+    // In Short Deck a flush beats a full house and A-6-7-8-9 is the lowest
+    // straight.
+    void shortDeckRanksFlushesAboveFullHouses() {
+        long flush = cards(card(12, 0), card(9, 0), card(7, 0), card(5, 0), card(4, 0));
+        long fullHouse = cards(card(12, 0), card(12, 1), card(12, 2), card(11, 0), card(11, 1));
+        long wheel = cards(card(12, 1), card(4, 0), card(5, 2), card(6, 3), card(7, 0));
+        long trips = cards(card(11, 1), card(11, 2), card(11, 3), card(5, 0), card(8, 1));
+        GameVariant variant = GameVariant.SHORT_DECK;
+
+        assertTrue(variant.evaluate(flush, 0) > variant.evaluate(fullHouse, 0));
+        assertEquals(HandEvaluator.FLUSH, variant.category(variant.evaluate(flush, 0)));
+        assertEquals(HandEvaluator.FULL_HOUSE, variant.category(variant.evaluate(fullHouse, 0)));
+        assertEquals(HandEvaluator.STRAIGHT, variant.category(variant.evaluate(wheel, 0)));
+        assertTrue(variant.evaluate(wheel, 0) > variant.evaluate(trips, 0));
+        assertEquals(36, variant.getDeckSize());
+        assertEquals(0, variant.getDeckMask() & cards(card(0, 0), card(3, 3)));
+    }
+
+    @Test
+    // Omaha uses exactly two hole cards: four hearts in the hand and one on
+    // the board make no flush, and neither does one heart in the hand with
+    // four on the board.
+    void omahaUsesExactlyTwoHoleCards() {
+        long hole = cards(card(12, 0), card(11, 0), card(10, 0), card(9, 0));
+        long board = cards(card(2, 0), card(5, 1), card(7, 2), card(0, 3), card(3, 1));
+        assertEquals(HandEvaluator.HIGH_CARD, HandEvaluator.category(GameVariant.OMAHA.evaluate(hole, board)));
+        assertEquals(HandEvaluator.FLUSH, HandEvaluator.category(GameVariant.HOLDEM.evaluate(hole, board)));
+
+        long oneHeart = cards(card(12, 0), card(12, 1), card(6, 2), card(4, 3));
+        long heartBoard = cards(card(2, 0), card(5, 0), card(7, 0), card(9, 0), card(1, 1));
+        assertEquals(HandEvaluator.PAIR, HandEvaluator.category(GameVariant.OMAHA.evaluate(oneHeart, heartBoard)));
+    }
+
+    @Test
+    // The pruned Omaha evaluator agrees with trying all 60 combinations.
+    void omahaPruningMatchesEveryCombination() {
+        SplittableRandom random = new SplittableRandom(5);
+        for (int hand = 0; hand < 2000; hand++) {
+            long dealt = 0;
+            int[] picked = new int[9];
+            for (int i = 0; i < picked.length; i++) {
+                int index;
+                do {
+                    index = random.nextInt(52);
+                } while ((dealt & HandEvaluator.cardMask(index)) != 0);
+                dealt |= HandEvaluator.cardMask(index);
+                picked[i] = index;
+            }
+            long hole = cards(picked[0], picked[1], picked[2], picked[3]);
+            long board = cards(picked[4], picked[5], picked[6], picked[7], picked[8]);
+            int best = 0;
+            for (int a = 0; a < 4; a++) {
+                for (int b = a + 1; b < 4; b++) {
+                    for (int c = 4; c < 9; c++) {
+                        for (int d = c + 1; d < 9; d++) {
+                            for (int e = d + 1; e < 9; e++) {
+                                best = Math.max(best, HandEvaluator.evaluate(
+                                        cards(picked[a], picked[b], picked[c], picked[d], picked[e])));
+                            }
+                        }
+                    }
+                }
+            }
+            assertEquals(best, OmahaEvaluator.evaluate(hole, board));
+        }
+    }
+
+    @Test
+    // Batches of every variant deal from their own deck and keep the chips.
+    void batchesPlayEveryVariant() {
+        for (GameVariant variant : GameVariant.values()) {
+            TableBatch batch = new TableBatch(50, 6, 7, variant);
+            batch.seatAll(1000);
+            for (int hand = 0; hand < 30; hand++) {
+                batch.playHands(0, batch.getTableCount());
+            }
+            for (int table = 0; table < batch.getTableCount(); table++) {
+                assertEquals(6000, batch.getChips(table));
+            }
+            Table view = batch.toTable(0);
+            assertEquals(variant, view.getVariant());
+            assertEquals(variant.getDeckSize(), view.getDeck().getDeck().size());
+            assertSame(variant, GameVariant.fromName(variant.name().toLowerCase().replace('_', '-')));
+        }
+    }
+
+    @Test
+    // A table built for Omaha deals four cards to each player from a full
+    // deck.
+    void tableDealsTheVariantsHoleCards() {
+        Table table = Table.newBuilder().createPlayers(3).variant(GameVariant.OMAHA).createDeck().build();
+        table.dealPlayers();
+        for (Player player : table.getPlayers()) {
+            assertEquals(4, player.getCards().size());
+        }
+        table.dealFlop();
+        assertTrue(table.getHandRank(table.getPlayers().get(0)) >= 1);
+    }
+}
@@ -0,0 +1,75 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandCacheTest {
+
+    private static long randomHand(SplitMix64 random) {
+        long hand = 0;
+        while (Long.bitCount(hand) < 7) {
+            hand |= HandEvaluator.cardMask(random.nextInt(52));
+        }
+        return hand;
+    }
+
+    @Test
+    // Hands that only differ by suit names share one canonical entry.
+    void suitIsomorphicHandsShareAnEntry() {
+        HandCache cache = new HandCache(1 << 16);
+        long hearts = HandEvaluator.cardMask(12) | HandEvaluator.cardMask(11);
+        long spades = HandEvaluator.cardMask(39 + 12) | HandEvaluator.cardMask(39 + 11);
+        assertEquals(HandCache.canonicalize(hearts), HandCache.canonicalize(spades));
+
+        cache.evaluate(hearts);
+        cache.evaluate(spades);
+        assertEquals(1, cache.getMisses());
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    // A small cache stays within its cap, evicts, and still returns correct strengths.
+    void boundedCacheEvictsAndStaysCorrect() {
+        HandCache cache = new HandCache(4096);
+        assertTrue(cache.getMemoryBytes() <= 4096 + 64);
+        SplitMix64 random = new SplitMix64(5);
+        for (int i = 0; i < 5000; i++) {
+            long hand = randomHand(random);
+            assertEquals(HandEvaluator.evaluate(hand), cache.evaluate(hand));
+        }
+        assertTrue(cache.getEvictions() > 0);
+    }
+
+    @Test
+    // Many threads can share one cache and always read correct strengths.
+    void concurrentLookupsAreCorrect() throws InterruptedException {
+        HandCache cache = new HandCache(1 << 14);
+        List<Thread> threads = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            long seed = t % 2;
+            Thread thread = new Thread(() -> {
+                SplitMix64 random = new SplitMix64(seed);
+                for (int i = 0; i < 20_000; i++) {
+                    long hand = randomHand(random);
+                    if (cache.evaluate(hand) != HandEvaluator.evaluate(hand)) {
+                        synchronized (failures) {
+                            failures.add(new AssertionError("Wrong strength for " + hand));
+                        }
+                    }
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertTrue(failures.isEmpty());
+        assertTrue(cache.getHits() > 0);
+    }
+}
@@ -0,0 +1,86 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HandRangeTest {
+
+    private static long hand(String... cards) {
+        List<Card> list = new ArrayList<>();
+        for (String card : cards) {
+            list.add(new Card(card.charAt(card.length() - 1), card.substring(0, card.length() - 1)));
+        }
+        return HandEvaluator.mask(list);
+    }
+
+    @Test
+    // Categories are ordered and kickers break ties within a category.
+    void evaluatorRanksHands() {
+        int wheel = HandEvaluator.evaluate(hand("AH", "2C", "3D", "4S", "5H", "9C", "KD"));
+        int sixHigh = HandEvaluator.evaluate(hand("6H", "2C", "3D", "4S", "5H", "9C", "KD"));
+        int flush = HandEvaluator.evaluate(hand("2H", "7H", "9H", "JH", "KH", "KC", "KD"));
+        int fullHouse = HandEvaluator.evaluate(hand("2H", "2C", "9H", "9S", "9D", "KC", "KD"));
+        int straightFlush = HandEvaluator.evaluate(hand("10S", "JS", "QS", "KS", "AS", "AC", "AD"));
+
+        assertEquals(HandEvaluator.STRAIGHT, HandEvaluator.category(wheel));
+        assertTrue(sixHigh > wheel);
+        assertEquals(HandEvaluator.FLUSH, HandEvaluator.category(flush));
+        assertEquals(HandEvaluator.FULL_HOUSE, HandEvaluator.category(fullHouse));
+        assertEquals(HandEvaluator.STRAIGHT_FLUSH, HandEvaluator.category(straightFlush));
+        assertTrue(straightFlush > fullHouse && fullHouse > flush && flush > sixHigh);
+
+        int aceKicker = HandEvaluator.evaluate(hand("QH", "QC", "AD", "7S", "5H", "3C", "2D"));
+        int kingKicker = HandEvaluator.evaluate(hand("QH", "QC", "KD", "7S", "5H", "3C", "2D"));
+        assertTrue(aceKicker > kingKicker);
+    }
+
+    @Test
+    // Shorthand expands to the expected number of combos.
+    void parsesShorthand() {
+        assertEquals(18, HandRange.parse("QQ+").comboCount(), 1e-9);
+        assertEquals(4, HandRange.parse("AKs").comboCount(), 1e-9);
+        assertEquals(12, HandRange.parse("AKo").comboCount(), 1e-9);
+        assertEquals(16, HandRange.parse("A5s-A2s").comboCount(), 1e-9);
+        assertEquals(38, HandRange.parse("AJo+, KQs:0.5, AsKh").comboCount(), 1e-9);
+        assertThrows(IllegalArgumentException.class, () -> HandRange.parse("AAs"));
+    }
+
+    @Test
+    // Aces beat kings about 82% of the time, and a river board is exact.
+    void rangeEquity() {
+        HandRange aces = HandRange.parse("AA");
+        HandRange kings = HandRange.parse("KK");
+        double preflop = aces.equityAgainst(kings, List.of(), 20_000, new SplitMix64(7));
+        assertEquals(0.82, preflop, 0.02);
+
+        List<Card> board = List.of(new Card('S', "K"), new Card('H', "7"), new Card('C', "2"),
+                new Card('D', "9"), new Card('S', "4"));
+        assertEquals(0.0, aces.equityAgainst(kings, board, 0, new SplitMix64(7)), 1e-9);
+    }
+
+    @Test
+    // Batch evaluation agrees with single evaluation, and block-dealt Monte
+    // Carlo equity is close to the known value for aces heads up.
+    void batchEvaluationAndEquity() {
+        SplitMix64 random = new SplitMix64(11);
+        long[] hands = new long[500];
+        int[] strengths = new int[500];
+        for (int i = 0; i < hands.length; i++) {
+            while (Long.bitCount(hands[i]) < 7) {
+                hands[i] |= HandEvaluator.cardMask(random.nextInt(52));
+            }
+        }
+        HandEvaluator.evaluateBatch(hands, strengths);
+        for (int i = 0; i < hands.length; i++) {
+            assertEquals(HandEvaluator.evaluate(hands[i]), strengths[i]);
+        }
+
+        EquityCalculator calculator = new EquityCalculator(new SplitMix64(3));
+        double equity = calculator.equity(List.of(new Card('H', "A"), new Card('S', "A")), List.of(), 1, 20_000);
+        assertEquals(0.85, equity, 0.02);
+    }
+}
@@ -0,0 +1,81 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IcmCalculatorTest {
+
+    @Test
+    // Three players match the Malmuth-Harville numbers worked out by hand, in
+    // whatever order the stacks are given.
+    void exactEquitiesMatchTheModel() {
+        IcmCalculator icm = new IcmCalculator(new double[] { 50, 30, 20 });
+        IcmCalculator.Result result = icm.equities(new int[] { 20, 50, 30 });
+
+        assertTrue(result.isExact());
+        assertEquals(38.3929, result.equity(1), 1e-4);
+        assertEquals(100, Arrays.stream(result.toArray()).sum(), 1e-9);
+        assertTrue(result.equity(1) > result.equity(2) && result.equity(2) > result.equity(0));
+    }
+
+    @Test
+    // Reordered stacks come from the cache, and busted players get nothing.
+    void cachesByStacksAndSkipsBustedPlayers() {
+        IcmCalculator icm = new IcmCalculator(new double[] { 70, 30 });
+        Player leader = new Player(300, "Leader");
+        Player chaser = new Player(100, "Chaser");
+        Player busted = new Player(0, "Busted");
+        IcmCalculator.Result first = icm.equities(List.of(leader, chaser, busted));
+        IcmCalculator.Result second = icm.equities(List.of(busted, chaser, leader));
+
+        assertEquals(60, first.equity(0), 1e-9);
+        assertEquals(40, first.equity(1), 1e-9);
+        assertEquals(0.0, first.equity(2));
+        assertEquals(60, second.equity(2), 1e-9);
+        assertEquals(1, icm.getMisses());
+        assertEquals(1, icm.getHits());
+    }
+
+    @Test
+    // A large field is sampled, and the equal stacks land within the bound of
+    // an even share.
+    void samplesLargeFieldsWithinTheBound() {
+        double[] prizes = { 40, 25, 15, 10, 6, 4 };
+        IcmCalculator icm = new IcmCalculator(prizes, 0.2, 1_000_000, 16);
+        int[] stacks = new int[30];
+        Arrays.fill(stacks, 1000);
+        stacks[0] = 6000;
+        IcmCalculator.Result result = icm.equities(stacks);
+
+        assertFalse(result.isExact());
+        assertTrue(result.getErrorBound() <= 0.2);
+        assertEquals(100, Arrays.stream(result.toArray()).sum(), 1e-6);
+        double even = (100 - result.equity(0)) / 29;
+        for (int i = 1; i < stacks.length; i++) {
+            assertEquals(even, result.equity(i), 2 * result.getErrorBound());
+        }
+        assertTrue(result.equity(0) > 3 * even);
+    }
+
+    @Test
+    // Ten players are solved exactly, and bigger stacks are worth more.
+    void tenPlayersAreSolvedExactly() {
+        IcmCalculator icm = new IcmCalculator(new double[] { 50, 30, 20 }, 0.01, 1024, 1);
+        int[] stacks = new int[10];
+        for (int run = 0; run < 20; run++) {
+            for (int i = 0; i < stacks.length; i++) {
+                stacks[i] = 1000 + run * 10 + i;
+            }
+            IcmCalculator.Result result = icm.equities(stacks);
+            assertTrue(result.isExact());
+            assertEquals(100, Arrays.stream(result.toArray()).sum(), 1e-9);
+            for (int i = 1; i < stacks.length; i++) {
+                assertTrue(result.equity(i) > result.equity(i - 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MctsPlayerInputTest {
+
+    private static Card card(int rank, int suit) {
+        return Card.fromIndex(suit * 13 + rank);
+    }
+
+    private static Table riverTable(Player hero, Player villain, Card... board) {
+        Table table = Table.newBuilder().createDeck().build();
+        table.setHeadless(true);
+        villain.setDealer(true);
+        table.setPlayers(new ArrayList<>(List.of(hero, villain)));
+        table.getTableCards().addAll(List.of(board));
+        table.addToPot(200);
+        return table;
+    }
+
+    @Test
+    // With the nuts on the river the bot never folds to a big bet.
+    void neverFoldsTheNuts() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        hero.addCards(card(12, 0));
+        hero.addCards(card(11, 0));
+        Table table = riverTable(hero, villain, card(10, 0), card(9, 0), card(8, 0), card(0, 1), card(1, 2));
+        villain.setCurrentBet(400);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 2, 50)) {
+            bot.prompt(hero, 400, "");
+            assertNotEquals(-1, (int) bot.nextAmount(0));
+            assertTrue(bot.getLastIterations() > 0);
+        }
+    }
+
+    @Test
+    // When the table only takes a call, the nuts call instead of raising.
+    void onlyCallsWhenRaisingIsClosed() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        hero.addCards(card(12, 0));
+        hero.addCards(card(11, 0));
+        Table table = riverTable(hero, villain, card(10, 0), card(9, 0), card(8, 0), card(0, 1), card(1, 2));
+        villain.setCurrentBet(100);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 2, 20)) {
+            for (int decision = 0; decision < 5; decision++) {
+                bot.prompt(hero, 100, false, "");
+                assertEquals(100, (int) bot.nextAmount(0));
+            }
+        }
+    }
+
+    @Test
+    // With nothing but a low card against a big river bet the bot folds.
+    void foldsAHopelessHandToABigBet() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        hero.addCards(card(0, 1));
+        hero.addCards(card(5, 2));
+        Table table = riverTable(hero, villain, card(12, 0), card(11, 0), card(10, 3), card(9, 3), card(7, 0));
+        villain.setCurrentBet(800);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 1, 50)) {
+            bot.prompt(hero, 800, "");
+            assertEquals(-1, (int) bot.nextAmount(0));
+        }
+    }
+
+    @Test
+    // At Omaha one heart makes no flush on a four-heart board, so the bot folds it.
+    void playsTheTableVariant() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        for (Card card : List.of(card(12, 0), card(0, 1), card(1, 2), card(6, 3))) {
+            hero.addCards(card);
+        }
+        Table table = riverTable(hero, villain, card(11, 0), card(7, 0), card(4, 0), card(2, 0), card(9, 3));
+        table.setVariant(GameVariant.OMAHA);
+        villain.setCurrentBet(800);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 1, 50)) {
+            bot.prompt(hero, 800, "");
+            assertEquals(-1, (int) bot.nextAmount(0));
+        }
+    }
+
+    @Test
+    // The search stops on its budget or on a shorter timeout, and answers with a
+    // check or a raise the stack covers, never a fold when checking is free.
+    void stopsWithALegalAction() throws InterruptedException {
+        Player hero = new Player(1000, "Hero");
+        Player villain = new Player(1000, "Villain");
+        hero.addCards(card(12, 0));
+        hero.addCards(card(12, 1));
+        Table table = riverTable(hero, villain);
+
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 4, 50)) {
+            for (long timeout : new long[] { 0, 20 }) {
+                bot.prompt(hero, 0, "");
+                int amount = bot.nextAmount(timeout);
+                assertTrue(amount >= 0 && amount <= hero.getMoney());
+                assertTrue(bot.getLastIterations() > 0);
+            }
+        }
+    }
+
+    @Test
+    // A search bot can sit at a real table and play whole hands.
+    void playsHandsAtATable() throws InterruptedException {
+        Table table = Table.newBuilder().createPlayers(3).createDeck().build();
+        table.setHeadless(true);
+        Player searcher = table.getPlayers().get(1);
+        try (MctsPlayerInput bot = new MctsPlayerInput(table, 2, 5)) {
+            for (Player player : table.getPlayers()) {
+                player.setHuman(false);
+            }
+            table.setPlayerInput(searcher, bot);
+            Game game = new Game();
+            game.setTable(table);
+            for (int hand = 0; hand < 5 && table.getPlayers().size() > 1; hand++) {
+                game.playHand();
+            }
+        }
+        int chips = 0;
+        for (Player player : table.getPlayers()) {
+            chips += player.getMoney();
+        }
+        assertTrue(chips > 0);
+    }
+}
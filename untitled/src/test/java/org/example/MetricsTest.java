@@ -0,0 +1,62 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTest {
+
+    @Test
+    // Every value lands in a bucket whose upper edge is within about 3% of it.
+    void bucketsKeepValuesWithinTheirPrecision() {
+        for (long value : new long[] { 0, 1, 63, 64, 65, 1_000, 123_456, 9_999_999_999L }) {
+            long edge = LatencyHistogram.highestValueIn(LatencyHistogram.bucketOf(value));
+            assertTrue(edge >= value);
+            assertTrue(edge - value <= Math.max(1, value / 32));
+        }
+    }
+
+    @Test
+    // Percentiles come from the recorded distribution and reset clears it.
+    void percentilesFollowRecordedValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        assertEquals(1000, histogram.getCount());
+        assertEquals(1_000_000, histogram.getMax());
+        assertEquals(500_000, histogram.getValueAtPercentile(50), 500_000 / 32.0);
+        assertEquals(990_000, histogram.getValueAtPercentile(99), 990_000 / 32.0);
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    // With metrics on, the phase timer fills the phase histograms.
+    void phaseTimerRecordsWhenEnabled() {
+        Metrics metrics = Metrics.getInstance();
+        boolean wasEnabled = metrics.isEnabled();
+        try {
+            metrics.setEnabled(false);
+            PhaseTimer timer = new PhaseTimer(metrics);
+            LatencyHistogram betting = metrics.histogram("phase_betting_nanos");
+            long before = betting.getCount();
+
+            timer.begin(HandPhase.BETTING);
+            timer.end(1);
+            assertEquals(before, betting.getCount());
+
+            metrics.setEnabled(true);
+            timer.begin(HandPhase.BETTING);
+            timer.end(1);
+            timer.handFinished(timer.handStarted());
+            assertEquals(before + 1, betting.getCount());
+            assertTrue(metrics.render().contains("phase_betting_nanos_count"));
+        } finally {
+            metrics.setEnabled(wasEnabled);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OpponentRangesTest {
+
+    private static int combo(int first, int second) {
+        return HandRange.comboIndex(first, second);
+    }
+
+    @Test
+    // Board cards remove every combo that contains them.
+    void boardCardsAreBlocked() {
+        OpponentRanges ranges = new OpponentRanges();
+        ranges.newHand(0b11);
+        assertEquals(1326, ranges.rangeOf(0).comboCount(), 1e-9);
+
+        ranges.boardChanged(HandEvaluator.cardMask(0) | HandEvaluator.cardMask(13) | HandEvaluator.cardMask(26));
+        assertEquals(49 * 48 / 2, ranges.rangeOf(1).comboCount(), 1e-9);
+        assertEquals(0.0, ranges.rangeOf(1).getWeight(combo(0, 1)));
+    }
+
+    @Test
+    // A raise makes strong starting hands more likely than weak ones.
+    void raisesFavourStrongHands() {
+        OpponentRanges ranges = new OpponentRanges();
+        ranges.newHand(0b11);
+        ranges.observe(1, OpponentRanges.RAISE);
+
+        HandRange range = ranges.rangeOf(1);
+        int aces = combo(12, 25);
+        int sevenTwo = combo(5, 13);
+        assertEquals(1.0, range.getWeight(aces), 1e-9);
+        assertTrue(range.getWeight(sevenTwo) < 0.2);
+        assertEquals(1326, ranges.rangeOf(0).comboCount(), 1e-9);
+    }
+
+    @Test
+    // Equity against a raiser is lower than against someone who only checked.
+    void equityFollowsTheActions() {
+        OpponentRanges ranges = new OpponentRanges();
+        long hole = HandEvaluator.cardMask(9) | HandEvaluator.cardMask(22);
+        ranges.newHand(0b11);
+        ranges.observe(1, OpponentRanges.CHECK);
+        double againstCheck = ranges.equity(0, hole);
+
+        ranges.newHand(0b11);
+        ranges.observe(1, OpponentRanges.RAISE);
+        double againstRaise = ranges.equity(0, hole);
+
+        assertTrue(againstRaise < againstCheck);
+        ranges.fold(1);
+        assertEquals(0.0, ranges.equity(0, hole));
+    }
+}
@@ -0,0 +1,64 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutsCalculatorTest {
+
+    private static Card card(int rank, int suit) {
+        return Card.fromIndex(suit * 13 + rank);
+    }
+
+    @Test
+    // A nut flush draw on the flop has nine flush outs and hits by the river
+    // in every runout that brings another heart.
+    void countsAFlushDraw() {
+        OutsCalculator outs = new OutsCalculator();
+        outs.update(List.of(card(12, 0), card(11, 0)), List.of(card(0, 0), card(5, 0), card(7, 1)));
+
+        assertEquals(HandEvaluator.HIGH_CARD, outs.getCategory());
+        assertEquals(47, outs.getUnseenCards());
+        assertEquals(9, outs.getOuts(HandEvaluator.FLUSH));
+        assertEquals(14, outs.getOuts(HandEvaluator.PAIR));
+        assertEquals(9, outs.getOutsTo(HandEvaluator.STRAIGHT));
+        assertEquals(1 - 703.0 / 1081, outs.getProbabilityByRiver(HandEvaluator.FLUSH), 1e-9);
+        assertTrue(outs.describe().contains("9 to flush"));
+    }
+
+    @Test
+    // The turn read from the flop's enumeration matches a fresh count.
+    void turnReusesTheFlopEnumeration() {
+        List<Card> hole = List.of(card(8, 1), card(7, 2));
+        List<Card> flop = List.of(card(6, 0), card(5, 3), card(12, 1));
+        List<Card> turn = List.of(card(6, 0), card(5, 3), card(12, 1), card(0, 0));
+        OutsCalculator followed = new OutsCalculator();
+        followed.update(hole, flop);
+        followed.update(hole, turn);
+        OutsCalculator fresh = new OutsCalculator();
+        fresh.update(hole, turn);
+
+        assertEquals(46, followed.getUnseenCards());
+        assertEquals(8, followed.getOuts(HandEvaluator.STRAIGHT));
+        for (int category = 0; category <= HandEvaluator.STRAIGHT_FLUSH; category++) {
+            assertEquals(fresh.getOuts(category), followed.getOuts(category));
+            assertEquals(fresh.getProbabilityByRiver(category), followed.getProbabilityByRiver(category), 1e-12);
+        }
+        assertEquals(8.0 / 46, followed.getProbabilityByRiver(HandEvaluator.STRAIGHT), 1e-12);
+    }
+
+    @Test
+    // On the river there is nothing left to draw.
+    void riverHasNoOuts() {
+        OutsCalculator outs = new OutsCalculator();
+        outs.update(List.of(card(12, 0), card(12, 1)),
+                List.of(card(0, 0), card(5, 2), card(7, 1), card(9, 3), card(3, 2)));
+
+        assertEquals(HandEvaluator.PAIR, outs.getCategory());
+        assertEquals(0, outs.getTotalOuts());
+        assertEquals(1, outs.getProbabilityByRiver(HandEvaluator.PAIR), 0);
+        assertEquals("Holding pair", outs.describe());
+    }
+}
@@ -0,0 +1,78 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PlayerStatisticsTest {
+
+    @Test
+    // VPIP and PFR count hands, not actions, and checks do not count as calls.
+    void voluntaryActionsAreCountedOncePerHand() {
+        PlayerStatistics statistics = new PlayerStatistics();
+        Player player = new Player(500, "Phil");
+
+        statistics.recordHandDealt(player);
+        statistics.recordRaise(player, true);
+        statistics.recordCall(player, 40, true);
+        statistics.recordHandDealt(player);
+        statistics.recordCall(player, 0, true);
+
+        PlayerStatistics.Snapshot snapshot = statistics.snapshot(player);
+        assertEquals(2, snapshot.getHands());
+        assertEquals(0.5, snapshot.getVpip(), 1e-9);
+        assertEquals(0.5, snapshot.getPfr(), 1e-9);
+        assertEquals(1.0, snapshot.getAggressionFactor(), 1e-9);
+    }
+
+    @Test
+    // Many threads can record into one registry without losing updates.
+    void concurrentUpdatesAreNotLost() throws InterruptedException {
+        PlayerStatistics statistics = new PlayerStatistics();
+        Player player = new Player(500, "Phil");
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    statistics.recordFold(player);
+                    statistics.recordShowdown(player, i % 2 == 0);
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        PlayerStatistics.Snapshot snapshot = statistics.snapshot(player);
+        assertEquals(80_000, snapshot.getFolds());
+        assertEquals(0.5, snapshot.getShowdownWinRate(), 1e-9);
+    }
+
+    @Test
+    // The table feeds raises and calls into its statistics as players act.
+    void tableRecordsActions() throws InterruptedException {
+        Table table = Table.newBuilder().createDeck().build();
+        Player raiser = new Player(500, "Ann");
+        Player caller = new Player(500, "Ben");
+        table.setPlayers(new ArrayList<>(List.of(raiser, caller)));
+        QueuedPlayerInput raiserInput = new QueuedPlayerInput();
+        QueuedPlayerInput callerInput = new QueuedPlayerInput();
+        table.setPlayerInput(raiser, raiserInput);
+        table.setPlayerInput(caller, callerInput);
+        raiserInput.submit(50);
+        callerInput.submit(50);
+        table.resetTable();
+        table.dealPlayers();
+        table.evaluateHands();
+        table.simulateBettingRound();
+
+        assertEquals(1.0, table.getStatistics().snapshot(raiser).getPfr(), 1e-9);
+        assertEquals(1.0, table.getStatistics().snapshot(caller).getVpip(), 1e-9);
+        assertEquals(0.0, table.getStatistics().snapshot(caller).getPfr(), 1e-9);
+    }
+}
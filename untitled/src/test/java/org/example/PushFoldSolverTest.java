@@ -0,0 +1,86 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PushFoldSolverTest {
+
+    private static long hole(int firstRank, int firstSuit, int secondRank, int secondSuit) {
+        return HandEvaluator.cardMask(firstSuit * 13 + firstRank) | HandEvaluator.cardMask(secondSuit * 13 + secondRank);
+    }
+
+    @Test
+    // The 1326 combos fall into 169 classes with the usual names and sizes.
+    void groupsCombosIntoHandClasses() {
+        Set<String> names = new HashSet<>();
+        int combos = 0;
+        for (int cls = 0; cls < PushFoldSolver.CLASSES; cls++) {
+            names.add(PushFoldSolver.className(cls));
+            combos += PushFoldSolver.comboCount(cls);
+        }
+        assertEquals(169, names.size());
+        assertEquals(HandRange.COMBOS, combos);
+        assertEquals("AA", PushFoldSolver.className(PushFoldSolver.handClass(hole(12, 0, 12, 3))));
+        assertEquals("AKs", PushFoldSolver.className(PushFoldSolver.handClass(hole(11, 2, 12, 2))));
+        assertEquals("72o", PushFoldSolver.className(PushFoldSolver.handClass(hole(5, 1, 0, 3))));
+    }
+
+    @Test
+    // Heads up, aces always go in, seven-deuce is never called, and shorter
+    // stacks push wider.
+    void solvesHeadsUpCharts() {
+        PushFoldSolver solver = new PushFoldSolver(null, 4, 400, 300);
+        int aces = PushFoldSolver.handClass(hole(12, 0, 12, 1));
+        int sevenDeuce = PushFoldSolver.handClass(hole(5, 0, 0, 1));
+        assertTrue(solver.equity(aces, sevenDeuce) > 0.8);
+
+        PushFoldSolver.Chart chart = solver.chart(10, 2);
+        assertEquals(10, chart.getDepth());
+        assertTrue(chart.shouldPush(0, hole(12, 0, 12, 1)));
+        assertTrue(chart.shouldCall(0, 1, hole(12, 0, 12, 1)));
+        assertFalse(chart.shouldCall(0, 1, hole(5, 0, 0, 1)));
+        assertTrue(chart.pushRange(0) > 0.35 && chart.pushRange(0) < 0.85);
+        assertTrue(solver.chart(3, 2).pushRange(0) > solver.chart(15, 2).pushRange(0));
+    }
+
+    @Test
+    // A chart solved once is written to the cache and read back by a new solver.
+    void cachesChartsOnDisk() throws IOException {
+        Path directory = Files.createTempDirectory("pushfold");
+        PushFoldSolver.Chart solved = new PushFoldSolver(directory, 2, 100, 50).chart(6, 3);
+        try (var files = Files.list(directory)) {
+            assertEquals(2, files.count());
+        }
+
+        PushFoldSolver.Chart loaded = new PushFoldSolver(directory, 2, 100, 50).chart(6.2, 3);
+        for (int cls = 0; cls < PushFoldSolver.CLASSES; cls++) {
+            assertEquals(solved.pushFrequency(0, cls), loaded.pushFrequency(0, cls));
+            assertEquals(solved.callFrequency(1, 2, cls), loaded.callFrequency(1, 2, cls));
+        }
+    }
+
+    @Test
+    // A tournament whose short stacks play from charts still places everyone.
+    void tournamentPlaysShortStacksFromCharts() throws InterruptedException {
+        List<Player> entrants = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            entrants.add(new Player(300, "Entrant " + i));
+        }
+        List<Tournament.Elimination> results = new ArrayList<>();
+        try (Tournament tournament = new Tournament(entrants, 6, BlindSchedule.standard(1000, 5), 2)) {
+            tournament.setPushFoldSolver(new PushFoldSolver(null, 2, 100, 50));
+            tournament.setEliminationSink(results::add);
+            tournament.run();
+        }
+        assertEquals(12, results.size());
+    }
+}
@@ -0,0 +1,39 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class QueuedPlayerInputTest {
+
+    @Test
+    // An answer that arrives after its prompt timed out does not answer the next prompt.
+    void lateAnswersAreDropped() throws InterruptedException {
+        QueuedPlayerInput input = new QueuedPlayerInput();
+        Player player = new Player(1000, "Phil");
+
+        input.prompt(player, 50, "");
+        assertNull(input.nextAmount(10));
+        input.submit(200);
+
+        input.prompt(player, 100, "");
+        assertNull(input.nextAmount(10));
+        input.submit(100);
+
+        input.prompt(player, 100, "");
+        input.submit(150);
+        assertEquals(150, (int) input.nextAmount(10));
+    }
+
+    @Test
+    // Answers queued ahead of a prompt are kept for it.
+    void earlyAnswersAreKept() throws InterruptedException {
+        QueuedPlayerInput input = new QueuedPlayerInput();
+        input.submit(50);
+        input.submit(-1);
+
+        input.prompt(new Player(1000, "Phil"), 50, "");
+        assertEquals(50, (int) input.nextAmount(10));
+        assertEquals(-1, (int) input.nextAmount(10));
+    }
+}
@@ -0,0 +1,48 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RandomServiceTest {
+
+    @Test
+    // Jumping ahead lands where the same number of draws would.
+    void jumpMatchesStepping() {
+        SplitMix64 stepped = new SplitMix64(17);
+        SplitMix64 jumped = new SplitMix64(17);
+        for (int i = 0; i < 1000; i++) {
+            stepped.nextLong();
+        }
+        jumped.jump(1000);
+        assertEquals(stepped.nextLong(), jumped.nextLong());
+    }
+
+    @Test
+    // The same master seed gives the same numbered streams, and different ids differ.
+    void streamsAreReproducibleAndDistinct() {
+        RandomService first = new RandomService(99);
+        RandomService second = new RandomService(99);
+        assertEquals(first.stream(7).nextLong(), second.stream(7).nextLong());
+        assertNotEquals(first.stream(7).nextLong(), first.stream(8).nextLong());
+        assertNotEquals(first.nextStream().nextLong(), first.stream(0).nextLong());
+    }
+
+    @Test
+    // Decks built after reseeding shuffle the same way on every run.
+    void reseedingRepeatsShuffles() {
+        List<List<Card>> runs = new ArrayList<>();
+        for (int run = 0; run < 2; run++) {
+            RandomService.reseed(2024);
+            Deck deck = Table.newBuilder().createDeck().build().getDeck();
+            deck.shuffleDeck();
+            runs.add(new ArrayList<>(deck.getDeck()));
+        }
+        for (int i = 0; i < 52; i++) {
+            assertEquals(runs.get(0).get(i).getIndex(), runs.get(1).get(i).getIndex());
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultSinkTest {
+
+    private static TableBatch seatedBatch() {
+        TableBatch batch = new TableBatch(2000, 6, 9);
+        for (int table = 0; table < batch.getTableCount(); table++) {
+            for (int seat = 0; seat < 6; seat++) {
+                batch.seat(table, seat, 1000, seat % 5 + 1);
+            }
+        }
+        return batch;
+    }
+
+    @Test
+    // Every hand played is reduced into the summary exactly once.
+    void summaryCountsEveryHand() throws InterruptedException {
+        ResultSink sink = new ResultSink(4096);
+        long played = seatedBatch().playAll(10, 3, sink);
+        ResultSummary summary = sink.summarize(2);
+        assertEquals(played, summary.getHands());
+
+        long categories = 0;
+        for (int category = HandEvaluator.HIGH_CARD; category <= HandEvaluator.STRAIGHT_FLUSH; category++) {
+            categories += summary.getCategoryWins(category);
+        }
+        assertEquals(played, categories);
+        assertTrue(summary.getMatchupWins(5, 1) > 0);
+    }
+
+    @Test
+    // Spilling records to a mapped file gives the same totals as reducing in place.
+    void spilledRecordsReduceToTheSameTotals() throws IOException, InterruptedException {
+        ResultSink inMemory = new ResultSink(4096);
+        seatedBatch().playAll(10, 3, inMemory);
+        ResultSummary expected = inMemory.summarize(1);
+
+        Path file = Files.createTempFile("results", ".bin");
+        try (ResultSink spilling = new ResultSink(4096, file)) {
+            seatedBatch().playAll(10, 3, spilling);
+            ResultSummary actual = spilling.summarize(4);
+            assertEquals(expected.getHands() * ResultSink.RECORD_BYTES, Files.size(file));
+            assertEquals(expected.getHands(), actual.getHands());
+            assertEquals(expected.getChips(), actual.getChips());
+            for (int seat = 0; seat < 6; seat++) {
+                assertEquals(expected.getSeatWins(seat), actual.getSeatWins(seat));
+            }
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableBatchTest {
+
+    @Test
+    // Chips are only moved between players, never created or lost.
+    void handsConserveChips() {
+        TableBatch batch = new TableBatch(200, 6, 11);
+        batch.seatAll(1000);
+        for (int hand = 0; hand < 50; hand++) {
+            batch.playHands(0, batch.getTableCount());
+            for (int table = 0; table < batch.getTableCount(); table++) {
+                assertEquals(6000, batch.getChips(table));
+            }
+        }
+        assertTrue(batch.getHandsPlayed(0) > 0);
+    }
+
+    @Test
+    // The same seed gives the same stacks whatever the number of threads.
+    void resultsDoNotDependOnThreads() throws InterruptedException {
+        TableBatch single = new TableBatch(3000, 9, 42);
+        TableBatch parallel = new TableBatch(3000, 9, 42);
+        single.seatAll(500);
+        parallel.seatAll(500);
+        assertEquals(single.playAll(20, 1), parallel.playAll(20, 4));
+        for (int table = 0; table < single.getTableCount(); table++) {
+            for (int seat = 0; seat < single.getSeatsPerTable(); seat++) {
+                assertEquals(single.getStack(table, seat), parallel.getStack(table, seat));
+            }
+        }
+    }
+
+    @Test
+    // A small batch is still split across every thread.
+    void smallBatchesUseEveryThread() throws InterruptedException, IOException {
+        AtomicInteger writers = new AtomicInteger();
+        TableBatch batch = new TableBatch(10, 6, 5);
+        batch.seatAll(500);
+        try (ResultSink sink = new ResultSink(1 << 16) {
+            @Override
+            public synchronized Writer writer() {
+                writers.incrementAndGet();
+                return super.writer();
+            }
+        }) {
+            batch.playAll(3, 4, sink);
+        }
+        assertEquals(4, writers.get());
+    }
+
+    @Test
+    // A table copied out to a Table and back keeps its stacks, cards and pot.
+    void tableViewRoundTrips() {
+        TableBatch batch = new TableBatch(2, 4, 3);
+        batch.seatAll(200);
+        batch.playHand(0);
+        Table view = batch.toTable(0);
+        assertEquals(batch.getChips(0), view.getPot()
+                + view.getPlayers().stream().mapToInt(Player::getMoney).sum());
+        assertEquals(5, view.getTableCards().size());
+
+        batch.loadFrom(1, view);
+        for (int seat = 0; seat < 4; seat++) {
+            assertEquals(batch.getStack(0, seat), batch.getStack(1, seat));
+            assertEquals(batch.isInHand(0, seat), batch.isInHand(1, seat));
+        }
+        assertEquals(batch.getChips(0), batch.getChips(1));
+    }
+}
@@ -0,0 +1,72 @@
+package org.example;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TableStateTest {
+
+    private Table table;
+    private TableStatePublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        table = Table.newBuilder().createPlayers(4).createDeck().build();
+        publisher = table.getStatePublisher();
+    }
+
+    @Test
+    // A spectator rebuilds exactly the state the publisher captured.
+    void spectatorFollowsDeltas() {
+        TableSpectator spectator = new TableSpectator(publisher);
+        table.resetTable();
+        table.dealFlop();
+        table.getPlayers().get(1).betMoney(40);
+        table.getPlayers().get(1).setCurrentBet(40);
+        table.addToPot(40);
+        publisher.publish(table, table.getPlayers().get(2));
+        table.dealTurnOrRiver();
+
+        assertEquals(publisher.getCurrent(), spectator.getState());
+        assertEquals(4, spectator.getState().getBoardSize());
+        assertEquals(0, spectator.getResyncs());
+    }
+
+    @Test
+    // Only the changed fields are sent, so a delta is much smaller than a keyframe.
+    void deltaIsSmallerThanKeyframe() {
+        table.resetTable();
+        TableState before = TableState.capture(table, table.getPlayers().get(0), 1);
+        table.getPlayers().get(0).setCurrentBet(25);
+        TableState after = TableState.capture(table, table.getPlayers().get(1), 2);
+
+        ByteBuffer delta = TableStateCodec.encodeDelta(before, after);
+        ByteBuffer keyframe = TableStateCodec.encodeKeyframe(after);
+
+        assertTrue(delta.remaining() < keyframe.remaining() / 2);
+        assertEquals(after, TableStateCodec.decode(before, delta));
+    }
+
+    @Test
+    // Late joiners start from a keyframe and a skipped delta triggers a resync.
+    void lateAndLaggingSpectatorsCatchUp() {
+        TableSpectator early = new TableSpectator(publisher);
+        table.resetTable();
+        table.dealFlop();
+        TableSpectator late = new TableSpectator(publisher);
+        assertEquals(publisher.getCurrent(), late.getState());
+
+        publisher.unsubscribe(late);
+        table.dealTurnOrRiver();
+        TableState turn = publisher.getCurrent();
+        table.dealTurnOrRiver();
+        late.onFrame(TableStateCodec.encodeDelta(turn, publisher.getCurrent()));
+
+        assertEquals(publisher.getCurrent(), late.getState());
+        assertEquals(publisher.getCurrent(), early.getState());
+        assertEquals(1, late.getResyncs());
+    }
+}
@@ -7,7 +7,9 @@ import org.junit.jupiter.api.Test;
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class TableTest {
 
@@ -56,6 +58,7 @@ public class TableTest {
         table.addToPot(100);
         Player player1 = table.getPlayers().get(0);
         Player player2 = table.getPlayers().get(1);
+        player1.addCards(Card.fromIndex(12));
         table.evaluateHands();
         table.awardPotToWinner();
         table.resetTable();
@@ -75,4 +78,146 @@ public class TableTest {
         table.simulateBettingRound();
         assertNotEquals(table.getPot(), 0);
     }
+
+    @Test
+    public void testHumanSeatFoldsWhenActionTimesOut() throws InterruptedException {
+        Player first = new Player(500, "Ann");
+        Player second = new Player(500, "Ben");
+        table.setPlayers(new ArrayList<>(List.of(first, second)));
+        QueuedPlayerInput firstInput = new QueuedPlayerInput();
+        table.setPlayerInput(first, firstInput);
+        table.setPlayerInput(second, new QueuedPlayerInput());
+        table.setActionTimeout(50);
+        firstInput.submit(50);
+        table.dealPlayers();
+        table.evaluateHands();
+
+        assertTrue(table.simulateBettingRound());
+        assertFalse(second.getInHand());
+        assertEquals(50, table.getPot());
+    }
+
+    @Test
+    public void testHumanSeatChecksWhenActionTimesOut() throws InterruptedException {
+        Player first = new Player(500, "Ann");
+        Player second = new Player(500, "Ben");
+        table.setPlayers(new ArrayList<>(List.of(first, second)));
+        table.setPlayerInput(first, new QueuedPlayerInput());
+        table.setPlayerInput(second, new QueuedPlayerInput());
+        table.setActionTimeout(50);
+        table.dealPlayers();
+        table.evaluateHands();
+
+        assertFalse(table.simulateBettingRound());
+        assertTrue(first.getInHand());
+        assertTrue(second.getInHand());
+        assertEquals(0, table.getPot());
+    }
+
+    @Test
+    public void testButtonMovesAcrossSeatsAndSkipsEmptyOnes() {
+        List<Player> seated = table.getPlayers();
+        Player you = seated.get(0);
+        Player phil = seated.get(1);
+        Player daniel = seated.get(2);
+        assertEquals(List.of(phil, daniel, you), table.organizeBettingQueue());
+
+        table.setNextDealer();
+        assertTrue(phil.getDealer());
+        assertEquals(List.of(daniel, you, phil), table.organizeBettingQueue());
+
+        // The list view removes the player from their seat
+        table.getPlayers().remove(daniel);
+        assertEquals(List.of(you, phil), table.getPlayers());
+        table.setNextDealer();
+        assertTrue(you.getDealer());
+        assertFalse(phil.getDealer());
+        assertTrue(you.isHuman());
+    }
+
+    @Test
+    public void testHandRanksAreEvaluatedOnDemand() {
+        Player you = table.getPlayers().get(0);
+        table.dealPlayers();
+        assertEquals(0, table.getEvaluationCount());
+
+        int rank = table.getHandRank(you);
+        assertEquals(rank, table.getHandRank(you));
+        assertEquals(1, table.getEvaluationCount());
+
+        table.dealFlop();
+        table.getHandRank(you);
+        assertEquals(2, table.getEvaluationCount());
+
+        table.getPlayers().get(1).setInHand(false);
+        table.getPlayers().get(2).setInHand(false);
+        table.awardPotToWinner();
+        assertEquals(2, table.getEvaluationCount());
+    }
+
+    @Test
+    public void testReuseRearmsTableAndPlayers() {
+        List<Player> players = new ArrayList<>(table.getPlayers());
+        Deck deck = table.getDeck();
+        Table.reuse(table).resetPlayers(players, 500).reseed(7).build();
+        table.dealPlayers();
+        List<Card> firstDeal = new ArrayList<>(players.get(1).getCards());
+
+        players.get(0).betMoney(200);
+        table.removePlayer(players.get(2).getName());
+        Table reused = Table.reuse(table).resetPlayers(players, 1000).reseed(7).build();
+        assertTrue(reused == table);
+        assertTrue(reused.getDeck() == deck);
+        assertEquals(players, reused.getPlayers());
+        assertEquals(0, reused.getPot());
+        assertTrue(reused.getTableCards().isEmpty());
+        for (Player player : players) {
+            assertEquals(1000, player.getMoney());
+            assertTrue(player.getCards().isEmpty());
+        }
+        reused.dealPlayers();
+        assertEquals(firstDeal, players.get(1).getCards());
+    }
+
+    @Test
+    public void testShowdownPaysTheStrongestHand() {
+        Player you = table.getPlayers().get(0);
+        Player phil = table.getPlayers().get(1);
+        Player daniel = table.getPlayers().get(2);
+        // A board of 2 5 9 J 3 where Phil's aces beat your kings
+        table.getTableCards().addAll(List.of(Card.fromIndex(0), Card.fromIndex(16), Card.fromIndex(33),
+                Card.fromIndex(48), Card.fromIndex(27)));
+        you.addCards(Card.fromIndex(11));
+        you.addCards(Card.fromIndex(24));
+        phil.addCards(Card.fromIndex(12));
+        phil.addCards(Card.fromIndex(25));
+        daniel.foldCards();
+        table.addToPot(100);
+        table.awardPotToWinner();
+        assertEquals(500, you.getMoney());
+        assertEquals(600, phil.getMoney());
+        assertTrue(table.getHandStrength(phil) > table.getHandStrength(you));
+        assertEquals(table.getHandRank(phil), table.getHandRank(you));
+    }
+
+    @Test
+    public void testShowdownSplitsExactTies() {
+        Player you = table.getPlayers().get(0);
+        Player phil = table.getPlayers().get(1);
+        Player daniel = table.getPlayers().get(2);
+        table.getTableCards().addAll(List.of(Card.fromIndex(0), Card.fromIndex(16), Card.fromIndex(33),
+                Card.fromIndex(48), Card.fromIndex(27)));
+        // Ace-king for both Phil and Daniel, the odd chip goes to Phil after the button
+        phil.addCards(Card.fromIndex(12));
+        phil.addCards(Card.fromIndex(24));
+        daniel.addCards(Card.fromIndex(38));
+        daniel.addCards(Card.fromIndex(50));
+        you.addCards(Card.fromIndex(4));
+        you.addCards(Card.fromIndex(18));
+        table.addToPot(101);
+        table.awardPotToWinner();
+        assertEquals(500, you.getMoney());
+        assertEquals(551, phil.getMoney());
+        assertEquals(550, daniel.getMoney());
+    }
 }
@@ -0,0 +1,68 @@
+package org.example;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TournamentTest {
+
+    @Test
+    // Every entrant gets exactly one place, busts stream in from last place to
+    // first, and the winner is reported last.
+    void everyEntrantIsPlacedOnce() throws InterruptedException {
+        List<Player> entrants = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            entrants.add(new Player(1000, "Entrant " + i));
+        }
+        List<Tournament.Elimination> results = new ArrayList<>();
+        Player winner;
+        try (Tournament tournament = new Tournament(entrants, 9, BlindSchedule.standard(1000, 5), 4)) {
+            assertEquals(7, tournament.getTableCount());
+            tournament.setEliminationSink(results::add);
+            winner = tournament.run();
+            assertEquals(1, tournament.getRemaining());
+        }
+
+        assertEquals(60, results.size());
+        Set<Player> placed = new HashSet<>();
+        for (int i = 0; i < results.size(); i++) {
+            assertEquals(60 - i, results.get(i).getPlace());
+            assertTrue(placed.add(results.get(i).getPlayer()));
+        }
+        assertSame(winner, results.get(59).getPlayer());
+    }
+
+    @Test
+    // Blinds are dead money taken from the first two players in betting order.
+    void blindsArePostedIntoThePot() {
+        Table table = Table.newBuilder().createDeck().build();
+        Player small = new Player(100, "Small");
+        Player big = new Player(15, "Big");
+        table.setPlayers(new ArrayList<>(List.of(small, big)));
+        table.postBlinds(10, 20, 1);
+
+        assertEquals(89, small.getMoney());
+        assertEquals(0, big.getMoney());
+        assertEquals(26, table.getPot());
+    }
+
+    @Test
+    // Removing a broke dealer passes the button on instead of losing it.
+    void removingBrokePlayersKeepsTheButton() {
+        Table table = Table.newBuilder().createDeck().build();
+        Player dealer = new Player(0, "Dealer");
+        Player next = new Player(100, "Next");
+        Player last = new Player(0, "Last");
+        dealer.setDealer(true);
+        table.setPlayers(new ArrayList<>(List.of(dealer, next, last)));
+
+        assertEquals(List.of(dealer, last), table.removeBrokePlayers());
+        assertEquals(List.of(next), table.getPlayers());
+        assertTrue(next.getDealer());
+    }
+}